@@ -0,0 +1,88 @@
+package spring.mvc.ver11.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 수를 늘려 가며 가격 범위, 가격 top-N, 재고 부족 조회를 인덱스와 findAll 전체 스캔으로 비교
+ * 가격은 0~1,000,000, 수량은 0~1,000 사이 균등 분포, 범위 조회는 limit 100
+ * ./gradlew jmh -Pjmh.includes=ItemIndexBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ItemIndexBenchmark {
+
+    private static final int MAX_PRICE = 1_000_000;
+    private static final int MAX_QUANTITY = 1_000;
+    private static final int LIMIT = 100;
+
+    @Param({"10000", "100000", "1000000"})
+    int itemCount;
+
+    private final ItemRepository itemRepository = new ItemRepository();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        itemRepository.clearStore();
+        Random random = new Random(42);
+        for (int i = 0; i < itemCount; i++) {
+            itemRepository.save(new Item("item" + i, random.nextInt(MAX_PRICE), random.nextInt(MAX_QUANTITY)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        itemRepository.clearStore();
+    }
+
+    @Benchmark
+    public List<Item> priceRangeIndex() {
+        int minPrice = ThreadLocalRandom.current().nextInt(MAX_PRICE - 10_000);
+        return itemRepository.findByPriceBetween(minPrice, minPrice + 10_000, LIMIT);
+    }
+
+    @Benchmark
+    public List<Item> priceRangeScan() {
+        int minPrice = ThreadLocalRandom.current().nextInt(MAX_PRICE - 10_000);
+        return itemRepository.findAll().stream()
+                .filter(item -> item.getPrice() >= minPrice && item.getPrice() <= minPrice + 10_000)
+                .sorted(Comparator.comparing(Item::getPrice).thenComparing(Item::getId))
+                .limit(LIMIT)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Item> topByPriceIndex() {
+        return itemRepository.findTopByPrice(10);
+    }
+
+    @Benchmark
+    public List<Item> topByPriceScan() {
+        return itemRepository.findAll().stream()
+                .sorted(Comparator.comparing(Item::getPrice).reversed())
+                .limit(10)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Item> lowStockIndex() {
+        return itemRepository.findByQuantityAtMost(5, LIMIT);
+    }
+
+}
@@ -0,0 +1,76 @@
+package spring.mvc.ver11.domain.item;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 100만 건(ItemSearchBenchmark 와 같은 상품명)으로 ItemNameIndex 를 만드는 시간과 크기
+ * score 는 색인 생성 시간, indexHeapKb 는 생성 전후 GC 직후 heap 사용량 차이, estimatedKb 는 ItemNameIndex.estimatedBytes()
+ * ./gradlew jmh -Pjmh.includes=ItemNameIndexFootprintBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ItemNameIndexFootprintBenchmark {
+
+    private final Map<Long, Item> store = new HashMap<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        for (long id = 1; id <= ItemSearchBenchmark.ITEM_COUNT; id++) {
+            Item item = new Item(ItemSearchBenchmark.itemName(random), 1000, 1);
+            item.setId(id);
+            item.setVersion(0L);
+            store.put(id, item);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long indexHeapKb;
+        public long estimatedKb;
+    }
+
+    @Benchmark
+    public ItemNameIndex build(Footprint footprint) {
+        long before = heapUsedAfterGc();
+        ItemNameIndex index = new ItemNameIndex();
+        for (Item item : store.values()) {
+            index.add(item, store);
+        }
+        footprint.indexHeapKb = (heapUsedAfterGc() - before) >> 10;
+        footprint.estimatedKb = index.estimatedBytes() >> 10;
+        //index 가 GC 대상이 되지 않도록 반환
+        return index;
+    }
+
+    private static long heapUsedAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+}
@@ -0,0 +1,83 @@
+package spring.mvc.ver11.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 10만 건에서 depth 번째 상품 다음 20 개를 가져오는 비용, 키셋 커서(findPage)와 findAll 정렬 후 offset 비교
+ * ./gradlew jmh -Pjmh.includes=ItemPageBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ItemPageBenchmark {
+
+    private static final int ITEM_COUNT = 100_000;
+    private static final int PAGE_SIZE = 20;
+    private static final Comparator<Item> PRICE_ORDER = Comparator.comparing(Item::getPrice).thenComparing(Item::getId);
+
+    @Param({"0", "1000", "90000"})
+    int depth;
+
+    private final ItemRepository itemRepository = new ItemRepository();
+
+    private Item priceCursor;
+    private Item idCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        itemRepository.clearStore();
+        Random random = new Random(42);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            itemRepository.save(new Item("item" + i, random.nextInt(100_000), 1));
+        }
+        if (depth > 0) {
+            List<Item> all = itemRepository.findAll();
+            all.sort(PRICE_ORDER);
+            priceCursor = all.get(depth - 1);
+            all.sort(Comparator.comparing(Item::getId));
+            idCursor = all.get(depth - 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        itemRepository.clearStore();
+    }
+
+    @Benchmark
+    public List<Item> keysetById() {
+        return itemRepository.findPage(ItemSort.ID, idCursor == null ? null : idCursor.getId(), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Item> keysetByPrice() {
+        return priceCursor == null
+                ? itemRepository.findPage(ItemSort.PRICE, null, null, PAGE_SIZE)
+                : itemRepository.findPage(ItemSort.PRICE, priceCursor.getId(), priceCursor.getPrice(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Item> offsetByPrice() {
+        return itemRepository.findAll().stream()
+                .sorted(PRICE_ORDER)
+                .skip(depth)
+                .limit(PAGE_SIZE)
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,163 @@
+package spring.mvc.ver11.domain.item;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 64 개 writer 스레드가 소수의 상품을 동시에 수정할 때 기존 방식(synchronized + 제자리 setter)과 스냅샷 CAS 비교
+ * 같은 그룹의 reader 8 개가 findById 를 함께 호출해서 writer 경합이 조회에 주는 영향도 본다.
+ * edit 은 수정 폼처럼 읽은 버전으로 수정하고, 거절되면 다시 읽어서 재시도한다(rejected 로 집계).
+ * ./gradlew jmh -Pjmh.includes=ItemRepositoryContentionBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ItemRepositoryContentionBenchmark {
+
+    private static final int PRELOAD = 10_000;
+
+    //수정이 몰리는 상품 수, 1 이면 모든 writer 가 한 상품을 두고 경합한다
+    @Param({"1", "16"})
+    int hotItems;
+
+    private final ItemRepository itemRepository = new ItemRepository();
+    private final LegacyItemRepository legacyRepository = new LegacyItemRepository();
+
+    private long firstId;
+    private long legacyFirstId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        itemRepository.clearStore();
+        legacyRepository.clearStore();
+        firstId = itemRepository.save(new Item("item", 0, 0)).getId();
+        legacyFirstId = legacyRepository.save(new Item("item", 0, 0)).getId();
+        for (int i = 1; i < PRELOAD; i++) {
+            itemRepository.save(new Item("item" + i, i, i));
+            legacyRepository.save(new Item("item" + i, i, i));
+        }
+    }
+
+    @Benchmark
+    @Group("update")
+    @GroupThreads(64)
+    public boolean update() {
+        int n = ThreadLocalRandom.current().nextInt(hotItems);
+        return itemRepository.update(firstId + n, new Item("item", n, n));
+    }
+
+    @Benchmark
+    @Group("update")
+    @GroupThreads(8)
+    public Item updateReader() {
+        return itemRepository.findById(firstId + ThreadLocalRandom.current().nextInt(PRELOAD));
+    }
+
+    @Benchmark
+    @Group("updateLegacy")
+    @GroupThreads(64)
+    public Item updateLegacy() {
+        int n = ThreadLocalRandom.current().nextInt(hotItems);
+        return legacyRepository.update(legacyFirstId + n, new Item("item", n, n));
+    }
+
+    @Benchmark
+    @Group("updateLegacy")
+    @GroupThreads(8)
+    public Item updateLegacyReader() {
+        return legacyRepository.findById(legacyFirstId + ThreadLocalRandom.current().nextInt(PRELOAD));
+    }
+
+    @Benchmark
+    @Group("edit")
+    @GroupThreads(64)
+    public boolean edit(EditCounters counters) {
+        long itemId = firstId + ThreadLocalRandom.current().nextInt(hotItems);
+        while (true) {
+            Item current = itemRepository.findById(itemId);
+            Item updateParam = new Item(current.getItemName(), current.getPrice(), current.getQuantity() + 1);
+            updateParam.setVersion(current.getVersion());
+            if (itemRepository.update(itemId, updateParam)) {
+                counters.applied++;
+                return true;
+            }
+            counters.rejected++;
+        }
+    }
+
+    @Benchmark
+    @Group("edit")
+    @GroupThreads(8)
+    public Item editReader() {
+        return itemRepository.findById(firstId + ThreadLocalRandom.current().nextInt(PRELOAD));
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EditCounters {
+
+        public long applied;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            applied = 0;
+            rejected = 0;
+        }
+
+    }
+
+    /**
+     * 변경 전 ItemRepository 구현(멀티 스레드에서 깨지지 않도록 synchronized 처리)
+     */
+    static class LegacyItemRepository {
+
+        private final Map<Long, Item> store = new HashMap<>();
+        private long sequence = 0L;
+
+        synchronized Item save(Item item) {
+            item.setId(++sequence);
+            store.put(item.getId(), item);
+            return item;
+        }
+
+        synchronized Item findById(Long id) {
+            return store.get(id);
+        }
+
+        synchronized List<Item> findAll() {
+            return new ArrayList<>(store.values());
+        }
+
+        synchronized Item update(Long itemId, Item updateParam) {
+            Item findItem = store.get(itemId);
+            findItem.setItemName(updateParam.getItemName());
+            findItem.setPrice(updateParam.getPrice());
+            findItem.setQuantity(updateParam.getQuantity());
+            return findItem;
+        }
+
+        synchronized void clearStore() {
+            store.clear();
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package spring.mvc.ver11.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 100만 건에서 상품명 부분 검색을 2-gram 역색인과 findAll 전체 스캔으로 비교
+ * 상품명은 "형용사 명사 모델코드"(예: "wireless keyboard k4821"), 결과는 limit 20
+ * scan 은 순위 없이 앞에서 20 건을 찾으면 멈추고, scanRanked 는 색인과 같은 순위로 전부 정렬한다.
+ * query: rare = 모델코드(1~2 건), word = 명사 하나(약 1/40), common = 흔한 2 글자
+ * ./gradlew jmh -Pjmh.includes=ItemSearchBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ItemSearchBenchmark {
+
+    static final int ITEM_COUNT = 1_000_000;
+    private static final int LIMIT = 20;
+
+    static final String[] ADJECTIVES = {"wireless", "portable", "compact", "premium", "classic", "smart", "mini", "pro",
+            "ultra", "basic", "heavy", "light", "silent", "gaming", "office", "travel", "kids", "outdoor", "eco", "retro"};
+    static final String[] NOUNS = {"keyboard", "mouse", "monitor", "speaker", "headset", "charger", "cable", "lamp",
+            "chair", "desk", "backpack", "bottle", "camera", "tripod", "router", "adapter", "webcam", "notebook",
+            "pen", "stand", "fan", "heater", "kettle", "blender", "toaster", "mug", "jacket", "shoes", "watch", "tablet",
+            "phone case", "earbuds", "microphone", "projector", "printer", "scanner", "drone", "battery", "sensor", "키보드"};
+
+    @Param({"rare", "word", "common"})
+    String query;
+
+    private final ItemRepository itemRepository = new ItemRepository();
+
+    private String q;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        itemRepository.clearStore();
+        Random random = new Random(42);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            itemRepository.save(new Item(itemName(random), 1000, 1));
+        }
+        switch (query) {
+            case "rare":
+                q = "k4821";
+                break;
+            case "word":
+                q = "blender";
+                break;
+            default:
+                q = "er";
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        itemRepository.clearStore();
+    }
+
+    @Benchmark
+    public List<Item> index() {
+        return itemRepository.findByItemNameContaining(q, LIMIT);
+    }
+
+    @Benchmark
+    public List<Item> scan() {
+        return itemRepository.findAll().stream()
+                .filter(item -> item.getItemName().toLowerCase(Locale.ROOT).contains(q))
+                .limit(LIMIT)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Item> scanRanked() {
+        return itemRepository.findAll().stream()
+                .filter(item -> item.getItemName().toLowerCase(Locale.ROOT).contains(q))
+                .sorted(Comparator.comparingInt((Item item) -> item.getItemName().toLowerCase(Locale.ROOT).indexOf(q))
+                        .thenComparingInt(item -> item.getItemName().length()))
+                .limit(LIMIT)
+                .collect(Collectors.toList());
+    }
+
+    static String itemName(Random random) {
+        return ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                + " " + (char) ('a' + random.nextInt(26)) + random.nextInt(10_000);
+    }
+
+}
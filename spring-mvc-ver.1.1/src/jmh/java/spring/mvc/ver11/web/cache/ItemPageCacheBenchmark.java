@@ -0,0 +1,101 @@
+package spring.mvc.ver11.web.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import spring.mvc.ver11.Application;
+import spring.mvc.ver11.domain.item.Item;
+import spring.mvc.ver11.domain.item.ItemRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 애플리케이션 전체를 띄우고 8 스레드가 읽기 95%(목록 50%, 상세 45%), 수정 5% 로 요청할 때 RenderedPageCache 유무 비교
+ * cache=false 는 basic.page-cache.max-bytes=0 으로 끈다. 끝날 때 hit/miss 를 로그로 남긴다.
+ * ./gradlew jmh -Pjmh.includes=ItemPageCacheBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+public class ItemPageCacheBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemPageCacheBenchmark.class);
+
+    private static final int ITEM_COUNT = 100;
+
+    @Param({"false", "true"})
+    boolean cache;
+
+    private ServletWebServerApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = (ServletWebServerApplicationContext) SpringApplication.run(Application.class,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn",
+                "--logging.level." + ItemPageCacheBenchmark.class.getName() + "=info",
+                "--basic.page-cache.max-bytes=" + (cache ? 8 * 1024 * 1024 : 0));
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        itemRepository.clearStore();
+        firstId = itemRepository.save(new Item("item0", 1000, 1)).getId();
+        for (int i = 1; i < ITEM_COUNT; i++) {
+            itemRepository.save(new Item("item" + i, 1000 * i, i));
+        }
+        baseUrl = "http://localhost:" + context.getWebServer().getPort() + "/basic/items";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        log.info("page-cache cache={} {}", cache, context.getBean(RenderedPageCache.class).stats());
+        context.getBean(ItemRepository.class).clearStore();
+        context.close();
+    }
+
+    @Benchmark
+    public int request() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int r = random.nextInt(100);
+        long itemId = firstId + random.nextInt(ITEM_COUNT);
+        HttpRequest request;
+        if (r < 5) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + itemId + "/edit"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("itemName=item" + r + "&price=" + r + "&quantity=" + r))
+                    .build();
+        } else if (r < 55) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl)).GET().build();
+        } else {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + itemId)).GET().build();
+        }
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200 && response.statusCode() != 302) {
+            throw new IllegalStateException("status=" + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+}
@@ -0,0 +1,31 @@
+package spring.mvc.ver11;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import spring.mvc.ver11.domain.item.ItemRepository;
+import spring.mvc.ver11.web.filter.VersionETagFilter;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig {
+
+    private final ItemRepository itemRepository;
+
+    /**
+     * 상품 목록 페이지, ItemRepository.version() 으로 ETag 를 만든다.
+     */
+    @Bean
+    public FilterRegistrationBean<VersionETagFilter> itemListETagFilter() {
+        FilterRegistrationBean<VersionETagFilter> filterRegistrationBean = new FilterRegistrationBean<>();
+        filterRegistrationBean.setFilter(new VersionETagFilter(itemRepository::version));
+        filterRegistrationBean.addUrlPatterns("/basic/items");
+        filterRegistrationBean.addInitParameter("minGzipSize", "1024");
+        filterRegistrationBean.addInitParameter("gzipLevel", "6");
+        filterRegistrationBean.addInitParameter("deflaterPoolSize", "16");
+
+        return filterRegistrationBean;
+    }
+
+}
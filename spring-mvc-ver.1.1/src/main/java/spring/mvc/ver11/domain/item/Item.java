@@ -13,6 +13,9 @@ public class Item {
 
     private Integer quantity;
 
+    //수정될 때마다 1 씩 증가, 수정 폼이 읽은 버전과 다르면 수정을 거절한다
+    private Long version;
+
     public Item() {
     }
 
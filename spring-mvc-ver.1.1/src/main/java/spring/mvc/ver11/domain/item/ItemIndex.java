@@ -0,0 +1,125 @@
+package spring.mvc.ver11.domain.item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Item 스냅샷을 정수 값(가격, 수량 등) 순으로 정렬해 두는 보조 인덱스, 값이 null 인 상품은 넣지 않는다.
+ * 키는 (값, id, version) 이라 같은 상품의 이전 스냅샷과 새 스냅샷이 잠깐 함께 있을 수 있고,
+ * 조회 때 저장소의 현재 스냅샷인 것만 돌려준다. 조회 비용은 O(log n + 건너뛴 항목 수)
+ */
+class ItemIndex {
+
+    private final Function<Item, Integer> valueExtractor;
+    private final ConcurrentSkipListMap<Key, Item> index = new ConcurrentSkipListMap<>();
+
+    ItemIndex(Function<Item, Integer> valueExtractor) {
+        this.valueExtractor = valueExtractor;
+    }
+
+    void add(Item snapshot) {
+        Integer value = valueExtractor.apply(snapshot);
+        if (value != null) {
+            index.put(new Key(value, snapshot.getId(), snapshot.getVersion()), snapshot);
+        }
+    }
+
+    void remove(Item snapshot) {
+        Integer value = valueExtractor.apply(snapshot);
+        if (value != null) {
+            index.remove(new Key(value, snapshot.getId(), snapshot.getVersion()));
+        }
+    }
+
+    /**
+     * from 이상 to 이하, 값 오름차순(같으면 id 순)으로 최대 limit 개
+     */
+    List<Item> range(int from, int to, int limit, Map<Long, Item> store) {
+        if (from > to) {
+            return new ArrayList<>();
+        }
+        Map<Key, Item> subMap = index.subMap(
+                new Key(from, Long.MIN_VALUE, Long.MIN_VALUE), true,
+                new Key(to, Long.MAX_VALUE, Long.MAX_VALUE), true);
+        return current(subMap.values(), limit, store);
+    }
+
+    /**
+     * 값 내림차순(같으면 id 역순)으로 최대 limit 개
+     */
+    List<Item> top(int limit, Map<Long, Item> store) {
+        return current(index.descendingMap().values(), limit, store);
+    }
+
+    /**
+     * (value, id) 커서 다음부터 최대 limit 개, 커서 value 가 null 이면 처음부터
+     * 오름차순이면 (값, id) 가 커서보다 큰 것, 내림차순이면 작은 것
+     */
+    List<Item> after(Integer value, Long id, boolean descending, int limit, Map<Long, Item> store) {
+        ConcurrentNavigableMap<Key, Item> page;
+        if (value == null) {
+            page = descending ? index.descendingMap() : index;
+        } else if (descending) {
+            Key cursor = new Key(value, id == null ? Long.MIN_VALUE : id, Long.MIN_VALUE);
+            page = index.headMap(cursor, false).descendingMap();
+        } else {
+            Key cursor = new Key(value, id == null ? Long.MAX_VALUE : id, Long.MAX_VALUE);
+            page = index.tailMap(cursor, false);
+        }
+        return current(page.values(), limit, store);
+    }
+
+    void clear() {
+        index.clear();
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    private static List<Item> current(Collection<Item> snapshots, int limit, Map<Long, Item> store) {
+        List<Item> result = new ArrayList<>(Math.min(limit, 64));
+        for (Item snapshot : snapshots) {
+            if (result.size() >= limit) {
+                break;
+            }
+            //수정 중에 남아 있는 이전 스냅샷은 건너뛴다
+            if (store.get(snapshot.getId()) == snapshot) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    private static final class Key implements Comparable<Key> {
+
+        private final int value;
+        private final long id;
+        private final long version;
+
+        Key(int value, long id, long version) {
+            this.value = value;
+            this.id = id;
+            this.version = version;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int result = Integer.compare(value, other.value);
+            if (result == 0) {
+                result = Long.compare(id, other.id);
+            }
+            if (result == 0) {
+                result = Long.compare(version, other.version);
+            }
+            return result;
+        }
+
+    }
+
+}
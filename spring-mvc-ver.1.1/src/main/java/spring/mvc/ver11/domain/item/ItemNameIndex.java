@@ -0,0 +1,408 @@
+package spring.mvc.ver11.domain.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * itemName 의 2-gram 역색인, 검색어의 모든 2-gram 을 가진 상품을 찾아 실제로 검색어를 포함하는지 확인한 뒤 순위를 매긴다.
+ * 스냅샷마다 문서 번호를 새로 붙여 posting 끝에만 추가하고(번호 차이를 varint 로 압축),
+ * 수정으로 밀려난 이전 스냅샷의 문서는 조회 때 건너뛰다가 살아 있는 문서보다 많아지면 새로 만든다.
+ * 쓰기는 하나의 락으로 직렬화하고, 조회는 락 없이 발행된 길이까지만 읽는다.
+ */
+class ItemNameIndex {
+
+    static final int GRAM = 2;
+
+    //이보다 적을 때는 죽은 문서가 많아도 다시 만들지 않는다
+    private static final int MIN_COMPACT_DOCS = 1024;
+
+    private volatile Segment segment = new Segment();
+
+    /**
+     * save/update 로 저장소에 들어간 스냅샷을 새 문서로 추가
+     */
+    void add(Item snapshot, Map<Long, Item> store) {
+        synchronized (this) {
+            Segment current = segment;
+            current.add(snapshot);
+            int liveDocs = store.size();
+            if (current.docCount >= MIN_COMPACT_DOCS && current.docCount > 2 * liveDocs) {
+                segment = Segment.of(store.values());
+            }
+        }
+    }
+
+    synchronized void clear() {
+        segment = new Segment();
+    }
+
+    /**
+     * itemName 에 query 가 들어 있는 상품을 순위순으로 최대 limit 개.
+     * 이름이 정확히 같은 것, 검색어로 시작하는 것, 검색어가 앞쪽에 나오는 것, 이름이 짧은 것, 먼저 색인된 것 순
+     */
+    List<Item> search(String query, int limit, Map<Long, Item> store) {
+        String normalized = normalize(query);
+        if (normalized.length() < GRAM || limit <= 0) {
+            return new ArrayList<>();
+        }
+        Segment current = segment;
+        int docCount = current.docCount;
+        Item[] docs = current.docs;
+        int[] lengths = current.lengths;
+
+        Map<String, Integer> grams = grams(normalized);
+        PostingIterator[] iterators = new PostingIterator[grams.size()];
+        int i = 0;
+        for (String gram : grams.keySet()) {
+            Posting posting = current.postings.get(gram);
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+            iterators[i++] = posting.iterator();
+        }
+        //검색어 첫 gram 이 상품명에 처음 나오는 위치는 검색어 위치의 하한
+        PostingIterator first = iterators[0];
+        //짧은 posting 부터 교집합
+        Arrays.sort(iterators, Comparator.comparingInt(iterator -> iterator.end));
+
+        //순위가 같으면 먼저 색인된 문서가 앞
+        Comparator<Hit> ranking = Comparator.comparingInt((Hit hit) -> hit.rank)
+                .thenComparingInt(hit -> hit.length)
+                .thenComparingInt(hit -> hit.doc);
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, ranking.reversed());
+
+        candidates:
+        for (int doc = iterators[0].next(); doc >= 0; doc = iterators[0].next()) {
+            for (int j = 1; j < iterators.length; j++) {
+                int other = iterators[j].advance(doc);
+                if (other < 0) {
+                    break candidates;
+                }
+                if (other != doc) {
+                    continue candidates;
+                }
+            }
+            if (doc >= docCount) {
+                break;
+            }
+            //상품을 읽기 전에 posting 과 길이만으로 순위 하한을 구해서 top 에 못 들어가면 건너뛴다
+            int length = lengths[doc];
+            int rankBound = length == normalized.length() ? -1 : first.gramPosition;
+            if (top.size() == limit && compare(rankBound, length, top.peek()) >= 0) {
+                continue;
+            }
+            Item item = docs[doc];
+            //이전 스냅샷은 건너뛴다
+            if (store.get(item.getId()) != item) {
+                continue;
+            }
+            int position = indexOfIgnoreCase(item.getItemName(), normalized);
+            if (position < 0) {
+                continue;
+            }
+            Hit hit = new Hit(item, length == normalized.length() ? -1 : position, length, doc);
+            if (top.size() == limit && ranking.compare(hit, top.peek()) >= 0) {
+                continue;
+            }
+            //다시 만드는 사이 같은 스냅샷이 두 번 색인됐을 수 있다
+            if (contains(top, item)) {
+                continue;
+            }
+            top.add(hit);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Item> result = new ArrayList<>(top.size());
+        Hit[] hits = top.toArray(new Hit[0]);
+        Arrays.sort(hits, ranking);
+        for (Hit hit : hits) {
+            result.add(hit.item);
+        }
+        return result;
+    }
+
+    /**
+     * posting 과 문서 배열이 차지하는 대략적인 바이트 수(객체 헤더, map 항목 포함)
+     */
+    long estimatedBytes() {
+        Segment current = segment;
+        long bytes = 16L + 4L * current.docs.length;
+        for (Map.Entry<String, Posting> entry : current.postings.entrySet()) {
+            //map 노드 32 + gram 문자열 48 + Posting 객체 40 + 배열(skip 포함)
+            bytes += 32 + 48 + 40 + 32 + entry.getValue().capacity();
+        }
+        return bytes;
+    }
+
+    int docCount() {
+        return segment.docCount;
+    }
+
+    /**
+     * 소문자로 바꾼 needle 이 value 에서 처음 나오는 위치(대소문자 무시), 새 문자열을 만들지 않는다
+     */
+    static int indexOfIgnoreCase(String value, String needle) {
+        for (int i = 0; i + needle.length() <= value.length(); i++) {
+            if (value.regionMatches(true, i, needle, 0, needle.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int compare(int rank, int length, Hit hit) {
+        int result = Integer.compare(rank, hit.rank);
+        return result != 0 ? result : Integer.compare(length, hit.length);
+    }
+
+    private static boolean contains(Collection<Hit> hits, Item item) {
+        for (Hit hit : hits) {
+            if (hit.item == item) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * gram 과 처음 나오는 위치, 앞에서부터 순서대로
+     */
+    private static Map<String, Integer> grams(String normalized) {
+        Map<String, Integer> grams = new LinkedHashMap<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.putIfAbsent(normalized.substring(i, i + GRAM), i);
+        }
+        return grams;
+    }
+
+    /**
+     * 문서 배열, 문서별 상품명 길이와 gram 별 posting, 다시 만들 때는 통째로 바꾼다
+     */
+    private static final class Segment {
+
+        private final Map<String, Posting> postings = new ConcurrentHashMap<>();
+        private volatile Item[] docs = new Item[16];
+        private volatile int[] lengths = new int[16];
+        private volatile int docCount;
+
+        static Segment of(Collection<Item> snapshots) {
+            List<Item> sorted = new ArrayList<>(snapshots);
+            sorted.sort(Comparator.comparing(Item::getId));
+            Segment segment = new Segment();
+            for (Item snapshot : sorted) {
+                segment.add(snapshot);
+            }
+            return segment;
+        }
+
+        void add(Item snapshot) {
+            int doc = docCount;
+            Item[] currentDocs = docs;
+            int[] currentLengths = lengths;
+            if (doc == currentDocs.length) {
+                currentDocs = Arrays.copyOf(currentDocs, doc * 2);
+                currentLengths = Arrays.copyOf(currentLengths, doc * 2);
+            }
+            String itemName = snapshot.getItemName() == null ? "" : snapshot.getItemName();
+            currentDocs[doc] = snapshot;
+            currentLengths[doc] = itemName.length();
+            docs = currentDocs;
+            lengths = currentLengths;
+            for (Map.Entry<String, Integer> gram : grams(normalize(itemName)).entrySet()) {
+                postings.computeIfAbsent(gram.getKey(), key -> new Posting()).append(doc, gram.getValue());
+            }
+            //문서와 posting 을 모두 쓴 뒤에 발행
+            docCount = doc + 1;
+        }
+
+    }
+
+    /**
+     * 오름차순 (앞 문서 번호와의 차이, gram 이 처음 나오는 위치)를 varint 로 인코딩해서 이어 붙인 목록
+     * SKIP_INTERVAL 개마다 (문서 번호, 다음 항목 위치)를 skip 으로 남겨 긴 목록에서 advance 할 때 건너뛴다.
+     */
+    private static final class Posting {
+
+        private static final int SKIP_INTERVAL = 32;
+
+        private volatile byte[] bytes = new byte[4];
+        private volatile int length;
+        //doc, offset 순서로 번갈아 저장
+        private volatile int[] skips = new int[0];
+        private volatile int skipCount;
+        private int size;
+        private int lastDoc = -1;
+
+        void append(int doc, int gramPosition) {
+            byte[] current = bytes;
+            int position = length;
+            if (position + 10 > current.length) {
+                //posting 이 많아서 1.5 배씩 늘린다
+                current = Arrays.copyOf(current, Math.max(current.length + (current.length >> 1), position + 10));
+            }
+            position = writeVarint(current, position, doc - lastDoc);
+            position = writeVarint(current, position, gramPosition);
+            bytes = current;
+            lastDoc = doc;
+            if (++size % SKIP_INTERVAL == 0) {
+                addSkip(doc, position);
+            }
+            //skip 까지 쓴 뒤에 길이를 발행
+            length = position;
+        }
+
+        private static int writeVarint(byte[] bytes, int position, int value) {
+            while ((value & ~0x7F) != 0) {
+                bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[position++] = (byte) value;
+            return position;
+        }
+
+        private void addSkip(int doc, int offset) {
+            int count = skipCount;
+            int[] current = skips;
+            if (2 * count + 2 > current.length) {
+                current = Arrays.copyOf(current, Math.max(8, current.length * 2));
+            }
+            current[2 * count] = doc;
+            current[2 * count + 1] = offset;
+            skips = current;
+            skipCount = count + 1;
+        }
+
+        int capacity() {
+            return bytes.length + 4 * skips.length;
+        }
+
+        PostingIterator iterator() {
+            //length 를 먼저 읽어야 그 길이까지 쓰인 배열과 skip 을 본다
+            int end = length;
+            int count = skipCount;
+            return new PostingIterator(bytes, end, skips, count);
+        }
+
+    }
+
+    private static final class PostingIterator {
+
+        private final byte[] bytes;
+        private final int end;
+        private final int[] skips;
+        private final int skipCount;
+        private int offset;
+        private int doc = -1;
+        //다음 skipTo 에서 찾기 시작할 skip
+        private int skipIndex;
+        //현재 문서에서 gram 이 처음 나오는 위치, skip 으로 이동한 직후에는 모른다(0)
+        private int gramPosition;
+
+        PostingIterator(byte[] bytes, int end, int[] skips, int skipCount) {
+            this.bytes = bytes;
+            this.end = end;
+            this.skips = skips;
+            this.skipCount = skipCount;
+        }
+
+        /**
+         * 다음 문서 번호, 없으면 -1
+         */
+        int next() {
+            if (offset >= end) {
+                return -1;
+            }
+            doc += readVarint();
+            gramPosition = readVarint();
+            return doc;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        /**
+         * target 이상인 첫 문서 번호, 없으면 -1
+         */
+        int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+            skipTo(target);
+            while (doc < target) {
+                if (next() < 0) {
+                    return -1;
+                }
+            }
+            return doc;
+        }
+
+        /**
+         * target 보다 작은 마지막 skip 이 지금 위치보다 앞이면 그리로 이동
+         */
+        private void skipTo(int target) {
+            //가까운 문서는 skip 을 찾지 않고 바로 읽는다
+            if (skipIndex >= skipCount || skips[2 * skipIndex] >= target) {
+                return;
+            }
+            int low = skipIndex;
+            int high = skipCount - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (skips[2 * mid] < target) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            if (found >= 0 && skips[2 * found] > doc && skips[2 * found + 1] <= end) {
+                skipIndex = found + 1;
+                doc = skips[2 * found];
+                offset = skips[2 * found + 1];
+                gramPosition = 0;
+            }
+        }
+
+    }
+
+    private static final class Hit {
+
+        private final Item item;
+        private final int rank;
+        private final int length;
+        private final int doc;
+
+        Hit(Item item, int rank, int length, int doc) {
+            this.item = item;
+            this.rank = rank;
+            this.length = length;
+            this.doc = doc;
+        }
+
+    }
+
+}
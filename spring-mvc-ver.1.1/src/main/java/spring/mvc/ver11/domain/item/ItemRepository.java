@@ -3,22 +3,49 @@ package spring.mvc.ver11.domain.item;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 저장소에는 수정할 수 없는 Item 스냅샷만 들어가고, 수정은 새 스냅샷으로 통째로 교체(CAS)한다.
+ * 조회는 락 없이 스냅샷을 그대로 돌려주므로 반쯤 수정된 상품이 보이지 않는다.
+ * 가격, 수량은 정렬된 인덱스(ItemIndex)를 함께 갱신해서 범위 조회를 O(log n) 으로 한다.
+ * 상품명은 2-gram 역색인(ItemNameIndex)으로 부분 검색한다.
+ * 목록은 id 순서(ids)와 가격 인덱스로 키셋 페이지 조회를 한다.
+ */
 @Repository
 public class ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static 사용
-    private static long sequence = 0L; //static 사용
+    private static final Map<Long, Item> store = new ConcurrentHashMap<>(); //static 사용
+    private static final NavigableSet<Long> ids = new ConcurrentSkipListSet<>(); //id 순 페이지 조회용
+    private static final ItemIndex priceIndex = new ItemIndex(Item::getPrice);
+    private static final ItemIndex quantityIndex = new ItemIndex(Item::getQuantity);
+    private static final ItemNameIndex nameIndex = new ItemNameIndex();
+    private static final AtomicLong sequence = new AtomicLong(); //static 사용
+
+    //저장소가 바뀔 때마다 저장소 반영 뒤에 증가
+    private static final AtomicLong version = new AtomicLong();
 
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
+        long id = sequence.incrementAndGet();
+        Item snapshot = new ItemSnapshot(id, item, 0L);
+        store.put(id, snapshot);
+        ids.add(id);
+        addToIndexes(snapshot);
+        nameIndex.add(snapshot, store);
+        item.setId(id);
+        item.setVersion(0L);
+        version.incrementAndGet();
         return item;
     }
 
+    /**
+     * 반환된 Item 은 공유 스냅샷이라 setter 를 호출하면 UnsupportedOperationException, 수정은 update 로
+     */
     public Item findById(Long id) {
         return store.get(id);
     }
@@ -27,15 +54,166 @@ public class ItemRepository {
         return new ArrayList<>(store.values());
     }
 
-    public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+    /**
+     * 키셋 페이지 조회, 앞 페이지 마지막 상품(afterId, 가격 정렬이면 afterPrice 도)의 다음부터 size 개
+     * 커서가 없으면 첫 페이지, 깊은 페이지도 O(log n + size) 이다. 가격 정렬에는 가격이 없는 상품이 빠진다.
+     */
+    public List<Item> findPage(ItemSort sort, Long afterId, Integer afterPrice, int size) {
+        if (sort.isByPrice()) {
+            return priceIndex.after(afterPrice, afterId, sort.isDescending(), size, store);
+        }
+        NavigableSet<Long> page;
+        if (afterId == null) {
+            page = sort.isDescending() ? ids.descendingSet() : ids;
+        } else {
+            page = sort.isDescending() ? ids.headSet(afterId, false).descendingSet() : ids.tailSet(afterId, false);
+        }
+        List<Item> result = new ArrayList<>(Math.min(size, 64));
+        for (Long id : page) {
+            if (result.size() >= size) {
+                break;
+            }
+            Item item = store.get(id);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 가격이 minPrice 이상 maxPrice 이하인 상품, 가격 오름차순으로 최대 limit 개
+     */
+    public List<Item> findByPriceBetween(int minPrice, int maxPrice, int limit) {
+        return priceIndex.range(minPrice, maxPrice, limit, store);
+    }
+
+    /**
+     * 가격이 높은 순으로 최대 limit 개
+     */
+    public List<Item> findTopByPrice(int limit) {
+        return priceIndex.top(limit, store);
+    }
+
+    /**
+     * 수량이 maxQuantity 이하인 상품(재고 부족), 수량 오름차순으로 최대 limit 개
+     */
+    public List<Item> findByQuantityAtMost(int maxQuantity, int limit) {
+        return quantityIndex.range(Integer.MIN_VALUE, maxQuantity, limit, store);
+    }
+
+    /**
+     * 상품명에 query 가 들어 있는 상품을 순위순으로 최대 limit 개(대소문자 무시, 검색어는 2 글자 이상)
+     * 이름이 같은 것, 검색어로 시작하는 것, 검색어가 앞쪽에 나오는 것, 이름이 짧은 것 순
+     */
+    public List<Item> findByItemNameContaining(String query, int limit) {
+        return nameIndex.search(query, limit, store);
+    }
+
+    /**
+     * updateParam.version 이 있으면 저장된 버전과 같을 때만 수정한다(낡은 수정 폼은 거절).
+     * version 이 없으면 최신 값 위에 덮어쓴다.
+     * @return 수정했으면 true, 버전이 달라 거절했으면 false
+     */
+    public boolean update(Long itemId, Item updateParam) {
+        Long expectedVersion = updateParam.getVersion();
+        while (true) {
+            Item current = store.get(itemId);
+            if (current == null) {
+                throw new IllegalArgumentException("존재하지 않는 상품 itemId=" + itemId);
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return false;
+            }
+            //스냅샷은 버전까지 equals 로 비교되므로 그 사이 다른 수정이 있었다면 교체에 실패한다
+            Item next = new ItemSnapshot(itemId, updateParam, current.getVersion() + 1);
+            if (store.replace(itemId, current, next)) {
+                addToIndexes(next);
+                removeFromIndexes(current);
+                //인덱스에 넣는 사이 더 새로운 수정이 끝났다면 그 수정은 next 를 지우지 못했을 수 있다
+                if (store.get(itemId) != next) {
+                    removeFromIndexes(next);
+                }
+                nameIndex.add(next, store);
+                version.incrementAndGet();
+                return true;
+            }
+        }
     }
 
     public void clearStore() {
         store.clear();
+        ids.clear();
+        priceIndex.clear();
+        quantityIndex.clear();
+        nameIndex.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * 이전 스냅샷까지 포함한 인덱스 항목 수(테스트용)
+     */
+    int indexSize() {
+        return priceIndex.size() + quantityIndex.size();
+    }
+
+    /**
+     * 저장, 수정, 삭제가 일어날 때마다 증가하는 값(ETag 등 변경 확인용)
+     */
+    public long version() {
+        return version.get();
+    }
+
+    private static void addToIndexes(Item snapshot) {
+        priceIndex.add(snapshot);
+        quantityIndex.add(snapshot);
+    }
+
+    private static void removeFromIndexes(Item snapshot) {
+        priceIndex.remove(snapshot);
+        quantityIndex.remove(snapshot);
+    }
+
+    /**
+     * 저장소에 들어간 뒤로 바뀌지 않는 Item
+     */
+    private static final class ItemSnapshot extends Item {
+
+        ItemSnapshot(Long id, Item source, Long version) {
+            super(source.getItemName(), source.getPrice(), source.getQuantity());
+            super.setId(id);
+            super.setVersion(version);
+        }
+
+        @Override
+        public void setId(Long id) {
+            throw immutable();
+        }
+
+        @Override
+        public void setItemName(String itemName) {
+            throw immutable();
+        }
+
+        @Override
+        public void setPrice(Integer price) {
+            throw immutable();
+        }
+
+        @Override
+        public void setQuantity(Integer quantity) {
+            throw immutable();
+        }
+
+        @Override
+        public void setVersion(Long version) {
+            throw immutable();
+        }
+
+        private static UnsupportedOperationException immutable() {
+            return new UnsupportedOperationException("저장된 상품은 직접 수정할 수 없습니다, ItemRepository.update 를 사용하세요");
+        }
+
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package spring.mvc.ver11.domain.item;
+
+/**
+ * 상품 목록 정렬, 값이 같으면 id 순으로 정렬해서 페이지 사이 순서가 흔들리지 않는다
+ */
+public enum ItemSort {
+
+    ID(false, false),
+    ID_DESC(false, true),
+    PRICE(true, false),
+    PRICE_DESC(true, true);
+
+    private final boolean byPrice;
+    private final boolean descending;
+
+    ItemSort(boolean byPrice, boolean descending) {
+        this.byPrice = byPrice;
+        this.descending = descending;
+    }
+
+    public boolean isByPrice() {
+        return byPrice;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+}
@@ -1,14 +1,21 @@
 package spring.mvc.ver11.web.basic;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.View;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.server.ResponseStatusException;
 import spring.mvc.ver11.domain.item.Item;
 import spring.mvc.ver11.domain.item.ItemRepository;
+import spring.mvc.ver11.domain.item.ItemSort;
+import spring.mvc.ver11.web.cache.RenderedPageCache;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @Controller
@@ -16,20 +23,101 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BasicItemController {
 
+    //범위 조회 한 번에 보여주는 최대 상품 수
+    private static final int MAX_LIMIT = 1000;
+
     private final ItemRepository itemRepository;
+    private final RenderedPageCache pageCache;
 
+    /**
+     * 키셋 페이지, 앞 페이지 마지막 상품의 afterId(가격 정렬이면 afterPrice 도)를 커서로 다음 페이지를 보여준다
+     * 커서 없는 첫 페이지는 저장소 version 이 같으면 렌더링해 둔 것을 그대로 쓴다
+     */
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public View items(@RequestParam(defaultValue = "ID") ItemSort sort,
+                      @RequestParam(required = false) Long afterId,
+                      @RequestParam(required = false) Integer afterPrice,
+                      @RequestParam(defaultValue = "20") int size) {
+        int pageSize = limit(size);
+        return pageCache.view("basic/items", itemRepository.version(), "basic/items", model -> {
+            List<Item> items = itemRepository.findPage(sort, afterId, afterPrice, pageSize);
+            model.put("items", items);
+            model.put("sort", sort);
+            model.put("size", pageSize);
+            //꽉 찬 페이지면 다음 페이지가 있을 수 있다
+            if (pageSize > 0 && items.size() == pageSize) {
+                Item last = items.get(items.size() - 1);
+                model.put("nextAfterId", last.getId());
+                model.put("nextAfterPrice", last.getPrice());
+            }
+        });
+    }
+
+    /**
+     * 가격이 minPrice 이상 maxPrice 이하인 상품, 가격 오름차순
+     */
+    @GetMapping("/price-range")
+    public String itemsByPrice(@RequestParam(defaultValue = "0") int minPrice,
+                               @RequestParam(defaultValue = "2147483647") int maxPrice,
+                               @RequestParam(defaultValue = "100") int limit,
+                               Model model) {
+        List<Item> items = itemRepository.findByPriceBetween(minPrice, maxPrice, limit(limit));
         model.addAttribute("items", items);
         return "basic/items";
     }
 
+    /**
+     * 가격이 높은 순으로 limit 개
+     */
+    @GetMapping("/top-price")
+    public String topItemsByPrice(@RequestParam(defaultValue = "10") int limit, Model model) {
+        List<Item> items = itemRepository.findTopByPrice(limit(limit));
+        model.addAttribute("items", items);
+        return "basic/items";
+    }
+
+    /**
+     * 재고 부족, 수량이 maxQuantity 이하인 상품을 수량 오름차순으로
+     */
+    @GetMapping("/low-stock")
+    public String lowStockItems(@RequestParam(defaultValue = "10") int maxQuantity,
+                                @RequestParam(defaultValue = "100") int limit,
+                                Model model) {
+        List<Item> items = itemRepository.findByQuantityAtMost(maxQuantity, limit(limit));
+        model.addAttribute("items", items);
+        return "basic/items";
+    }
+
+    /**
+     * 상품명 부분 검색, 관련도 순
+     */
+    @GetMapping("/search")
+    public String search(@RequestParam(defaultValue = "") String q,
+                         @RequestParam(defaultValue = "100") int limit,
+                         Model model) {
+        List<Item> items = itemRepository.findByItemNameContaining(q, limit(limit));
+        model.addAttribute("items", items);
+        return "basic/items";
+    }
+
+    /**
+     * 상품 version 이 같으면 렌더링해 둔 상세를 그대로 쓴다(다른 상품의 수정은 영향 없음)
+     */
     @GetMapping("/{itemId}")
-    public String item(@PathVariable Long itemId, Model model) {
+    public View item(@PathVariable Long itemId, Model model) {
         Item item = itemRepository.findById(itemId);
+        if (item == null) {
+            //없는 id 로 캐시가 채워져 실제 페이지가 밀려나지 않도록 저장하지 않는다
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
         model.addAttribute("item", item);
-        return "basic/item";
+        return pageCache.view("basic/item/" + itemId, item.getVersion(), "basic/item", itemModel -> { });
+    }
+
+    @GetMapping(value = "/page-cache", produces = MediaType.TEXT_PLAIN_VALUE)
+    @ResponseBody
+    public String pageCacheStats() {
+        return pageCache.stats();
     }
 
     @GetMapping("/add")
@@ -103,12 +191,24 @@ public class BasicItemController {
         return "basic/editForm";
     }
 
+    /**
+     * 폼이 읽은 version 으로 수정, 그 사이 다른 수정이 있었다면 409 와 함께 최신 값으로 폼을 다시 보여준다
+     */
     @PostMapping("/{itemId}/edit")
-    public String edit(@PathVariable Long itemId, @ModelAttribute Item item) {
-        itemRepository.update(itemId, item);
+    public String edit(@PathVariable Long itemId, @ModelAttribute Item item, Model model, HttpServletResponse response) {
+        if (!itemRepository.update(itemId, item)) {
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
+            model.addAttribute("item", itemRepository.findById(itemId));
+            model.addAttribute("conflict", true);
+            return "basic/editForm";
+        }
         return "redirect:/basic/items/{itemId}";
     }
 
+    private static int limit(int limit) {
+        return Math.max(0, Math.min(limit, MAX_LIMIT));
+    }
+
     /**
      * 테스트용 데이터 추가
      */
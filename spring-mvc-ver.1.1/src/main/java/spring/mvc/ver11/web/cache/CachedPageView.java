@@ -0,0 +1,67 @@
+package spring.mvc.ver11.web.cache;
+
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * RenderedPageCache 에 있는 페이지를 쓰거나, 없으면 실제 view 로 렌더링하면서 본문을 저장한다.
+ */
+class CachedPageView implements View {
+
+    private final RenderedPageCache cache;
+    private final ViewResolver viewResolver;
+    private final String key;
+    private final long version;
+    private final String viewName;
+    private final Consumer<Map<String, Object>> modelBuilder;
+
+    CachedPageView(RenderedPageCache cache, ViewResolver viewResolver, String key, long version, String viewName,
+                   Consumer<Map<String, Object>> modelBuilder) {
+        this.cache = cache;
+        this.viewResolver = viewResolver;
+        this.key = key;
+        this.version = version;
+        this.viewName = viewName;
+        this.modelBuilder = modelBuilder;
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        if (!cache.isEnabled() || !request.getParameterMap().isEmpty()) {
+            renderView(model, request, response);
+            return;
+        }
+
+        RenderedPageCache.Page page = cache.get(key, version);
+        if (page != null) {
+            response.setContentType(page.contentType);
+            response.setContentLength(page.body.length);
+            response.getOutputStream().write(page.body);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        renderView(model, request, responseWrapper);
+        cache.put(key, new RenderedPageCache.Page(version, responseWrapper.getContentType(), responseWrapper.getContentAsByteArray()));
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void renderView(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        Map<String, Object> mergedModel = new HashMap<>(model);
+        modelBuilder.accept(mergedModel);
+        View view = viewResolver.resolveViewName(viewName, RequestContextUtils.getLocale(request));
+        if (view == null) {
+            throw new IllegalStateException("view 를 찾을 수 없습니다. viewName=" + viewName);
+        }
+        view.render(mergedModel, request, response);
+    }
+
+}
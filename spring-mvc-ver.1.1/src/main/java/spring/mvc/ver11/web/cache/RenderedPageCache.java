@@ -0,0 +1,146 @@
+package spring.mvc.ver11.web.cache;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 렌더링된 페이지(HTML)를 key 별로 하나씩 저장하고, 요청한 version 과 같을 때만 그대로 돌려준다.
+ * version 은 저장소 version(목록)이나 상품 version(상세)을 넘겨서 저장/수정이 일어난 페이지만 다시 렌더링한다.
+ * 전체 크기는 basic.page-cache.max-bytes 이하로 유지한다(0 이면 끈다). 넘으면 마지막 접근 시각이 오래된 페이지부터
+ * max-bytes 의 90% 까지 한 번에 버린다(근사 LRU).
+ *
+ * hit 경로는 락 없이 ConcurrentHashMap 조회와 페이지의 접근 시각 기록만 한다, 정리는 저장하는 쪽에서만 한다.
+ */
+@Component
+public class RenderedPageCache {
+
+    private static final Comparator<Page> LEAST_RECENTLY_USED = Comparator.comparingLong(page -> page.lastAccess);
+
+    private final ViewResolver viewResolver;
+    private final long maxBytes;
+
+    private final ConcurrentHashMap<String, Page> pages = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    //정리는 한 스레드만
+    private final Object evictionLock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RenderedPageCache(@Qualifier("thymeleafViewResolver") ViewResolver thymeleafViewResolver,
+                             @Value("${basic.page-cache.max-bytes:8388608}") long maxBytes) {
+        this.viewResolver = thymeleafViewResolver;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * key 에 version 이 같은 페이지가 있으면 그대로 쓰고, 없으면 modelBuilder 로 model 을 채워 viewName 을 렌더링한 뒤 저장하는 View
+     * 요청 파라미터가 있는 요청은 저장하지 않는다.
+     */
+    public View view(String key, long version, String viewName, Consumer<Map<String, Object>> modelBuilder) {
+        return new CachedPageView(this, viewResolver, key, version, viewName, modelBuilder);
+    }
+
+    boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    Page get(String key, long version) {
+        Page page = pages.get(key);
+        if (page != null && page.version == version) {
+            page.lastAccess = System.nanoTime();
+            hits.increment();
+            return page;
+        }
+        misses.increment();
+        return null;
+    }
+
+    void put(String key, Page page) {
+        if (page.body.length > maxBytes) {
+            return;
+        }
+        pages.compute(key, (k, previous) -> {
+            //늦게 끝난 렌더링이 더 새로운 페이지를 덮어쓰지 않도록
+            if (previous != null && previous.version > page.version) {
+                return previous;
+            }
+            bytes.addAndGet(page.body.length - (previous == null ? 0 : previous.body.length));
+            return page;
+        });
+        if (bytes.get() > maxBytes) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            if (bytes.get() <= maxBytes) {
+                return;
+            }
+            long target = maxBytes / 10 * 9;
+            List<Map.Entry<String, Page>> candidates = new ArrayList<>(pages.entrySet());
+            candidates.sort(Map.Entry.comparingByValue(LEAST_RECENTLY_USED));
+            for (Map.Entry<String, Page> candidate : candidates) {
+                if (bytes.get() <= target) {
+                    break;
+                }
+                //그 사이 새 version 으로 바뀐 페이지는 건드리지 않는다
+                if (pages.remove(candidate.getKey(), candidate.getValue())) {
+                    bytes.addAndGet(-candidate.getValue().body.length);
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public String stats() {
+        long hits = hits();
+        long requests = hits + misses();
+        return "hits=" + hits + " misses=" + misses()
+                + " hitRatio=" + (requests == 0 ? 0 : hits * 100 / requests) + "%"
+                + " evictions=" + evictions() + " pages=" + pages.size() + " bytes=" + bytes.get() + "/" + maxBytes;
+    }
+
+    static final class Page {
+
+        final long version;
+        final String contentType;
+        final byte[] body;
+        //정확한 순서는 필요 없어서 hit 때 락 없이 덮어쓴다
+        volatile long lastAccess = System.nanoTime();
+
+        Page(long version, String contentType, byte[] body) {
+            this.version = version;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+    }
+
+}
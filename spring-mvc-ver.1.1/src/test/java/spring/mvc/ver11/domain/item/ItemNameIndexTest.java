@@ -0,0 +1,65 @@
+package spring.mvc.ver11.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ItemNameIndexTest {
+
+    @Test
+    void compactDeadDocuments() {
+
+        //given
+        ItemNameIndex index = new ItemNameIndex();
+        Map<Long, Item> store = new HashMap<>();
+        for (long id = 1; id <= 100; id++) {
+            add(index, store, item(id, "item" + id));
+        }
+
+        //when: 같은 상품을 계속 수정하면 이전 스냅샷 문서가 쌓인다
+        for (int i = 0; i < 5000; i++) {
+            add(index, store, item(1L, "renamed" + i));
+        }
+
+        //then
+        assertThat(index.docCount()).isLessThanOrEqualTo(2 * store.size() + 1024);
+        assertThat(index.search("renamed4999", 10, store)).extracting(Item::getId).containsExactly(1L);
+        assertThat(index.search("renamed4998", 10, store)).isEmpty();
+        assertThat(index.search("item100", 10, store)).extracting(Item::getId).containsExactly(100L);
+    }
+
+    @Test
+    void largeDocumentGap() {
+
+        //given: posting 안의 번호 차이가 varint 여러 바이트가 되도록
+        ItemNameIndex index = new ItemNameIndex();
+        Map<Long, Item> store = new HashMap<>();
+        add(index, store, item(1L, "rare item"));
+        for (long id = 2; id < 300_000; id++) {
+            add(index, store, item(id, "x"));
+        }
+        add(index, store, item(300_000L, "rare item"));
+
+        //when
+        Map<Long, Item> found = new HashMap<>();
+        index.search("rare", 10, store).forEach(item -> found.put(item.getId(), item));
+
+        //then
+        assertThat(found).containsOnlyKeys(1L, 300_000L);
+    }
+
+    private static void add(ItemNameIndex index, Map<Long, Item> store, Item item) {
+        store.put(item.getId(), item);
+        index.add(item, store);
+    }
+
+    private static Item item(Long id, String itemName) {
+        Item item = new Item(itemName, 1000, 1);
+        item.setId(id);
+        return item;
+    }
+
+}
@@ -3,9 +3,16 @@ package spring.mvc.ver11.domain.item;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class ItemRepositoryTest {
 
@@ -66,4 +73,180 @@ public class ItemRepositoryTest {
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
 
-}
\ No newline at end of file
+    @Test
+    void rejectStaleVersion() {
+
+        //given
+        Long itemId = itemRepository.save(new Item("item1", 10000, 10)).getId();
+        Item first = new Item("item2", 20000, 20);
+        first.setVersion(0L);
+        Item stale = new Item("item3", 30000, 30);
+        stale.setVersion(0L);
+
+        //when
+        boolean firstUpdated = itemRepository.update(itemId, first);
+        boolean staleUpdated = itemRepository.update(itemId, stale);
+
+        //then
+        assertThat(firstUpdated).isTrue();
+        assertThat(staleUpdated).isFalse();
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void snapshotIsImmutable() {
+
+        //given
+        Long itemId = itemRepository.save(new Item("item1", 10000, 10)).getId();
+        Item before = itemRepository.findById(itemId);
+
+        //when
+        itemRepository.update(itemId, new Item("item2", 20000, 20));
+
+        //then: 이미 읽은 스냅샷은 바뀌지 않는다
+        assertThat(before.getItemName()).isEqualTo("item1");
+        assertThatThrownBy(() -> before.setPrice(0)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void concurrentUpdateWithoutLostUpdate() throws Exception {
+
+        //given
+        int threadCount = 8;
+        int updatePerThread = 500;
+        Long itemId = itemRepository.save(new Item("item1", 0, 0)).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when: 읽은 버전으로 수량을 1 늘리고, 거절되면 다시 읽어서 재시도
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < updatePerThread; j++) {
+                    boolean updated;
+                    do {
+                        Item current = itemRepository.findById(itemId);
+                        Item updateParam = new Item(current.getItemName(), current.getPrice(), current.getQuantity() + 1);
+                        updateParam.setVersion(current.getVersion());
+                        updated = itemRepository.update(itemId, updateParam);
+                    } while (!updated);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+
+        //then
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getQuantity()).isEqualTo(threadCount * updatePerThread);
+        assertThat(findItem.getVersion()).isEqualTo((long) threadCount * updatePerThread);
+        //이전 스냅샷은 인덱스에 남지 않는다(가격, 수량 인덱스에 하나씩)
+        assertThat(itemRepository.indexSize()).isEqualTo(2);
+    }
+
+    @Test
+    void findByPrice() {
+
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+        Item item3 = itemRepository.save(new Item("item3", 30000, 30));
+        itemRepository.save(new Item("noPrice", null, 40));
+
+        //when: 수정하면 인덱스 위치도 바뀐다
+        itemRepository.update(item1.getId(), new Item("item1", 40000, 10));
+
+        //then
+        assertThat(itemRepository.findByPriceBetween(15000, 40000, 10))
+                .extracting(Item::getItemName).containsExactly("item2", "item3", "item1");
+        assertThat(itemRepository.findByPriceBetween(15000, 40000, 2))
+                .extracting(Item::getItemName).containsExactly("item2", "item3");
+        assertThat(itemRepository.findByPriceBetween(0, 15000, 10)).isEmpty();
+        assertThat(itemRepository.findTopByPrice(2))
+                .extracting(Item::getId).containsExactly(item1.getId(), item3.getId());
+        assertThat(itemRepository.findByQuantityAtMost(20, 10))
+                .extracting(Item::getId).containsExactly(item1.getId(), item2.getId());
+    }
+
+    @Test
+    void findByItemName() {
+
+        //given
+        Item keyboard = itemRepository.save(new Item("Keyboard", 30000, 10));
+        Item wirelessKeyboard = itemRepository.save(new Item("wireless keyboard", 50000, 10));
+        Item mouse = itemRepository.save(new Item("mouse", 10000, 10));
+        Item keycap = itemRepository.save(new Item("키보드 키캡", 5000, 10));
+
+        //when
+        itemRepository.update(mouse.getId(), new Item("keyboard mouse set", 60000, 10));
+
+        //then: 이름이 같은 것, 검색어로 시작하는 것, 앞쪽에 나오는 것 순
+        assertThat(itemRepository.findByItemNameContaining("KEYBOARD", 10)).extracting(Item::getId)
+                .containsExactly(keyboard.getId(), mouse.getId(), wirelessKeyboard.getId());
+        assertThat(itemRepository.findByItemNameContaining("keyboard", 1)).extracting(Item::getId)
+                .containsExactly(keyboard.getId());
+        assertThat(itemRepository.findByItemNameContaining("키캡", 10)).extracting(Item::getId)
+                .containsExactly(keycap.getId());
+        //수정 전 이름으로는 찾지 않는다
+        assertThat(itemRepository.findByItemNameContaining("mouse", 10)).extracting(Item::getId)
+                .containsExactly(mouse.getId());
+        assertThat(itemRepository.findByItemNameContaining("ouse s", 10)).hasSize(1);
+        assertThat(itemRepository.findByItemNameContaining("k", 10)).isEmpty();
+    }
+
+    @Test
+    void findPageByPrice() {
+
+        //given: 가격이 같은 상품은 id 순
+        Item item1 = itemRepository.save(new Item("item1", 3000, 1));
+        Item item2 = itemRepository.save(new Item("item2", 1000, 1));
+        Item item3 = itemRepository.save(new Item("item3", 3000, 1));
+        Item item4 = itemRepository.save(new Item("item4", 2000, 1));
+        Item item5 = itemRepository.save(new Item("item5", 3000, 1));
+
+        //when
+        List<Item> first = itemRepository.findPage(ItemSort.PRICE, null, null, 2);
+        Item last = first.get(first.size() - 1);
+        //페이지 사이에 앞쪽 상품이 수정돼도 다음 페이지가 밀리지 않는다
+        itemRepository.update(item2.getId(), new Item("item2", 1500, 1));
+        List<Item> second = itemRepository.findPage(ItemSort.PRICE, last.getId(), last.getPrice(), 2);
+        last = second.get(second.size() - 1);
+        List<Item> third = itemRepository.findPage(ItemSort.PRICE, last.getId(), last.getPrice(), 2);
+
+        //then
+        assertThat(first).extracting(Item::getId).containsExactly(item2.getId(), item4.getId());
+        assertThat(second).extracting(Item::getId).containsExactly(item1.getId(), item3.getId());
+        assertThat(third).extracting(Item::getId).containsExactly(item5.getId());
+        assertThat(itemRepository.findPage(ItemSort.PRICE_DESC, item3.getId(), 3000, 10))
+                .extracting(Item::getId).containsExactly(item1.getId(), item4.getId(), item2.getId());
+    }
+
+    @Test
+    void findPageById() {
+
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(itemRepository.save(new Item("item" + i, 1000, 1)).getId());
+        }
+
+        //when
+        List<Item> first = itemRepository.findPage(ItemSort.ID, null, null, 3);
+        List<Item> second = itemRepository.findPage(ItemSort.ID, first.get(2).getId(), null, 3);
+        List<Item> latest = itemRepository.findPage(ItemSort.ID_DESC, null, null, 2);
+
+        //then
+        assertThat(first).extracting(Item::getId).containsExactlyElementsOf(ids.subList(0, 3));
+        assertThat(second).extracting(Item::getId).containsExactlyElementsOf(ids.subList(3, 5));
+        assertThat(latest).extracting(Item::getId).containsExactly(ids.get(4), ids.get(3));
+    }
+
+}
@@ -0,0 +1,154 @@
+package spring.mvc.ver11.web.basic;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import spring.mvc.ver11.domain.item.Item;
+import spring.mvc.ver11.domain.item.ItemRepository;
+import spring.mvc.ver11.domain.item.ItemSort;
+import spring.mvc.ver11.web.cache.RenderedPageCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BasicItemControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    RenderedPageCache pageCache;
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void editWithStaleForm() throws Exception {
+
+        //given: 두 사용자가 version 0 으로 수정 폼을 열었다
+        Long itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+
+        //when
+        MvcResult first = mockMvc.perform(post("/basic/items/{itemId}/edit", itemId)
+                .param("itemName", "first").param("price", "20000").param("quantity", "20").param("version", "0")).andReturn();
+        MvcResult stale = mockMvc.perform(post("/basic/items/{itemId}/edit", itemId)
+                .param("itemName", "stale").param("price", "30000").param("quantity", "30").param("version", "0")).andReturn();
+
+        //then
+        assertThat(first.getResponse().getStatus()).isEqualTo(302);
+        assertThat(stale.getResponse().getStatus()).isEqualTo(409);
+        assertThat(stale.getResponse().getContentAsString()).contains("first", "name=\"version\" value=\"1\"");
+        assertThat(itemRepository.findById(itemId).getItemName()).isEqualTo("first");
+    }
+
+    @Test
+    void itemsByPrice() throws Exception {
+
+        //given
+        itemRepository.save(new Item("cheap", 1000, 1));
+        itemRepository.save(new Item("middle", 5000, 5));
+        itemRepository.save(new Item("expensive", 9000, 50));
+
+        //when
+        MvcResult range = mockMvc.perform(get("/basic/items/price-range").param("minPrice", "2000").param("maxPrice", "9000")).andReturn();
+        MvcResult top = mockMvc.perform(get("/basic/items/top-price").param("limit", "1")).andReturn();
+        MvcResult lowStock = mockMvc.perform(get("/basic/items/low-stock").param("maxQuantity", "5")).andReturn();
+
+        //then
+        assertThat(range.getResponse().getContentAsString()).contains("middle", "expensive").doesNotContain("cheap");
+        assertThat(top.getResponse().getContentAsString()).contains("expensive").doesNotContain("middle");
+        assertThat(lowStock.getResponse().getContentAsString()).contains("cheap", "middle").doesNotContain("expensive");
+    }
+
+    @Test
+    void search() throws Exception {
+
+        //given
+        itemRepository.save(new Item("wireless keyboard", 50000, 10));
+        itemRepository.save(new Item("mouse", 10000, 10));
+
+        //when
+        MvcResult result = mockMvc.perform(get("/basic/items/search").param("q", "keyb")).andReturn();
+
+        //then
+        assertThat(result.getResponse().getContentAsString()).contains("wireless keyboard").doesNotContain("mouse");
+    }
+
+    @Test
+    void pageCacheInvalidatedByChange() throws Exception {
+
+        //given
+        Long itemA = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+        Long itemB = itemRepository.save(new Item("itemB", 20000, 20)).getId();
+        mockMvc.perform(get("/basic/items"));
+        mockMvc.perform(get("/basic/items/{itemId}", itemA));
+        mockMvc.perform(get("/basic/items/{itemId}", itemB));
+        long hits = pageCache.hits();
+        long misses = pageCache.misses();
+
+        //when: itemB 만 수정
+        MvcResult cachedA = mockMvc.perform(get("/basic/items/{itemId}", itemA)).andReturn();
+        mockMvc.perform(post("/basic/items/{itemId}/edit", itemB)
+                .param("itemName", "itemB2").param("price", "20000").param("quantity", "20"));
+        MvcResult updatedB = mockMvc.perform(get("/basic/items/{itemId}", itemB)).andReturn();
+        MvcResult list = mockMvc.perform(get("/basic/items")).andReturn();
+        MvcResult cachedList = mockMvc.perform(get("/basic/items")).andReturn();
+
+        //then: A 상세와 두 번째 목록은 hit, B 상세와 첫 번째 목록은 다시 렌더링
+        assertThat(pageCache.hits() - hits).isEqualTo(2);
+        assertThat(pageCache.misses() - misses).isEqualTo(2);
+        assertThat(cachedA.getResponse().getContentAsString()).contains("itemA");
+        assertThat(updatedB.getResponse().getContentAsString()).contains("itemB2");
+        assertThat(list.getResponse().getContentAsString()).contains("itemB2");
+        assertThat(cachedList.getResponse().getContentAsString()).isEqualTo(list.getResponse().getContentAsString());
+        assertThat(cachedList.getResponse().getContentType()).startsWith("text/html");
+    }
+
+    @Test
+    void unknownItemIsNotCached() throws Exception {
+
+        //given
+        long misses = pageCache.misses();
+
+        //when
+        MvcResult result = mockMvc.perform(get("/basic/items/{itemId}", Long.MAX_VALUE)).andReturn();
+
+        //then
+        assertThat(result.getResponse().getStatus()).isEqualTo(404);
+        assertThat(pageCache.misses()).isEqualTo(misses);
+    }
+
+    @Test
+    void itemsPage() throws Exception {
+
+        //given
+        for (int i = 1; i <= 3; i++) {
+            itemRepository.save(new Item("page-item" + i, 1000 * i, i));
+        }
+        Long second = itemRepository.findPage(ItemSort.PRICE, null, null, 2).get(1).getId();
+
+        //when
+        MvcResult first = mockMvc.perform(get("/basic/items").param("sort", "PRICE").param("size", "2")).andReturn();
+        MvcResult next = mockMvc.perform(get("/basic/items").param("sort", "PRICE").param("size", "2")
+                .param("afterId", String.valueOf(second)).param("afterPrice", "2000")).andReturn();
+
+        //then
+        assertThat(first.getResponse().getContentAsString())
+                .contains("page-item1", "page-item2", "afterId=" + second + "&amp;afterPrice=2000")
+                .doesNotContain("page-item3");
+        assertThat(next.getResponse().getContentAsString()).contains("page-item3").doesNotContain("page-item2");
+    }
+
+}
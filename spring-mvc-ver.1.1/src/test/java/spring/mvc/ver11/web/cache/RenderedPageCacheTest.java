@@ -0,0 +1,50 @@
+package spring.mvc.ver11.web.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RenderedPageCacheTest {
+
+    @Test
+    void evictLeastRecentlyUsed() {
+
+        //given: 40 바이트 페이지 2개, 한도 100
+        RenderedPageCache cache = new RenderedPageCache(null, 100);
+        cache.put("a", page(1));
+        cache.put("b", page(1));
+        cache.get("a", 1);
+
+        //when: 세 번째 페이지로 한도를 넘긴다
+        cache.put("c", page(1));
+
+        //then: 가장 오래 안 쓴 b 만 버린다
+        assertThat(cache.get("a", 1)).isNotNull();
+        assertThat(cache.get("b", 1)).isNull();
+        assertThat(cache.get("c", 1)).isNotNull();
+        assertThat(cache.evictions()).isEqualTo(1);
+        assertThat(cache.stats()).contains("pages=2 bytes=80/100");
+    }
+
+    @Test
+    void olderVersionDoesNotOverwrite() {
+
+        //given
+        RenderedPageCache cache = new RenderedPageCache(null, 100);
+        cache.put("a", page(2));
+
+        //when
+        cache.put("a", page(1));
+
+        //then
+        assertThat(cache.get("a", 2)).isNotNull();
+        assertThat(cache.get("a", 1)).isNull();
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    private static RenderedPageCache.Page page(long version) {
+        return new RenderedPageCache.Page(version, "text/html", new byte[40]);
+    }
+
+}
@@ -0,0 +1,72 @@
+package spring.mvc.ver11.web.filter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import spring.mvc.ver11.domain.item.Item;
+import spring.mvc.ver11.domain.item.ItemRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ItemListETagFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void notModifiedUntilItemChanges() throws Exception {
+
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        MvcResult first = mockMvc.perform(get("/basic/items")).andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        //when
+        MvcResult notModified = mockMvc.perform(get("/basic/items").header("If-None-Match", etag)).andReturn();
+        mockMvc.perform(post("/basic/items/add").param("itemName", "itemC").param("price", "30000").param("quantity", "30"));
+        MvcResult changed = mockMvc.perform(get("/basic/items").header("If-None-Match", etag)).andReturn();
+
+        //then
+        assertThat(first.getResponse().getStatus()).isEqualTo(200);
+        assertThat(first.getResponse().getContentAsString()).contains("itemA");
+        assertThat(notModified.getResponse().getStatus()).isEqualTo(304);
+        assertThat(notModified.getResponse().getContentAsString()).isEmpty();
+        assertThat(changed.getResponse().getStatus()).isEqualTo(200);
+        assertThat(changed.getResponse().getHeader("ETag")).isNotEqualTo(etag);
+        assertThat(changed.getResponse().getContentAsString()).contains("itemC");
+    }
+
+    @Test
+    void gzipWhenAccepted() throws Exception {
+
+        //given: minGzipSize(1024) 를 넘도록
+        for (int i = 0; i < 20; i++) {
+            itemRepository.save(new Item("item" + i, 1000 * i, i));
+        }
+
+        //when
+        MvcResult result = mockMvc.perform(get("/basic/items").header("Accept-Encoding", "gzip")).andReturn();
+
+        //then
+        assertThat(result.getResponse().getHeader("Vary")).contains("Accept-Encoding");
+        assertThat(result.getResponse().getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(result.getResponse().getHeader("ETag")).endsWith("-gzip\"");
+    }
+
+}
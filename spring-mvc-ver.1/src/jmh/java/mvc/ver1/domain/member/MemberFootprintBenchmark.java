@@ -0,0 +1,64 @@
+package mvc.ver1.domain.member;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 500만 건을 heap(MemberTable) 과 off-heap(OffHeapMemberTable) 에 넣었을 때 heap 사용량과 full GC 시간 비교
+ * score 는 System.gc() 한 번(full GC)에 걸린 시간, heapUsedMb 는 GC 직후 heap 사용량
+ * ./gradlew jmh -Pjmh.includes=MemberFootprintBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class MemberFootprintBenchmark {
+
+    private static final int MEMBER_COUNT = 5_000_000;
+
+    @Param({"heap", "offheap"})
+    private String store;
+
+    private MemberStore table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = store.equals("heap") ? new MemberTable() : new OffHeapMemberTable();
+        for (int i = 1; i <= MEMBER_COUNT; i++) {
+            table.put(i, new Member("member" + i, i % 100));
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long heapUsedMb;
+    }
+
+    @Benchmark
+    public MemberStore fullGc(Footprint footprint) {
+        System.gc();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        footprint.heapUsedMb = memory.getHeapMemoryUsage().getUsed() >> 20;
+        //table 이 GC 대상이 되지 않도록 반환
+        return table;
+    }
+
+}
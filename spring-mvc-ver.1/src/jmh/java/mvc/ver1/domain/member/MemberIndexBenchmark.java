@@ -0,0 +1,86 @@
+package mvc.ver1.domain.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 100만 건에서 username, age 범위 조회를 인덱스와 전체 스캔으로 비교
+ * ./gradlew jmh -Pjmh.includes=MemberIndexBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MemberIndexBenchmark {
+
+    private static final int MEMBER_COUNT = 1_000_000;
+    private static final int USERNAME_COUNT = 100_000;
+    private static final int RANGE_LIMIT = 100;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        memberRepository.clearStore();
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            memberRepository.save(new Member("member" + (i % USERNAME_COUNT), i % 100));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        memberRepository.clearStore();
+    }
+
+    @Benchmark
+    public List<Member> usernameIndex() {
+        return memberRepository.findByUsername(randomUsername(), RANGE_LIMIT);
+    }
+
+    @Benchmark
+    public List<Member> usernameScan() {
+        String username = randomUsername();
+        List<Member> result = new ArrayList<>();
+        memberRepository.forEach(member -> {
+            if (member.getUsername().equals(username)) {
+                result.add(member);
+            }
+        });
+        return result;
+    }
+
+    @Benchmark
+    public List<Member> ageRangeIndex() {
+        int minAge = ThreadLocalRandom.current().nextInt(90);
+        return memberRepository.findByAgeBetween(minAge, minAge + 10, RANGE_LIMIT);
+    }
+
+    @Benchmark
+    public List<Member> ageRangeScan() {
+        int minAge = ThreadLocalRandom.current().nextInt(90);
+        List<Member> result = new ArrayList<>();
+        memberRepository.forEach(member -> {
+            if (member.getAge() >= minAge && member.getAge() <= minAge + 10) {
+                result.add(member);
+            }
+        });
+        result.sort((a, b) -> a.getAge() != b.getAge() ? Integer.compare(a.getAge(), b.getAge()) : a.getId().compareTo(b.getId()));
+        return result.size() > RANGE_LIMIT ? result.subList(0, RANGE_LIMIT) : result;
+    }
+
+    private String randomUsername() {
+        return "member" + ThreadLocalRandom.current().nextInt(USERNAME_COUNT);
+    }
+
+}
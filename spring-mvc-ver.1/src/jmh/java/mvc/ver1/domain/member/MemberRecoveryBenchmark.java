@@ -0,0 +1,93 @@
+package mvc.ver1.domain.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 회원 1000만 건 복구 시간, 스냅샷(memory map)만 읽는 경우와 로그 전체를 재생하는 경우 비교
+ * ./gradlew jmh -Pjmh.includes=MemberRecoveryBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class MemberRecoveryBenchmark {
+
+    private static final int MEMBER_COUNT = 10_000_000;
+
+    @Param({"snapshot", "log"})
+    private String source;
+
+    private Path dir;
+    private MemberTable table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("member-recovery");
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.NEVER, 0)) {
+            persistence.recover(member -> { }, () -> { });
+            if (source.equals("snapshot")) {
+                long nextGeneration = persistence.rotate();
+                persistence.writeSnapshot(MEMBER_COUNT, nextGeneration, action -> {
+                    for (int i = 1; i <= MEMBER_COUNT; i++) {
+                        action.accept(member(i));
+                    }
+                });
+            } else {
+                for (int i = 1; i <= MEMBER_COUNT; i++) {
+                    persistence.appendSave(member(i));
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void newTable() {
+        //이전 iteration 의 회원을 먼저 놓아 준다
+        table = null;
+        System.gc();
+        table = new MemberTable();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long recover() throws IOException {
+        MemberTable target = table;
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.NEVER, 0)) {
+            return persistence.recover(member -> target.put(member.getId(), member), target::clear);
+        }
+    }
+
+    private static Member member(long id) {
+        Member member = new Member("member" + id, (int) (id % 100));
+        member.setId(id);
+        return member;
+    }
+
+}
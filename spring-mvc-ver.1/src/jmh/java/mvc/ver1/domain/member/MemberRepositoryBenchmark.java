@@ -0,0 +1,97 @@
+package mvc.ver1.domain.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 HashMap 저장소(멀티 스레드에서 깨지지 않도록 synchronized 처리)와 MemberTable 기반 저장소 비교
+ * ./gradlew jmh -Pjmh.includes=MemberRepositoryBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+public class MemberRepositoryBenchmark {
+
+    private static final int PRELOAD = 100_000;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+    private final LegacyMemberRepository legacyRepository = new LegacyMemberRepository();
+
+    private long firstId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        memberRepository.clearStore();
+        legacyRepository.clearStore();
+        firstId = memberRepository.save(new Member("member", 0)).getId();
+        legacyRepository.save(new Member("member", 0));
+        for (int i = 1; i < PRELOAD; i++) {
+            memberRepository.save(new Member("member" + i, i));
+            legacyRepository.save(new Member("member" + i, i));
+        }
+    }
+
+    @Benchmark
+    public Member findById() {
+        return memberRepository.findById(firstId + ThreadLocalRandom.current().nextInt(PRELOAD));
+    }
+
+    @Benchmark
+    public Member findByIdLegacy() {
+        return legacyRepository.findById((long) (1 + ThreadLocalRandom.current().nextInt(PRELOAD)));
+    }
+
+    @Benchmark
+    public Member save() {
+        return memberRepository.save(new Member("new", 20));
+    }
+
+    @Benchmark
+    public Member saveLegacy() {
+        return legacyRepository.save(new Member("new", 20));
+    }
+
+    /**
+     * 변경 전 MemberRepository 구현
+     */
+    static class LegacyMemberRepository {
+
+        private final Map<Long, Member> store = new HashMap<>();
+        private long sequence = 0L;
+
+        synchronized Member save(Member member) {
+            member.setId(++sequence);
+            store.put(member.getId(), member);
+            return member;
+        }
+
+        synchronized Member findById(Long id) {
+            return store.get(id);
+        }
+
+        synchronized List<Member> findAll() {
+            return new ArrayList<>(store.values());
+        }
+
+        synchronized void clearStore() {
+            store.clear();
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package mvc.ver1.domain.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * fsync 정책별 save 처리량, none 은 로그 없이 메모리에만 저장
+ * ALWAYS 는 스레드가 많을수록 group commit 으로 fsync 한 번에 여러 건이 묶인다.
+ * ./gradlew jmh -Pjmh.includes=MemberSaveBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@State(Scope.Benchmark)
+public class MemberSaveBenchmark {
+
+    @Param({"none", "NEVER", "INTERVAL", "ALWAYS"})
+    private String policy;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private Path dir;
+    private MemberTable table;
+    private MemberPersistence persistence;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        sequence.set(0);
+        table = new MemberTable();
+        if (!policy.equals("none")) {
+            dir = Files.createTempDirectory("member-save");
+            persistence = new MemberPersistence(dir, FsyncPolicy.valueOf(policy), 100);
+            persistence.recover(member -> { }, () -> { });
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        if (persistence != null) {
+            persistence.close();
+            persistence = null;
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    public Member save() throws IOException {
+        //MemberRepository.save 와 같은 순서, 로그 기록 후 저장소 반영
+        Member member = new Member("member", 20);
+        long id = sequence.incrementAndGet();
+        member.setId(id);
+        if (persistence != null) {
+            persistence.appendSave(member);
+        }
+        table.put(id, member);
+        return member;
+    }
+
+}
@@ -0,0 +1,147 @@
+package mvc.ver1.web.filter;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.servletmvc.MvcMemberListServlet;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 목록 페이지를 주기적으로 다시 받는 polling 클라이언트 부하, MemberListETagFilter 유무 비교
+ * 클라이언트는 마지막 ETag 를 If-None-Match 로 보내고 gzip 을 받는다, changeEvery 번 요청마다 회원이 한 명 저장된다.
+ * 보조 카운터: requests(요청 수), bytes(받은 본문 바이트, 헤더 제외), cpuNanos(요청 동안의 프로세스 CPU 시간, 클라이언트와 Tomcat 포함)
+ * 요청당 값은 bytes / requests, cpuNanos / requests
+ * webapp 경로는 -Dwebapp.dir 로 바꿀 수 있다(기본 src/main/webapp).
+ * ./gradlew jmh -Pjmh.includes=MemberListPollingBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+public class MemberListPollingBenchmark {
+
+    private static final int MEMBER_COUNT = 1000;
+
+    private static final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    @Param({"off", "on"})
+    String filter;
+
+    @Param({"100", "1000"})
+    int size;
+
+    @Param({"100"})
+    int changeEvery;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+    private final AtomicLong polls = new AtomicLong();
+
+    private Tomcat tomcat;
+    private HttpClient client;
+    private URI uri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LifecycleException {
+        Path baseDir = Files.createTempDirectory("member-polling-tomcat");
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(0);
+        tomcat.getConnector();
+
+        Context context = tomcat.addWebapp("", Paths.get(System.getProperty("webapp.dir", "src/main/webapp")).toAbsolutePath().toString());
+        ((StandardContext) context).setContainerSciFilter("org\\.springframework\\..*");
+        Tomcat.addServlet(context, "mvcMemberListServlet", new MvcMemberListServlet());
+        context.addServletMappingDecoded("/servlet-mvc/members", "mvcMemberListServlet");
+        if (filter.equals("on")) {
+            FilterDef filterDef = new FilterDef();
+            filterDef.setFilterName("memberListETagFilter");
+            filterDef.setFilter(new MemberListETagFilter());
+            context.addFilterDef(filterDef);
+            FilterMap filterMap = new FilterMap();
+            filterMap.setFilterName("memberListETagFilter");
+            filterMap.addURLPatternDecoded("/servlet-mvc/members");
+            context.addFilterMap(filterMap);
+        }
+        tomcat.start();
+
+        memberRepository.clearStore();
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            memberRepository.save(new Member("member" + i, i % 100));
+        }
+        uri = URI.create("http://localhost:" + tomcat.getConnector().getLocalPort() + "/servlet-mvc/members?size=" + size);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+        memberRepository.clearStore();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Client {
+
+        public long requests;
+        public long bytes;
+        public long cpuNanos;
+
+        String etag;
+
+    }
+
+    @Benchmark
+    public int poll(Client client) throws IOException, InterruptedException {
+        if (polls.incrementAndGet() % changeEvery == 0) {
+            //목록 첫 페이지에 보이도록 마지막 회원 대신 새 회원 추가로 version 만 바꾼다
+            memberRepository.save(new Member("polled", 1));
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).header("Accept-Encoding", "gzip").GET();
+        if (client.etag != null) {
+            builder.header("If-None-Match", client.etag);
+        }
+
+        long cpuStart = os.getProcessCpuTime();
+        HttpResponse<byte[]> response = this.client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        client.cpuNanos += os.getProcessCpuTime() - cpuStart;
+
+        if (response.statusCode() != 200 && response.statusCode() != 304) {
+            throw new IllegalStateException("status=" + response.statusCode());
+        }
+        client.requests++;
+        client.bytes += response.body().length;
+        client.etag = response.headers().firstValue("ETag").orElse(null);
+        return response.statusCode();
+    }
+
+}
@@ -0,0 +1,143 @@
+package mvc.ver1.web.frontcontroller;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.v1.FrontControllerServletV1;
+import mvc.ver1.web.frontcontroller.v2.FrontControllerServletV2;
+import mvc.ver1.web.frontcontroller.v3.FrontControllerServletV3;
+import mvc.ver1.web.frontcontroller.v4.FrontControllerServletV4;
+import mvc.ver1.web.frontcontroller.v5.FrontControllerServletV5;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프론트 컨트롤러 V1~V5 세대별 비용 비교
+ * Throughput 과 SampleTime(p99 포함)을 함께 측정하고, gc 프로파일러로 op 당 할당량(gc.alloc.rate.norm)을 본다.
+ * JSP 는 MockRequestDispatcher 로 forward 만 기록하므로 view 렌더링 비용은 제외된다.
+ * mockRequest 는 요청/응답 mock 생성 비용만 측정하는 기준값이다.
+ * recycleModel=true 는 V3~V5 의 ModelView/model 재사용(ModelRecycler)을 켠다, V1/V2 에는 영향이 없다.
+ * recycleModel 별 young GC 횟수/pause 는 dispatch 만 골라 GC 로그로 비교한다(fork 마다 로그 파일이 덮어써지므로 조합별로 따로 실행).
+ * java -jar ...-jmh.jar 'FrontControllerBenchmark.dispatch' -p generation=v5-v4 -p flow=list -p recycleModel=false -bm thrpt
+ *     -jvmArgsAppend "-Xms256m -Xmx256m -XX:+UseG1GC -Xlog:gc:file=gc-list-false.log"
+ *
+ * ./gradlew jmh -Pjmh.includes=FrontControllerBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FrontControllerBenchmark {
+
+    private static final int LIST_SIZE = 100;
+
+    @Param({"v1", "v2", "v3", "v4", "v5-v3", "v5-v4"})
+    String generation;
+
+    @Param({"new-form", "save", "list"})
+    String flow;
+
+    @Param({"false", "true"})
+    boolean recycleModel;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+    private final MockServletContext servletContext = new MockServletContext();
+
+    private HttpServlet servlet;
+    private String requestURI;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ServletException {
+        servlet = createServlet();
+        MockServletConfig config = new MockServletConfig(servletContext);
+        config.addInitParameter("recycleModel", String.valueOf(recycleModel));
+        servlet.init(config);
+
+        String prefix = generation.startsWith("v5")
+                ? "/front-controller/v5/" + generation.substring(3)
+                : "/front-controller/" + generation;
+        switch (flow) {
+            case "new-form":
+                requestURI = prefix + "/members/new-form";
+                break;
+            case "save":
+                requestURI = prefix + "/members/save";
+                break;
+            default:
+                requestURI = prefix + "/members";
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpMembers() {
+        memberRepository.clearStore();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            memberRepository.save(new Member("member" + i, i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        servlet.destroy();
+        memberRepository.clearStore();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse dispatch() throws ServletException, IOException {
+        MockHttpServletRequest request = createRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse mockRequest() {
+        MockHttpServletRequest request = createRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setForwardedUrl(request.getRequestURI());
+        return response;
+    }
+
+    private MockHttpServletRequest createRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "save".equals(flow) ? "POST" : "GET", requestURI);
+        if ("save".equals(flow)) {
+            request.addParameter("username", "hello");
+            request.addParameter("age", "20");
+        }
+        return request;
+    }
+
+    private HttpServlet createServlet() {
+        switch (generation) {
+            case "v1":
+                return new FrontControllerServletV1();
+            case "v2":
+                return new FrontControllerServletV2();
+            case "v3":
+                return new FrontControllerServletV3();
+            case "v4":
+                return new FrontControllerServletV4();
+            case "v5-v3":
+            case "v5-v4":
+                return new FrontControllerServletV5();
+            default:
+                throw new IllegalArgumentException("알 수 없는 generation=" + generation);
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package mvc.ver1.web.frontcontroller;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.stats.FrontControllerStats;
+import mvc.ver1.web.frontcontroller.stats.RouteStats;
+import mvc.ver1.web.frontcontroller.v1.FrontControllerServletV1;
+import mvc.ver1.web.frontcontroller.v2.FrontControllerServletV2;
+import mvc.ver1.web.frontcontroller.v3.FrontControllerServletV3;
+import mvc.ver1.web.frontcontroller.v4.FrontControllerServletV4;
+import mvc.ver1.web.frontcontroller.v5.FrontControllerServletV5;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프론트 컨트롤러 통계 기록 비용, 같은 요청을 기록 켬(statsOn)/끔(statsOff) JVM 에서 각각 측정해 비교한다.
+ * 요청 전체 시간은 편차가 커서 차이가 묻히므로, 요청 한 건에 추가되는 기록 작업(nanoTime 4번 + histogram 3번)만 recordOnly 로 따로 잰다.
+ * gc 프로파일러의 gc.alloc.rate.norm 으로 recordOnly 가 할당하지 않는지 확인한다.
+ * ./gradlew jmh -Pjmh.includes=FrontControllerStatsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class FrontControllerStatsBenchmark {
+
+    private static final int LIST_SIZE = 10;
+
+    @Param({"v1", "v2", "v3", "v4", "v5"})
+    String generation;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+    private final MockServletContext servletContext = new MockServletContext();
+
+    private HttpServlet servlet;
+    private String requestURI;
+    private RouteStats route;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ServletException {
+        servlet = createServlet();
+        servlet.init(new MockServletConfig(servletContext));
+        requestURI = generation.equals("v5") ? "/front-controller/v5/v3/members" : "/front-controller/" + generation + "/members";
+        route = FrontControllerStats.getInstance().controller("benchmark").route(requestURI);
+
+        memberRepository.clearStore();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            memberRepository.save(new Member("member" + i, i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        servlet.destroy();
+        memberRepository.clearStore();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dfront-controller.stats.enabled=true")
+    public MockHttpServletResponse statsOn() throws ServletException, IOException {
+        return dispatch();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dfront-controller.stats.enabled=false")
+    public MockHttpServletResponse statsOff() throws ServletException, IOException {
+        return dispatch();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dfront-controller.stats.enabled=true")
+    public long recordOnly() {
+        long start = FrontControllerStats.now();
+        long mapped = FrontControllerStats.now();
+        route.recordMapping(mapped - start);
+        long processed = FrontControllerStats.now();
+        route.recordProcess(processed - mapped);
+        long rendered = FrontControllerStats.now();
+        route.recordRender(rendered - processed);
+        return rendered;
+    }
+
+    private MockHttpServletResponse dispatch() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", requestURI);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+
+    private HttpServlet createServlet() {
+        switch (generation) {
+            case "v1":
+                return new FrontControllerServletV1();
+            case "v2":
+                return new FrontControllerServletV2();
+            case "v3":
+                return new FrontControllerServletV3();
+            case "v4":
+                return new FrontControllerServletV4();
+            case "v5":
+                return new FrontControllerServletV5();
+            default:
+                throw new IllegalArgumentException("알 수 없는 generation=" + generation);
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package mvc.ver1.web.frontcontroller;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberPage;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.v5.FrontControllerServletV5;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.startup.Tomcat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 10,000 명 목록을 JSP(HTML)와 JsonView(JSON)로 받는 비용을 실제 Tomcat 위에서 HTTP 부하로 비교
+ * 한 페이지는 최대 MemberPage.MAX_SIZE 명이므로 한 번의 호출에서 cursor 를 따라 전체 페이지를 모두 받는다.
+ * webapp 경로는 -Dwebapp.dir 로 바꿀 수 있다(기본 src/main/webapp).
+ * ./gradlew jmh -Pjmh.includes=JsonViewBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+public class JsonViewBenchmark {
+
+    private static final int MEMBER_COUNT = 10_000;
+
+    @Param({"html", "json"})
+    String accept;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+
+    private Tomcat tomcat;
+    private HttpClient client;
+    private HttpRequest[] pages;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LifecycleException {
+        Path baseDir = Files.createTempDirectory("json-view-tomcat");
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(0);
+        tomcat.getConnector();
+
+        Context context = tomcat.addWebapp("", Paths.get(System.getProperty("webapp.dir", "src/main/webapp")).toAbsolutePath().toString());
+        ((StandardContext) context).setContainerSciFilter("org\\.springframework\\..*");
+        Tomcat.addServlet(context, "frontControllerServletV5", new FrontControllerServletV5());
+        context.addServletMappingDecoded("/front-controller/v5/*", "frontControllerServletV5");
+        tomcat.start();
+
+        memberRepository.clearStore();
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            memberRepository.save(new Member("member" + i, i % 100));
+        }
+
+        //id 가 1 부터 연속이므로 cursor 는 페이지 크기의 배수
+        String baseUrl = "http://localhost:" + tomcat.getConnector().getLocalPort() + "/front-controller/v5/v4/members";
+        String acceptHeader = accept.equals("json") ? "application/json" : "text/html,application/xhtml+xml,*/*;q=0.8";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        pages = new HttpRequest[MEMBER_COUNT / MemberPage.MAX_SIZE];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = HttpRequest.newBuilder(URI.create(baseUrl + "?size=" + MemberPage.MAX_SIZE + "&cursor=" + (long) i * MemberPage.MAX_SIZE))
+                    .header("Accept", acceptHeader)
+                    .GET()
+                    .build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+        memberRepository.clearStore();
+    }
+
+    @Benchmark
+    public long list() throws IOException, InterruptedException {
+        long bytes = 0;
+        for (HttpRequest page : pages) {
+            HttpResponse<byte[]> response = client.send(page, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("status=" + response.statusCode() + " " + new String(response.body()));
+            }
+            bytes += response.body().length;
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,117 @@
+package mvc.ver1.web.frontcontroller;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.v4.FrontControllerServletV4;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.startup.Tomcat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSP forward 와 TemplateView 를 실제 Tomcat(Jasper 포함) 위에서 HTTP 부하로 비교
+ * FrontControllerServletV4 를 viewEngine=jsp|template 로 띄우고 8 스레드가 요청을 보낸다.
+ * webapp 경로는 -Dwebapp.dir 로 바꿀 수 있다(기본 src/main/webapp).
+ * ./gradlew jmh -Pjmh.includes=ViewRenderBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+public class ViewRenderBenchmark {
+
+    private static final int LIST_SIZE = 100;
+
+    @Param({"jsp", "template"})
+    String engine;
+
+    @Param({"new-form", "save", "list"})
+    String flow;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+
+    private Tomcat tomcat;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LifecycleException {
+        Path baseDir = Files.createTempDirectory("view-render-tomcat");
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(0);
+        tomcat.getConnector();
+
+        //addWebapp 은 기본 web.xml(JspServlet 포함)을 적용한다
+        Context context = tomcat.addWebapp("", Paths.get(System.getProperty("webapp.dir", "src/main/webapp")).toAbsolutePath().toString());
+        //classpath 의 ServletInitializer 로 Spring Boot 앱 전체가 함께 뜨지 않도록 제외
+        ((StandardContext) context).setContainerSciFilter("org\\.springframework\\..*");
+        Wrapper wrapper = Tomcat.addServlet(context, "frontControllerServletV4", new FrontControllerServletV4());
+        wrapper.addInitParameter("viewEngine", engine);
+        context.addServletMappingDecoded("/front-controller/v4/*", "frontControllerServletV4");
+        tomcat.start();
+
+        String baseUrl = "http://localhost:" + tomcat.getConnector().getLocalPort() + "/front-controller/v4/members";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        switch (flow) {
+            case "new-form":
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/new-form")).GET().build();
+                break;
+            case "save":
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/save"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString("username=hello&age=20"))
+                        .build();
+                break;
+            default:
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "?size=" + LIST_SIZE)).GET().build();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpMembers() {
+        memberRepository.clearStore();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            memberRepository.save(new Member("member" + i, i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+        memberRepository.clearStore();
+    }
+
+    @Benchmark
+    public int request() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("status=" + response.statusCode() + " " + new String(response.body()));
+        }
+        return response.body().length;
+    }
+
+}
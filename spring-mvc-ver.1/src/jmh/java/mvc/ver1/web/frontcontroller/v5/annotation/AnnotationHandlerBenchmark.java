@@ -0,0 +1,216 @@
+package mvc.ver1.web.frontcontroller.v5.annotation;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.v4.ControllerV4;
+import mvc.ver1.web.frontcontroller.v5.MyHandlerAdapter;
+import mvc.ver1.web.frontcontroller.v5.adapter.AnnotationHandlerAdapter;
+import mvc.ver1.web.frontcontroller.v5.adapter.ControllerV4HandlerAdapter;
+import mvc.ver1.web.springmvc.annotation.MyController;
+import mvc.ver1.web.springmvc.annotation.MyRequestMapping;
+import mvc.ver1.web.springmvc.annotation.MyRequestParam;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * annotation handler 호출 비용 비교
+ *
+ * handle : 같은 save handler(username, age 바인딩 후 model 에 Member)를 adapter.handle 로 처리, 요청/응답 mock 은 재사용
+ *   controllerV4 : ControllerV4 인터페이스 + ControllerV4HandlerAdapter
+ *   lambda       : @MyRequestMapping + LambdaMetafactory 호출부(AnnotationHandlerAdapter 기본)
+ *   methodHandle : 같은 resolver, MethodHandle invokeExact 호출
+ *   reflection   : 같은 resolver, Method.invoke 호출
+ *   routes=8 이면 측정 전에 다른 handler 7개도 같은 경로로 호출해서, 여러 handler 가 호출부를 공유하는 실제 앱처럼 profile 을 섞는다.
+ *
+ * invoke* : 바인딩이 끝난 인자로 빈 handler 메서드만 호출, 호출 방식 자체의 비용
+ *
+ * ./gradlew jmh -Pjmh.includes=AnnotationHandlerBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnnotationHandlerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HandleState {
+
+        @Param({"controllerV4", "lambda", "methodHandle", "reflection"})
+        String dispatch;
+
+        @Param({"1", "8"})
+        int routes;
+
+        MyHandlerAdapter adapter;
+        Object handler;
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp() throws Exception {
+            request = new MockHttpServletRequest("POST", "/members/save");
+            request.addParameter("username", "hello");
+            request.addParameter("age", "20");
+            response = new MockHttpServletResponse();
+
+            adapter = dispatch.equals("controllerV4") ? new ControllerV4HandlerAdapter() : new AnnotationHandlerAdapter();
+            for (int i = routes - 1; i >= 0; i--) {
+                handler = dispatch.equals("controllerV4") ? SaveControllerV4.VARIANTS[i] : annotatedHandler("save" + i);
+                if (i > 0) {
+                    for (int j = 0; j < 20_000; j++) {
+                        adapter.handle(request, response, handler);
+                    }
+                }
+            }
+        }
+
+        private Object annotatedHandler(String methodName) throws Exception {
+            SaveController controller = new SaveController();
+            Method method = SaveController.class.getDeclaredMethod(methodName, String.class, int.class, Map.class);
+            AnnotatedHandler annotatedHandler = new AnnotatedHandler("/members/save");
+            annotatedHandler.add(new String[]{"POST"},
+                    new HandlerMethod(method, AnnotationHandlerScanner.resolvers(method), invoker(dispatch, controller, method)));
+            return annotatedHandler;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class InvokeState {
+
+        EmptyController controller = new EmptyController();
+        Object[] args = {"hello", 20, new HashMap<String, Object>()};
+        HandlerInvoker lambda;
+        HandlerInvoker methodHandle;
+        HandlerInvoker reflection;
+
+        @Setup
+        public void setUp() throws Exception {
+            Method method = EmptyController.class.getMethod("save", String.class, int.class, Map.class);
+            lambda = invoker("lambda", controller, method);
+            methodHandle = invoker("methodHandle", controller, method);
+            reflection = invoker("reflection", controller, method);
+        }
+    }
+
+    @Benchmark
+    public ModelView handle(HandleState state) throws ServletException, IOException {
+        return state.adapter.handle(state.request, state.response, state.handler);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object invokeDirect(InvokeState state) {
+        Object[] args = state.args;
+        return state.controller.save((String) args[0], (Integer) args[1], (Map<String, Object>) args[2]);
+    }
+
+    @Benchmark
+    public Object invokeLambda(InvokeState state) throws Exception {
+        return state.lambda.invoke(state.args);
+    }
+
+    @Benchmark
+    public Object invokeMethodHandle(InvokeState state) throws Exception {
+        return state.methodHandle.invoke(state.args);
+    }
+
+    @Benchmark
+    public Object invokeReflection(InvokeState state) throws Exception {
+        return state.reflection.invoke(state.args);
+    }
+
+    private static HandlerInvoker invoker(String dispatch, Object controller, Method method) throws IllegalAccessException {
+        switch (dispatch) {
+            case "lambda":
+                return HandlerInvokers.create(controller, method);
+            case "methodHandle":
+                return HandlerInvokers.methodHandle(MethodHandles.lookup().unreflect(method), controller, method);
+            default:
+                return args -> method.invoke(controller, args);
+        }
+    }
+
+    public static class EmptyController {
+
+        public String save(String username, int age, Map<String, Object> model) {
+            return username;
+        }
+
+    }
+
+    @MyController
+    public static class SaveController {
+
+        @MyRequestMapping(value = "/members/save", method = "POST")
+        public String save0(@MyRequestParam("username") String username, @MyRequestParam("age") int age, Map<String, Object> model) {
+            model.put("member", new Member(username, age));
+            return "save-result";
+        }
+
+        public String save1(@MyRequestParam("username") String username, @MyRequestParam("age") int age, Map<String, Object> model) {
+            return "1";
+        }
+
+        public String save2(@MyRequestParam("username") String username, @MyRequestParam("age") int age, Map<String, Object> model) {
+            return "2";
+        }
+
+        public String save3(@MyRequestParam("username") String username, @MyRequestParam("age") int age, Map<String, Object> model) {
+            return "3";
+        }
+
+        public String save4(@MyRequestParam("username") String username, @MyRequestParam("age") int age, Map<String, Object> model) {
+            return "4";
+        }
+
+        public String save5(@MyRequestParam("username") String username, @MyRequestParam("age") int age, Map<String, Object> model) {
+            return "5";
+        }
+
+        public String save6(@MyRequestParam("username") String username, @MyRequestParam("age") int age, Map<String, Object> model) {
+            return "6";
+        }
+
+        public String save7(@MyRequestParam("username") String username, @MyRequestParam("age") int age, Map<String, Object> model) {
+            return "7";
+        }
+
+    }
+
+    public static class SaveControllerV4 implements ControllerV4 {
+
+        //0 번이 측정 대상, 나머지는 서로 다른 클래스의 ControllerV4
+        static final ControllerV4[] VARIANTS = {
+                new SaveControllerV4(),
+                (paramMap, model) -> "1",
+                (paramMap, model) -> "2",
+                (paramMap, model) -> "3",
+                (paramMap, model) -> "4",
+                (paramMap, model) -> "5",
+                (paramMap, model) -> "6",
+                (paramMap, model) -> "7"
+        };
+
+        @Override
+        public String process(Map<String, String> paramMap, Map<String, Object> model) {
+            model.put("member", new Member(paramMap.get("username"), Integer.parseInt(paramMap.get("age"))));
+            return "save-result";
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package mvc.ver1.web.frontcontroller.v5.controller;
+
+import mvc.ver1.domain.member.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 100만 줄 가져오기 시간, 형식(csv, ndjson)과 batchSize(1 이면 한 건씩 저장)별 비교
+ * 1% 는 잘못된 줄이라 오류 응답도 함께 쓴다.
+ * 기본은 메모리 전용 저장소, durable 모드는 -jvmArgsAppend "-Dmember.persistence.dir=... -Dmember.persistence.fsync=always" 로 측정
+ * ./gradlew jmh -Pjmh.includes=MemberImportBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class MemberImportBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    @Param({"csv", "ndjson"})
+    private String format;
+
+    @Param({"1", "1000"})
+    private String batchSize;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+    private final MemberImportController controller = new MemberImportController();
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ROWS * 40);
+        if (format.equals("csv")) {
+            out.write("username,age\n".getBytes(StandardCharsets.UTF_8));
+        }
+        for (int i = 0; i < ROWS; i++) {
+            String age = i % 100 == 99 ? "x" : String.valueOf(i % 90);
+            String line = format.equals("csv")
+                    ? "member" + i + "," + age + "\n"
+                    : "{\"username\":\"member" + i + "\",\"age\":" + (age.equals("x") ? "\"x\"" : age) + "}\n";
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+        }
+        body = out.toByteArray();
+    }
+
+    @TearDown(Level.Invocation)
+    public void clear() {
+        memberRepository.clearStore();
+    }
+
+    @Benchmark
+    public int importMembers() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/front-controller/v5/members/import");
+        request.setContentType(format.equals("csv") ? "text/csv" : "application/x-ndjson");
+        request.setContent(body);
+        request.addParameter("batchSize", batchSize);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.process(request, response);
+        if (!response.getContentAsString().endsWith("imported=990000 failed=10000\n")) {
+            throw new IllegalStateException(response.getContentAsString());
+        }
+        return response.getContentLength();
+    }
+
+}
@@ -0,0 +1,69 @@
+package mvc.ver1.web.frontcontroller.v5.route;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 등록된 route 수가 늘어나도 match 시간이 일정한지 확인
+ * ./gradlew jmh -Pjmh.includes=RouteTrieBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RouteTrieBenchmark {
+
+    @Param({"10", "1000", "5000"})
+    int routeCount;
+
+    private RouteTrie routeTrie;
+    private Map<String, Object> exactMap;
+
+    private String staticPath;
+    private String variablePath;
+
+    @Setup
+    public void setUp() {
+        routeTrie = new RouteTrie();
+        exactMap = new HashMap<>();
+        for (int i = 0; i < routeCount; i++) {
+            String base = "/front-controller/v5/resource" + i;
+            routeTrie.add(base, "list" + i);
+            routeTrie.add(base + "/new-form", "form" + i);
+            routeTrie.add(base + "/{id}", "detail" + i);
+            routeTrie.add(base + "/{id}/items/{itemId}", "item" + i);
+            exactMap.put(base, "list" + i);
+            exactMap.put(base + "/new-form", "form" + i);
+        }
+        routeTrie.compile();
+
+        int target = routeCount / 2;
+        staticPath = "/front-controller/v5/resource" + target + "/new-form";
+        variablePath = "/front-controller/v5/resource" + target + "/1234/items/5678";
+    }
+
+    @Benchmark
+    public Object matchStatic() {
+        return routeTrie.match(staticPath, null);
+    }
+
+    @Benchmark
+    public Object matchVariables() {
+        return routeTrie.match(variablePath, new HashMap<>());
+    }
+
+    @Benchmark
+    public Object exactHashMap() {
+        return exactMap.get(staticPath);
+    }
+
+}
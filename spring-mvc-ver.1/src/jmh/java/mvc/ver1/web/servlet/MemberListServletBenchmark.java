@@ -0,0 +1,163 @@
+package mvc.ver1.web.servlet;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 목록 HTML 생성 속도 비교, 응답 바이트는 버리고 쓴 바이트 수만 센다.
+ * bytes 보조 카운터가 초당 응답 바이트 수
+ * ./gradlew jmh -Pjmh.includes=MemberListServletBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class MemberListServletBenchmark {
+
+    @Param({"1000", "100000"})
+    int memberCount;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+    private final MemberListServlet memberListServlet = new MemberListServlet();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/servlet/members");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        memberRepository.clearStore();
+        for (int i = 0; i < memberCount; i++) {
+            memberRepository.save(new Member("member" + i, i % 100));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        memberRepository.clearStore();
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Bytes {
+        public long bytes;
+    }
+
+    @Benchmark
+    public void byteStreaming(Bytes counter) throws ServletException, IOException {
+        CountingResponse response = new CountingResponse();
+        memberListServlet.service(request, response);
+        counter.bytes += response.out.count;
+    }
+
+    @Benchmark
+    public void printWriterLegacy(Bytes counter) throws IOException {
+        CountingResponse response = new CountingResponse();
+        legacyService(response);
+        counter.bytes += response.out.count;
+    }
+
+    /**
+     * 변경 전 MemberListServlet 의 렌더링
+     */
+    private void legacyService(HttpServletResponse response) throws IOException {
+        response.setContentType("text/html");
+        response.setCharacterEncoding("utf-8");
+
+        List<Member> members = memberRepository.findAll();
+
+        PrintWriter w = response.getWriter();
+        w.write("<html>");
+        w.write("<head>");
+        w.write(" <meta charset=\"UTF-8\">");
+        w.write(" <title>Title</title>");
+        w.write("</head>");
+        w.write("<body>");
+        w.write("<a href=\"/index.html\">메인</a>");
+        w.write("<table>");
+        w.write(" <thead>");
+        w.write(" <th>id</th>");
+        w.write(" <th>username</th>");
+        w.write(" <th>age</th>");
+        w.write(" </thead>");
+        w.write(" <tbody>");
+        for (Member member : members) {
+            w.write(" <tr>");
+            w.write(" <td>" + member.getId() + "</td>");
+            w.write(" <td>" + member.getUsername() + "</td>");
+            w.write(" <td>" + member.getAge() + "</td>");
+            w.write(" </tr>");
+        }
+        w.write(" </tbody>");
+        w.write("</table>");
+        w.write("</body>");
+        w.write("</html>");
+        w.flush();
+    }
+
+    /**
+     * 응답 바이트를 저장하지 않는 response
+     */
+    static class CountingResponse extends MockHttpServletResponse {
+
+        final CountingOutputStream out = new CountingOutputStream();
+        private final PrintWriter writer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            return writer;
+        }
+
+    }
+
+    static class CountingOutputStream extends ServletOutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+
+    }
+
+}
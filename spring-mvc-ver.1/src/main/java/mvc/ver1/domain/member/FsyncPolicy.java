@@ -0,0 +1,23 @@
+package mvc.ver1.domain.member;
+
+/**
+ * 회원 로그 fsync 정책
+ */
+public enum FsyncPolicy {
+
+    /**
+     * save 가 fsync 완료까지 기다린다, 동시에 들어온 save 는 한 번의 fsync 로 묶는다(group commit)
+     */
+    ALWAYS,
+
+    /**
+     * 백그라운드 스레드가 주기적으로 fsync, 장애 시 마지막 주기만큼 유실될 수 있다.
+     */
+    INTERVAL,
+
+    /**
+     * fsync 하지 않고 OS 에 맡긴다.
+     */
+    NEVER
+
+}
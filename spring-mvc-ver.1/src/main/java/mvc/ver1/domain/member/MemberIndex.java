@@ -0,0 +1,76 @@
+package mvc.ver1.domain.member;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 회원 보조 인덱스, username 해시 인덱스와 (age, id) 정렬 인덱스
+ * 저장 이후 username, age 를 바꾸는 경우는 고려하지 않는다.
+ */
+class MemberIndex {
+
+    private static final Comparator<Member> AGE_ORDER = Comparator.comparingInt(Member::getAge)
+            .thenComparing(Member::getId);
+
+    private final ConcurrentHashMap<String, Queue<Member>> usernameIndex = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Member> ageIndex = new ConcurrentSkipListSet<>(AGE_ORDER);
+
+    void add(Member member) {
+        if (member.getUsername() != null) {
+            usernameIndex.computeIfAbsent(member.getUsername(), key -> new ConcurrentLinkedQueue<>()).add(member);
+        }
+        ageIndex.add(member);
+    }
+
+    List<Member> findByUsername(String username, int limit) {
+        if (username == null) {
+            return Collections.emptyList();
+        }
+        Queue<Member> members = usernameIndex.get(username);
+        if (members == null) {
+            return Collections.emptyList();
+        }
+        List<Member> result = new ArrayList<>(Math.min(limit, 1024));
+        for (Member member : members) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(member);
+        }
+        return result;
+    }
+
+    List<Member> findByAgeBetween(int minAge, int maxAge, int limit) {
+        if (minAge > maxAge) {
+            return Collections.emptyList();
+        }
+        NavigableSet<Member> range = ageIndex.subSet(probe(minAge, Long.MIN_VALUE), true, probe(maxAge, Long.MAX_VALUE), true);
+        List<Member> result = new ArrayList<>(Math.min(limit, 1024));
+        for (Member member : range) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(member);
+        }
+        return result;
+    }
+
+    void clear() {
+        usernameIndex.clear();
+        ageIndex.clear();
+    }
+
+    private static Member probe(int age, long id) {
+        Member member = new Member(null, age);
+        member.setId(id);
+        return member;
+    }
+
+}
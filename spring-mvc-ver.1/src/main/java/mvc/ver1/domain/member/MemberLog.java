@@ -0,0 +1,315 @@
+package mvc.ver1.domain.member;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 회원 append-only 로그, 파일 하나가 세대(generation) 하나
+ * 파일 형식: [MAGIC int][generation long] 다음에 레코드 반복
+ * 레코드 형식: [payload 길이 int][type byte][payload][type + payload 의 CRC32 int]
+ *
+ * ALWAYS 정책은 group commit, fsync 중에 들어온 append 는 다음 fsync 한 번으로 함께 내려간다.
+ */
+class MemberLog implements Closeable {
+
+    static final byte SAVE = 1;
+    static final byte CLEAR = 2;
+
+    private static final int MAGIC = 0x4D4C4F47; //"MLOG"
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    //길이 + type + crc
+    private static final int RECORD_OVERHEAD = Integer.BYTES + 1 + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final long generation;
+    private final FsyncPolicy policy;
+    private final ScheduledExecutorService syncer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition synced = lock.newCondition();
+    private long writtenPosition;
+    private long syncedPosition;
+    private boolean syncing;
+    private IOException syncFailure;
+
+    private MemberLog(FileChannel channel, long generation, FsyncPolicy policy, long fsyncIntervalMillis) {
+        this.channel = channel;
+        this.generation = generation;
+        this.policy = policy;
+        this.writtenPosition = HEADER_SIZE;
+        this.syncedPosition = HEADER_SIZE;
+        if (policy == FsyncPolicy.INTERVAL) {
+            syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "member-log-fsync-" + generation);
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::syncQuietly, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * 새 로그 파일을 만든다, 같은 이름의 파일이 있으면 실패한다.
+     */
+    static MemberLog create(Path file, long generation, FsyncPolicy policy, long fsyncIntervalMillis) throws IOException {
+        MemberLog log = create(FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), generation, policy, fsyncIntervalMillis);
+        //파일 내용만 fsync 하면 디렉터리 엔트리가 없어서 죽은 뒤 파일째 사라질 수 있다
+        try {
+            syncDirectory(file.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            log.close();
+            throw e;
+        }
+        return log;
+    }
+
+    /**
+     * 빈 채널에 헤더를 쓰고 로그를 연다, 실패하면 채널을 닫는다.
+     */
+    static MemberLog create(FileChannel channel, long generation, FsyncPolicy policy, long fsyncIntervalMillis) throws IOException {
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putLong(generation).flip();
+            writeFully(channel, header);
+            channel.force(true);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new MemberLog(channel, generation, policy, fsyncIntervalMillis);
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    void appendSave(Member member) throws IOException {
+        byte[] usernameBytes = MemberRecords.usernameBytes(member);
+        int payloadSize = MemberRecords.size(usernameBytes);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + payloadSize);
+        putSave(record, member, usernameBytes, payloadSize);
+        append(record);
+    }
+
+    /**
+     * 여러 SAVE 레코드를 한 번에 write 하고 fsync 도 한 번만 기다린다.
+     * 레코드 단위 CRC 는 그대로라서 복구 시 중간에서 잘려도 완성된 레코드까지는 읽힌다.
+     */
+    void appendSaves(List<Member> members) throws IOException {
+        byte[][] usernameBytes = new byte[members.size()][];
+        int totalSize = 0;
+        for (int i = 0; i < members.size(); i++) {
+            usernameBytes[i] = MemberRecords.usernameBytes(members.get(i));
+            totalSize += RECORD_OVERHEAD + MemberRecords.size(usernameBytes[i]);
+        }
+        ByteBuffer records = ByteBuffer.allocate(totalSize);
+        for (int i = 0; i < members.size(); i++) {
+            putSave(records, members.get(i), usernameBytes[i], MemberRecords.size(usernameBytes[i]));
+        }
+        append(records);
+    }
+
+    void appendClear() throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD);
+        int start = record.position();
+        record.putInt(0).put(CLEAR);
+        putCrc(record, start);
+        append(record);
+    }
+
+    private static void putSave(ByteBuffer buffer, Member member, byte[] usernameBytes, int payloadSize) {
+        int start = buffer.position();
+        buffer.putInt(payloadSize).put(SAVE);
+        MemberRecords.write(buffer, member, usernameBytes);
+        putCrc(buffer, start);
+    }
+
+    private static void putCrc(ByteBuffer buffer, int recordStart) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), recordStart + Integer.BYTES, buffer.position() - recordStart - Integer.BYTES);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private void append(ByteBuffer records) throws IOException {
+        records.flip();
+
+        long end;
+        lock.lock();
+        try {
+            //INTERVAL 정책의 백그라운드 fsync 실패도 여기서 드러난다
+            checkSyncFailure();
+            writeFully(channel, records);
+            writtenPosition += records.limit();
+            end = writtenPosition;
+        } finally {
+            lock.unlock();
+        }
+        if (policy == FsyncPolicy.ALWAYS) {
+            awaitSync(end);
+        }
+    }
+
+    /**
+     * end 위치까지 fsync 될 때까지 기다린다.
+     * fsync 중인 스레드가 없으면 직접 fsync 하고(leader), 있으면 그 결과를 기다린 뒤 필요하면 다시 시도한다.
+     */
+    private void awaitSync(long end) throws IOException {
+        lock.lock();
+        try {
+            while (syncedPosition < end) {
+                checkSyncFailure();
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+                syncing = true;
+                long target = writtenPosition;
+                lock.unlock();
+                boolean forced = false;
+                IOException failure = null;
+                try {
+                    channel.force(false);
+                    forced = true;
+                } catch (IOException e) {
+                    failure = e;
+                } finally {
+                    lock.lock();
+                    syncing = false;
+                    if (forced) {
+                        syncedPosition = Math.max(syncedPosition, target);
+                    } else if (syncFailure == null) {
+                        syncFailure = failure;
+                    }
+                    synced.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * lock 을 잡은 상태에서 호출, 한 번 fsync 에 실패한 로그에는 더 쓰지 않는다.
+     */
+    private void checkSyncFailure() throws IOException {
+        if (syncFailure != null) {
+            throw new IOException("회원 로그 fsync 에 실패했습니다.", syncFailure);
+        }
+    }
+
+    void sync() throws IOException {
+        long end;
+        lock.lock();
+        try {
+            end = writtenPosition;
+        } finally {
+            lock.unlock();
+        }
+        awaitSync(end);
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            //다음 append 에서 실패가 드러나도록 syncFailure 에 남겨 두었다
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (syncer != null) {
+            syncer.shutdown();
+        }
+        try {
+            if (policy != FsyncPolicy.NEVER) {
+                sync();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * 로그 파일을 읽어 레코드를 넘긴다, 잘린 레코드나 CRC 가 맞지 않는 레코드를 만나면 거기서 멈춘다(쓰다가 죽은 꼬리).
+     * @return 헤더의 generation
+     */
+    static long replay(Path file, Consumer<Member> onSave, Runnable onClear) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("회원 로그 헤더가 없습니다. file=" + file);
+            }
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, checkMappable(file, size));
+            if (data.getInt() != MAGIC) {
+                throw new IOException("회원 로그 파일이 아닙니다. file=" + file);
+            }
+            long generation = data.getLong();
+
+            CRC32 crc = new CRC32();
+            while (data.remaining() >= RECORD_OVERHEAD) {
+                int start = data.position();
+                int payloadSize = data.getInt();
+                if (payloadSize < 0 || payloadSize > data.remaining() - 1 - Integer.BYTES) {
+                    break;
+                }
+                crc.reset();
+                ByteBuffer body = data.duplicate();
+                body.limit(start + Integer.BYTES + 1 + payloadSize);
+                crc.update(body);
+                data.position(start + Integer.BYTES + 1 + payloadSize);
+                if (data.getInt() != (int) crc.getValue()) {
+                    break;
+                }
+
+                byte type = data.get(start + Integer.BYTES);
+                if (type == SAVE) {
+                    ByteBuffer payload = data.duplicate();
+                    payload.position(start + Integer.BYTES + 1);
+                    onSave.accept(MemberRecords.read(payload));
+                } else if (type == CLEAR) {
+                    onClear.run();
+                } else {
+                    break;
+                }
+            }
+            return generation;
+        }
+    }
+
+    /**
+     * 디렉터리의 생성, rename, 삭제를 디스크에 내린다.
+     */
+    static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    static int checkMappable(Path file, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("2GB 를 넘는 파일은 읽을 수 없습니다, 스냅샷을 더 자주 만드세요. file=" + file);
+        }
+        return (int) size;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+}
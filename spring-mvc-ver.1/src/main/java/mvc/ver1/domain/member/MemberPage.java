@@ -0,0 +1,29 @@
+package mvc.ver1.domain.member;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class MemberPage {
+
+    public static final int DEFAULT_SIZE = 100;
+    public static final int MAX_SIZE = 1000;
+
+    private final List<Member> members;
+
+    /**
+     * 다음 페이지 조회에 사용할 커서(마지막 회원 id), 마지막 페이지면 null
+     */
+    private final Long nextCursor;
+
+    public MemberPage(List<Member> members, Long nextCursor) {
+        this.members = members;
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+}
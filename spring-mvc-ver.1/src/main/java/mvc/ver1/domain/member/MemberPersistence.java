@@ -0,0 +1,158 @@
+package mvc.ver1.domain.member;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * MemberRepository durable 모드, 디렉터리 하나에 스냅샷 한 개와 세대별 로그 파일을 둔다.
+ * members.snapshot : 마지막 스냅샷, members-{generation}.log : 스냅샷 이후 변경분
+ *
+ * 시작 시 스냅샷을 memory map 으로 읽고 그 이후 세대의 로그를 재생한 뒤, 새 세대 로그를 열어 이어서 기록한다.
+ * 스냅샷을 만들 때는 로그를 새 세대로 바꾸고(rotate), 스냅샷 저장이 끝나면 이전 세대 로그를 지운다.
+ */
+class MemberPersistence implements Closeable {
+
+    static final String SNAPSHOT_FILE = "members.snapshot";
+    private static final String LOG_PREFIX = "members-";
+    private static final String LOG_SUFFIX = ".log";
+
+    private final Path directory;
+    private final FsyncPolicy policy;
+    private final long fsyncIntervalMillis;
+
+    private volatile MemberLog log;
+
+    MemberPersistence(Path directory, FsyncPolicy policy, long fsyncIntervalMillis) {
+        this.directory = directory;
+        this.policy = policy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+    }
+
+    /**
+     * -Dmember.persistence.dir 가 없으면 null(메모리 전용)
+     * -Dmember.persistence.fsync=always|interval|never (기본 always)
+     * -Dmember.persistence.fsyncIntervalMillis (interval 정책의 주기, 기본 100)
+     */
+    static MemberPersistence fromSystemProperties() {
+        String dir = System.getProperty("member.persistence.dir");
+        if (dir == null || dir.isBlank()) {
+            return null;
+        }
+        FsyncPolicy policy = FsyncPolicy.valueOf(
+                System.getProperty("member.persistence.fsync", "always").toUpperCase(Locale.ROOT));
+        long fsyncIntervalMillis = Long.getLong("member.persistence.fsyncIntervalMillis", 100L);
+        return new MemberPersistence(Paths.get(dir), policy, fsyncIntervalMillis);
+    }
+
+    /**
+     * 스냅샷과 로그를 재생하고 새 로그를 연다.
+     * @return 발급된 적 있는 가장 큰 id
+     */
+    long recover(Consumer<Member> onSave, Runnable onClear) throws IOException {
+        Files.createDirectories(directory);
+
+        long lastSequence = 0;
+        long nextGeneration = 1;
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotFile)) {
+            MemberSnapshot snapshot = MemberSnapshot.read(snapshotFile, onSave);
+            lastSequence = snapshot.getLastSequence();
+            nextGeneration = snapshot.getNextGeneration();
+        }
+
+        long[] maxId = {lastSequence};
+        long lastGeneration = nextGeneration - 1;
+        for (Map.Entry<Long, Path> entry : logFiles().entrySet()) {
+            long generation = entry.getKey();
+            if (generation < nextGeneration) {
+                //스냅샷 저장 후 지우기 전에 죽은 경우, 이미 스냅샷에 들어 있다
+                Files.delete(entry.getValue());
+                continue;
+            }
+            MemberLog.replay(entry.getValue(), member -> {
+                maxId[0] = Math.max(maxId[0], member.getId());
+                onSave.accept(member);
+            }, onClear);
+            lastGeneration = generation;
+        }
+
+        //쓰다가 죽은 꼬리가 있을 수 있으므로 이전 로그에 이어 쓰지 않고 항상 새 세대로 시작
+        log = MemberLog.create(logFile(lastGeneration + 1), lastGeneration + 1, policy, fsyncIntervalMillis);
+        return maxId[0];
+    }
+
+    void appendSave(Member member) throws IOException {
+        log.appendSave(member);
+    }
+
+    void appendSaves(List<Member> members) throws IOException {
+        log.appendSaves(members);
+    }
+
+    void appendClear() throws IOException {
+        log.appendClear();
+    }
+
+    /**
+     * 새 세대 로그로 바꾼다, 진행 중인 append 가 없을 때(MemberRepository write lock 안에서) 호출해야 한다.
+     * @return 새 세대, 스냅샷의 nextGeneration 으로 사용
+     */
+    long rotate() throws IOException {
+        MemberLog previous = log;
+        long generation = previous.getGeneration() + 1;
+        log = MemberLog.create(logFile(generation), generation, policy, fsyncIntervalMillis);
+        previous.close();
+        return generation;
+    }
+
+    /**
+     * rotate 이전까지의 회원으로 스냅샷을 만들고, 스냅샷에 포함된 세대의 로그를 지운다.
+     * 로그는 MemberSnapshot.write 가 rename 과 디렉터리 fsync 까지 끝낸 뒤에 지운다.
+     */
+    void writeSnapshot(long lastSequence, long nextGeneration, Consumer<Consumer<Member>> members) throws IOException {
+        MemberSnapshot.write(directory.resolve(SNAPSHOT_FILE), lastSequence, nextGeneration, members);
+        for (Map.Entry<Long, Path> entry : logFiles().entrySet()) {
+            if (entry.getKey() < nextGeneration) {
+                Files.deleteIfExists(entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        MemberLog current = log;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private Path logFile(long generation) {
+        return directory.resolve(LOG_PREFIX + generation + LOG_SUFFIX);
+    }
+
+    private TreeMap<Long, Path> logFiles() throws IOException {
+        TreeMap<Long, Path> result = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, LOG_PREFIX + "*" + LOG_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String generation = name.substring(LOG_PREFIX.length(), name.length() - LOG_SUFFIX.length());
+                try {
+                    result.put(Long.parseLong(generation), file);
+                } catch (NumberFormatException e) {
+                    //직접 만든 파일이 아니면 무시
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,63 @@
+package mvc.ver1.domain.member;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 스냅샷, 로그에서 공통으로 쓰는 회원 바이너리 형식
+ * [id long][age int][username 길이 int, null 이면 -1][username UTF-8]
+ */
+class MemberRecords {
+
+    private MemberRecords() {
+    }
+
+    static byte[] usernameBytes(Member member) {
+        return member.getUsername() == null ? null : member.getUsername().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int size(byte[] usernameBytes) {
+        return Long.BYTES + Integer.BYTES + Integer.BYTES + (usernameBytes == null ? 0 : usernameBytes.length);
+    }
+
+    static void write(ByteBuffer buffer, Member member, byte[] usernameBytes) {
+        buffer.putLong(member.getId());
+        buffer.putInt(member.getAge());
+        if (usernameBytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(usernameBytes.length);
+            buffer.put(usernameBytes);
+        }
+    }
+
+    static void write(DataOutput out, Member member) throws IOException {
+        byte[] usernameBytes = usernameBytes(member);
+        out.writeLong(member.getId());
+        out.writeInt(member.getAge());
+        if (usernameBytes == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(usernameBytes.length);
+            out.write(usernameBytes);
+        }
+    }
+
+    static Member read(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        int age = buffer.getInt();
+        int length = buffer.getInt();
+        String username = null;
+        if (length >= 0) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            username = new String(bytes, StandardCharsets.UTF_8);
+        }
+        Member member = new Member(username, age);
+        member.setId(id);
+        return member;
+    }
+
+}
@@ -1,18 +1,57 @@
 package mvc.ver1.domain.member;
 
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 /**
- * 동시성 문제가 고려되어 있지 않음, 실무에서는 ConcurrentHashMap, AtomicLong 사용 고려
+ * 동시성 고려, id 발급은 AtomicLong, 저장소는 long id 로 직접 인덱싱하는 MemberStore 사용
+ * 저장소는 기본 MemberTable, -Dmember.store=offheap 이면 OffHeapMemberTable(조회할 때마다 새 Member 를 만든다)
+ * username, age 보조 인덱스는 heap 저장소에서 기본 사용, -Dmember.index.enabled 로 바꿀 수 있다. 끄면 조회 시 전체를 스캔한다.
+ *
+ * 기본은 메모리 전용, -Dmember.persistence.dir 를 주면 durable 모드로 동작한다(MemberPersistence 참고).
+ * durable 모드에서는 시작 시 스냅샷과 로그로 복구하고, -Dmember.persistence.snapshotIntervalSeconds 마다(기본 600, 0 이면 끔) 스냅샷을 만든다.
  */
+@Slf4j
 public class MemberRepository {
 
+    private static final Comparator<Member> AGE_ORDER = Comparator.comparingInt(Member::getAge).thenComparing(Member::getId);
+
     private static final MemberRepository instance = new MemberRepository();
-    private static Map<Long, Member> store = new HashMap<>(); //static 사용
-    private static long sequence = 0L; //static 사용
+    private static final MemberStore store = MemberStore.fromSystemProperties(); //static 사용
+    private static final AtomicLong sequence = new AtomicLong(); //static 사용
+
+    //저장소가 바뀔 때마다 증가, 저장소 반영 뒤에 올리므로 먼저 읽은 version 은 그 뒤에 읽은 데이터보다 새롭지 않다
+    private static final AtomicLong version = new AtomicLong();
+
+    //인덱스는 Member 객체를 들고 있으므로 offheap 저장소에서는 기본으로 끈다
+    private static final boolean indexEnabled = Boolean.parseBoolean(
+            System.getProperty("member.index.enabled", String.valueOf(!(store instanceof OffHeapMemberTable))));
+    private static final MemberIndex index = new MemberIndex();
+
+    //save 끼리는 동시에 진행(read lock), clearStore 는 진행 중인 save 가 끝난 뒤 저장소와 인덱스를 함께 비운다(write lock)
+    private static final ReadWriteLock clearLock = new ReentrantReadWriteLock();
+
+    private static final MemberPersistence persistence = MemberPersistence.fromSystemProperties(); //null 이면 메모리 전용
+    private static final Object snapshotLock = new Object();
+
+    static {
+        if (persistence != null) {
+            recover();
+        }
+    }
 
     private MemberRepository() {
     }
@@ -22,21 +61,266 @@ public class MemberRepository {
     }
 
     public Member save(Member member) {
-        member.setId(++sequence);
-        store.put(member.getId(), member);
-        return member;
+        clearLock.readLock().lock();
+        try {
+            long id = sequence.incrementAndGet();
+            member.setId(id);
+            if (persistence != null) {
+                //로그에 먼저 남기고 저장소에 반영, 로그 실패 시 저장되지 않는다
+                appendSave(member);
+            }
+            store.put(id, member);
+            if (indexEnabled) {
+                index.add(member);
+            }
+            version.incrementAndGet();
+            return member;
+        } finally {
+            clearLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 여러 회원을 한 번에 저장, id 는 연속 구간으로 한 번에 발급하고 durable 모드에서는 로그 기록과 fsync 도 한 번으로 묶는다.
+     * 로그 기록에 실패하면 목록 전체가 저장되지 않는다(발급한 id 구간은 건너뛴다).
+     */
+    public List<Member> saveAll(List<Member> members) {
+        if (members.isEmpty()) {
+            return members;
+        }
+        clearLock.readLock().lock();
+        try {
+            long id = sequence.getAndAdd(members.size());
+            for (Member member : members) {
+                member.setId(++id);
+            }
+            if (persistence != null) {
+                appendSaves(members);
+            }
+            for (Member member : members) {
+                store.put(member.getId(), member);
+                if (indexEnabled) {
+                    index.add(member);
+                }
+            }
+            version.incrementAndGet();
+            return members;
+        } finally {
+            clearLock.readLock().unlock();
+        }
     }
 
     public Member findById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return findById(id.longValue());
+    }
+
+    public Member findById(long id) {
         return store.get(id);
     }
 
     public List<Member> findAll() {
-        return new ArrayList<>(store.values());
+        List<Member> result = new ArrayList<>();
+        store.forEach(result::add);
+        return result;
+    }
+
+    /**
+     * id 커서 기반 페이지 조회, afterId 보다 큰 id 를 id 순서로 최대 size 건 반환
+     * 저장소 크기와 관계없이 size 건만 담는다.
+     */
+    public MemberPage findPage(long afterId, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다. size=" + size);
+        }
+        //다음 페이지 존재 여부를 알기 위해 한 건 더 조회
+        List<Member> members = new ArrayList<>(Math.min(size, 1024) + 1);
+        store.forEachAfter(afterId, size + 1, members::add);
+
+        boolean hasNext = members.size() > size;
+        if (hasNext) {
+            members.remove(size);
+        }
+        Long nextCursor = hasNext ? members.get(size - 1).getId() : null;
+        return new MemberPage(members, nextCursor);
+    }
+
+    /**
+     * 목록을 복사하지 않고 id 순서로 순회, 순회 중 저장된 회원은 포함될 수도 있고 아닐 수도 있다.
+     */
+    public void forEach(Consumer<Member> action) {
+        store.forEach(action);
+    }
+
+    /**
+     * username 이 같은 회원을 저장 순서로 최대 limit 건 조회
+     */
+    public List<Member> findByUsername(String username, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit은 1 이상이어야 합니다. limit=" + limit);
+        }
+        if (indexEnabled) {
+            return index.findByUsername(username, limit);
+        }
+        List<Member> result = new ArrayList<>();
+        store.forEach(member -> {
+            if (result.size() < limit && member.getUsername() != null && member.getUsername().equals(username)) {
+                result.add(member);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * minAge 이상 maxAge 이하 회원을 나이 순(같으면 id 순)으로 최대 limit 건 조회
+     */
+    public List<Member> findByAgeBetween(int minAge, int maxAge, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit은 1 이상이어야 합니다. limit=" + limit);
+        }
+        if (indexEnabled) {
+            return index.findByAgeBetween(minAge, maxAge, limit);
+        }
+        return scanByAgeBetween(store::forEach, minAge, maxAge, limit);
+    }
+
+    /**
+     * 인덱스 없이 전체를 순회하면서 (age, id) 가 가장 작은 limit 건만 max-heap 에 남긴다.
+     * offheap 저장소는 순회할 때마다 Member 를 새로 만들므로 범위가 넓어도 limit 건 이상은 붙잡지 않는다.
+     */
+    static List<Member> scanByAgeBetween(Consumer<Consumer<Member>> members, int minAge, int maxAge, int limit) {
+        PriorityQueue<Member> heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, AGE_ORDER.reversed());
+        members.accept(member -> {
+            if (member.getAge() < minAge || member.getAge() > maxAge) {
+                return;
+            }
+            if (heap.size() < limit) {
+                heap.add(member);
+            } else if (AGE_ORDER.compare(member, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(member);
+            }
+        });
+        List<Member> result = new ArrayList<>(heap);
+        result.sort(AGE_ORDER);
+        return result;
     }
 
     public void clearStore() {
-        store.clear();
+        clearLock.writeLock().lock();
+        try {
+            if (persistence != null) {
+                try {
+                    persistence.appendClear();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("회원 로그 기록에 실패했습니다.", e);
+                }
+            }
+            store.clear();
+            index.clear();
+            version.incrementAndGet();
+        } finally {
+            clearLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 저장, 삭제가 일어날 때마다 증가하는 값, 같으면 저장소 내용도 같다(ETag 등 변경 확인용)
+     * JVM 마다 0 부터 시작하므로 재시작을 구분해야 하면 시작 시각 등과 함께 사용
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * durable 모드에서 스냅샷을 만든다, 메모리 전용이면 아무것도 하지 않고 false
+     * 로그 세대를 바꾸는 동안만 save 를 막고, 스냅샷 파일은 save 와 동시에 쓴다.
+     */
+    public boolean snapshot() {
+        if (persistence == null) {
+            return false;
+        }
+        synchronized (snapshotLock) {
+            try {
+                long lastSequence;
+                long nextGeneration;
+                clearLock.writeLock().lock();
+                try {
+                    lastSequence = sequence.get();
+                    nextGeneration = persistence.rotate();
+                } finally {
+                    clearLock.writeLock().unlock();
+                }
+                //rotate 이후 저장된 회원은 새 로그에 있으므로 제외
+                persistence.writeSnapshot(lastSequence, nextGeneration, action -> store.forEach(member -> {
+                    if (member.getId() <= lastSequence) {
+                        action.accept(member);
+                    }
+                }));
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException("회원 스냅샷 저장에 실패했습니다.", e);
+            }
+        }
+    }
+
+    private static void appendSave(Member member) {
+        try {
+            persistence.appendSave(member);
+        } catch (IOException e) {
+            throw new UncheckedIOException("회원 로그 기록에 실패했습니다.", e);
+        }
+    }
+
+    private static void appendSaves(List<Member> members) {
+        try {
+            persistence.appendSaves(members);
+        } catch (IOException e) {
+            throw new UncheckedIOException("회원 로그 기록에 실패했습니다.", e);
+        }
+    }
+
+    private static void recover() {
+        try {
+            long lastId = persistence.recover(member -> {
+                store.put(member.getId(), member);
+                if (indexEnabled) {
+                    index.add(member);
+                }
+            }, () -> {
+                store.clear();
+                index.clear();
+            });
+            sequence.set(lastId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("회원 저장소 복구에 실패했습니다.", e);
+        }
+
+        long snapshotIntervalSeconds = Long.getLong("member.persistence.snapshotIntervalSeconds", 600L);
+        if (snapshotIntervalSeconds > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "member-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    instance.snapshot();
+                } catch (RuntimeException e) {
+                    //예외가 나가면 이후 실행이 취소되므로 남기고 다음 주기에 다시 시도
+                    log.error("member snapshot failed", e);
+                }
+            }, snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                persistence.close();
+            } catch (IOException e) {
+                //종료 중이므로 무시, 마지막 fsync 이후 기록은 interval/never 정책에서 유실될 수 있다
+            }
+        }, "member-persistence-close"));
     }
 
 }
@@ -0,0 +1,103 @@
+package mvc.ver1.domain.member;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * 회원 전체 스냅샷
+ * 파일 형식: [MAGIC int][count long][lastSequence long][nextGeneration long] 다음에 MemberRecords 형식 반복
+ * nextGeneration 이상의 로그만 스냅샷 이후 변경분이다.
+ */
+class MemberSnapshot {
+
+    private static final int MAGIC = 0x4D534E50; //"MSNP"
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES * 3;
+
+    private final long lastSequence;
+    private final long nextGeneration;
+
+    private MemberSnapshot(long lastSequence, long nextGeneration) {
+        this.lastSequence = lastSequence;
+        this.nextGeneration = nextGeneration;
+    }
+
+    long getLastSequence() {
+        return lastSequence;
+    }
+
+    long getNextGeneration() {
+        return nextGeneration;
+    }
+
+    /**
+     * 임시 파일에 쓰고 fsync 한 뒤 rename 하고 디렉터리도 fsync 한다, 쓰다가 죽어도 이전 스냅샷은 그대로 남는다.
+     * @param members 스냅샷에 담을 회원을 순회하는 함수
+     */
+    static void write(Path file, long lastSequence, long nextGeneration, Consumer<Consumer<Member>> members) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long count;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            //count 는 다 쓴 뒤에 알 수 있으므로 헤더 자리를 비워 두고 나중에 채운다
+            channel.position(HEADER_SIZE);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            long[] written = new long[1];
+            try {
+                members.accept(member -> {
+                    try {
+                        MemberRecords.write(out, member);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    written[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+            count = written[0];
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC).putLong(count).putLong(lastSequence).putLong(nextGeneration).flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        //rename 이 디스크에 내려간 뒤에야 이전 세대 로그를 지울 수 있다
+        MemberLog.syncDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * 스냅샷 파일을 memory map 해서 읽는다.
+     */
+    static MemberSnapshot read(Path file, Consumer<Member> onMember) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("회원 스냅샷 헤더가 없습니다. file=" + file);
+            }
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, MemberLog.checkMappable(file, size));
+            if (data.getInt() != MAGIC) {
+                throw new IOException("회원 스냅샷 파일이 아닙니다. file=" + file);
+            }
+            long count = data.getLong();
+            long lastSequence = data.getLong();
+            long nextGeneration = data.getLong();
+            for (long i = 0; i < count; i++) {
+                onMember.accept(MemberRecords.read(data));
+            }
+            return new MemberSnapshot(lastSequence, nextGeneration);
+        }
+    }
+
+}
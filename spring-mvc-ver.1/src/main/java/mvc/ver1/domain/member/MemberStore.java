@@ -0,0 +1,37 @@
+package mvc.ver1.domain.member;
+
+import java.util.function.Consumer;
+
+/**
+ * MemberRepository 저장소 backend, id 는 1부터 순차 증가하고 한 번만 put 된다고 가정한다.
+ * -Dmember.store=heap(기본, MemberTable) | offheap(OffHeapMemberTable)
+ */
+interface MemberStore {
+
+    Member get(long id);
+
+    void put(long id, Member member);
+
+    void forEach(Consumer<Member> action);
+
+    /**
+     * afterId 보다 큰 id 를 id 순서로 최대 limit 건 순회
+     * @return 순회한 건수
+     */
+    int forEachAfter(long afterId, int limit, Consumer<Member> action);
+
+    void clear();
+
+    static MemberStore fromSystemProperties() {
+        String type = System.getProperty("member.store", "heap");
+        switch (type) {
+            case "heap":
+                return new MemberTable();
+            case "offheap":
+                return new OffHeapMemberTable();
+            default:
+                throw new IllegalArgumentException("지원하지 않는 member.store 입니다. member.store=" + type);
+        }
+    }
+
+}
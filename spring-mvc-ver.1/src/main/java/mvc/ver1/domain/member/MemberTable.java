@@ -0,0 +1,132 @@
+package mvc.ver1.domain.member;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * long id -> Member 저장소, id가 1부터 순차 증가한다는 점을 이용해 chunk 배열에 직접 인덱싱한다.
+ * 조회는 lock 없이 volatile 읽기만 사용하고, chunk 생성/디렉터리 확장만 synchronized 로 처리한다.
+ */
+class MemberTable implements MemberStore {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CHUNKS = 16;
+
+    private volatile AtomicReferenceArray<AtomicReferenceArray<Member>> chunks = new AtomicReferenceArray<>(INITIAL_CHUNKS);
+
+    @Override
+    public Member get(long id) {
+        if (id <= 0) {
+            return null;
+        }
+        AtomicReferenceArray<AtomicReferenceArray<Member>> directory = chunks;
+        long chunkIndex = id >>> CHUNK_BITS;
+        if (chunkIndex >= directory.length()) {
+            return null;
+        }
+        AtomicReferenceArray<Member> chunk = directory.get((int) chunkIndex);
+        return chunk == null ? null : chunk.get((int) (id & CHUNK_MASK));
+    }
+
+    @Override
+    public void put(long id, Member member) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("id는 1 이상이어야 합니다. id=" + id);
+        }
+        chunkFor(id).set((int) (id & CHUNK_MASK), member);
+    }
+
+    @Override
+    public void forEach(Consumer<Member> action) {
+        AtomicReferenceArray<AtomicReferenceArray<Member>> directory = chunks;
+        for (int i = 0; i < directory.length(); i++) {
+            AtomicReferenceArray<Member> chunk = directory.get(i);
+            if (chunk == null) {
+                continue;
+            }
+            for (int j = 0; j < CHUNK_SIZE; j++) {
+                Member member = chunk.get(j);
+                if (member != null) {
+                    action.accept(member);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int forEachAfter(long afterId, int limit, Consumer<Member> action) {
+        if (limit <= 0) {
+            return 0;
+        }
+        long fromId = Math.max(afterId, 0L) + 1;
+        AtomicReferenceArray<AtomicReferenceArray<Member>> directory = chunks;
+        long firstChunk = fromId >>> CHUNK_BITS;
+        int visited = 0;
+        for (long i = firstChunk; i < directory.length(); i++) {
+            AtomicReferenceArray<Member> chunk = directory.get((int) i);
+            if (chunk == null) {
+                continue;
+            }
+            int j = i == firstChunk ? (int) (fromId & CHUNK_MASK) : 0;
+            for (; j < CHUNK_SIZE; j++) {
+                Member member = chunk.get(j);
+                if (member != null) {
+                    action.accept(member);
+                    if (++visited == limit) {
+                        return visited;
+                    }
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * clear 와 동시에 진행 중인 put 은 이전 디렉터리에 기록되어 사라질 수 있다.
+     */
+    @Override
+    public synchronized void clear() {
+        chunks = new AtomicReferenceArray<>(INITIAL_CHUNKS);
+    }
+
+    private AtomicReferenceArray<Member> chunkFor(long id) {
+        long chunkIndex = id >>> CHUNK_BITS;
+        if (chunkIndex > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("저장 가능한 id 범위를 넘었습니다. id=" + id);
+        }
+        AtomicReferenceArray<AtomicReferenceArray<Member>> directory = chunks;
+        if (chunkIndex < directory.length()) {
+            AtomicReferenceArray<Member> chunk = directory.get((int) chunkIndex);
+            if (chunk != null) {
+                return chunk;
+            }
+        }
+        return createChunk((int) chunkIndex);
+    }
+
+    //chunk 생성과 디렉터리 확장은 1024건에 한 번이므로 lock 으로 단순하게 처리
+    private synchronized AtomicReferenceArray<Member> createChunk(int chunkIndex) {
+        AtomicReferenceArray<AtomicReferenceArray<Member>> directory = chunks;
+        if (chunkIndex >= directory.length()) {
+            int length = directory.length();
+            while (length <= chunkIndex) {
+                length = length << 1;
+            }
+            AtomicReferenceArray<AtomicReferenceArray<Member>> grown = new AtomicReferenceArray<>(length);
+            for (int i = 0; i < directory.length(); i++) {
+                grown.set(i, directory.get(i));
+            }
+            chunks = grown;
+            directory = grown;
+        }
+        AtomicReferenceArray<Member> chunk = directory.get(chunkIndex);
+        if (chunk == null) {
+            chunk = new AtomicReferenceArray<>(CHUNK_SIZE);
+            directory.set(chunkIndex, chunk);
+        }
+        return chunk;
+    }
+
+}
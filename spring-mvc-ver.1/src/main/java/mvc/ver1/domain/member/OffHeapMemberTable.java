@@ -0,0 +1,210 @@
+package mvc.ver1.domain.member;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 회원 데이터를 Member 객체 대신 off-heap(direct ByteBuffer) 컬럼에 저장하는 MemberStore
+ * MemberTable 과 같이 id 로 chunk 를 직접 찾고, chunk 마다 age, username 위치/길이, username UTF-8 바이트 컬럼을 둔다.
+ * id 는 chunk 안의 위치로 정해지므로 따로 저장하지 않는다.
+ *
+ * get, forEach 는 호출할 때마다 새 Member 를 만들어 돌려준다, 돌려받은 Member 를 수정해도 저장소에는 반영되지 않는다.
+ * 쓰기는 chunk 단위 synchronized, 읽기는 lock 없이 길이 컬럼의 release/acquire 로 완성된 행만 본다.
+ */
+class OffHeapMemberTable implements MemberStore {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CHUNKS = 16;
+    private static final int INITIAL_USERNAME_BYTES = CHUNK_SIZE * 16;
+
+    //길이 컬럼 값, 0 이면 빈 행, 1 이면 username null, 그 외에는 username 바이트 길이 + 2
+    private static final int ABSENT = 0;
+    private static final int NULL_USERNAME = 1;
+    private static final int LENGTH_BIAS = 2;
+
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private volatile AtomicReferenceArray<Chunk> chunks = new AtomicReferenceArray<>(INITIAL_CHUNKS);
+
+    @Override
+    public Member get(long id) {
+        if (id <= 0) {
+            return null;
+        }
+        AtomicReferenceArray<Chunk> directory = chunks;
+        long chunkIndex = id >>> CHUNK_BITS;
+        if (chunkIndex >= directory.length()) {
+            return null;
+        }
+        Chunk chunk = directory.get((int) chunkIndex);
+        return chunk == null ? null : chunk.read(id, (int) (id & CHUNK_MASK));
+    }
+
+    @Override
+    public void put(long id, Member member) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("id는 1 이상이어야 합니다. id=" + id);
+        }
+        byte[] usernameBytes = member.getUsername() == null ? null : member.getUsername().getBytes(StandardCharsets.UTF_8);
+        chunkFor(id).write((int) (id & CHUNK_MASK), member.getAge(), usernameBytes);
+    }
+
+    @Override
+    public void forEach(Consumer<Member> action) {
+        forEachAfter(0, Integer.MAX_VALUE, action);
+    }
+
+    @Override
+    public int forEachAfter(long afterId, int limit, Consumer<Member> action) {
+        if (limit <= 0) {
+            return 0;
+        }
+        long fromId = Math.max(afterId, 0L) + 1;
+        AtomicReferenceArray<Chunk> directory = chunks;
+        long firstChunk = fromId >>> CHUNK_BITS;
+        int visited = 0;
+        for (long i = firstChunk; i < directory.length(); i++) {
+            Chunk chunk = directory.get((int) i);
+            if (chunk == null) {
+                continue;
+            }
+            long base = i << CHUNK_BITS;
+            int j = i == firstChunk ? (int) (fromId & CHUNK_MASK) : 0;
+            for (; j < CHUNK_SIZE; j++) {
+                Member member = chunk.read(base + j, j);
+                if (member != null) {
+                    action.accept(member);
+                    if (++visited == limit) {
+                        return visited;
+                    }
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * 이전 chunk 의 direct 메모리는 ByteBuffer 가 GC 될 때 해제된다.
+     * clear 와 동시에 진행 중인 put 은 이전 디렉터리에 기록되어 사라질 수 있다.
+     */
+    @Override
+    public synchronized void clear() {
+        chunks = new AtomicReferenceArray<>(INITIAL_CHUNKS);
+    }
+
+    private Chunk chunkFor(long id) {
+        long chunkIndex = id >>> CHUNK_BITS;
+        if (chunkIndex > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("저장 가능한 id 범위를 넘었습니다. id=" + id);
+        }
+        AtomicReferenceArray<Chunk> directory = chunks;
+        if (chunkIndex < directory.length()) {
+            Chunk chunk = directory.get((int) chunkIndex);
+            if (chunk != null) {
+                return chunk;
+            }
+        }
+        return createChunk((int) chunkIndex);
+    }
+
+    private synchronized Chunk createChunk(int chunkIndex) {
+        AtomicReferenceArray<Chunk> directory = chunks;
+        if (chunkIndex >= directory.length()) {
+            int length = directory.length();
+            while (length <= chunkIndex) {
+                length = length << 1;
+            }
+            AtomicReferenceArray<Chunk> grown = new AtomicReferenceArray<>(length);
+            for (int i = 0; i < directory.length(); i++) {
+                grown.set(i, directory.get(i));
+            }
+            chunks = grown;
+            directory = grown;
+        }
+        Chunk chunk = directory.get(chunkIndex);
+        if (chunk == null) {
+            chunk = new Chunk();
+            directory.set(chunkIndex, chunk);
+        }
+        return chunk;
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    private static final class Chunk {
+
+        private final ByteBuffer ages = allocate(CHUNK_SIZE * Integer.BYTES);
+        private final ByteBuffer offsets = allocate(CHUNK_SIZE * Integer.BYTES);
+        private final ByteBuffer lengths = allocate(CHUNK_SIZE * Integer.BYTES);
+
+        //모자라면 두 배로 새로 만들어 복사, 이전 버퍼를 읽고 있던 스레드도 이미 기록된 행은 그대로 읽을 수 있다
+        private volatile ByteBuffer usernames = allocate(INITIAL_USERNAME_BYTES);
+        private int usernamesSize; //synchronized(this)
+
+        synchronized void write(int row, int age, byte[] usernameBytes) {
+            int offset = 0;
+            int length = NULL_USERNAME;
+            if (usernameBytes != null) {
+                offset = appendUsername(usernameBytes);
+                length = usernameBytes.length + LENGTH_BIAS;
+            }
+            ages.putInt(row * Integer.BYTES, age);
+            offsets.putInt(row * Integer.BYTES, offset);
+            //길이를 마지막에 release 로 기록해서 읽는 쪽이 반쯤 쓴 행을 보지 않도록 한다
+            INTS.setRelease(lengths, row * Integer.BYTES, length);
+        }
+
+        Member read(long id, int row) {
+            int length = (int) INTS.getAcquire(lengths, row * Integer.BYTES);
+            if (length == ABSENT) {
+                return null;
+            }
+            String username = null;
+            if (length != NULL_USERNAME) {
+                int offset = offsets.getInt(row * Integer.BYTES);
+                ByteBuffer buffer = usernames;
+                byte[] bytes = new byte[length - LENGTH_BIAS];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = buffer.get(offset + i);
+                }
+                username = new String(bytes, StandardCharsets.UTF_8);
+            }
+            Member member = new Member(username, ages.getInt(row * Integer.BYTES));
+            member.setId(id);
+            return member;
+        }
+
+        private int appendUsername(byte[] bytes) {
+            ByteBuffer buffer = usernames;
+            if (buffer.capacity() - usernamesSize < bytes.length) {
+                int capacity = buffer.capacity();
+                while (capacity - usernamesSize < bytes.length) {
+                    capacity = capacity << 1;
+                }
+                ByteBuffer grown = allocate(capacity);
+                ByteBuffer used = buffer.duplicate();
+                used.position(0).limit(usernamesSize);
+                grown.put(used);
+                usernames = grown;
+                buffer = grown;
+            }
+            int offset = usernamesSize;
+            ByteBuffer target = buffer.duplicate();
+            target.position(offset);
+            target.put(bytes);
+            usernamesSize += bytes.length;
+            return offset;
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+package mvc.ver1.web;
+
+import mvc.ver1.domain.member.MemberPage;
+
+/**
+ * 목록 페이지의 cursor, size 요청 파라미터 해석
+ */
+public class PagingParams {
+
+    public static final String CURSOR = "cursor";
+    public static final String SIZE = "size";
+
+    private PagingParams() {
+    }
+
+    /**
+     * 없거나 숫자가 아니면 처음부터
+     */
+    public static long cursor(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * 없거나 숫자가 아니면 기본 크기, 1 ~ MAX_SIZE 로 맞춘다.
+     */
+    public static int size(String value) {
+        return clampSize(intValue(value, MemberPage.DEFAULT_SIZE));
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MemberPage.MAX_SIZE));
+    }
+
+    /**
+     * 없거나 숫자가 아니면 defaultValue
+     */
+    public static int intValue(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package mvc.ver1.web.filter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Deflater 재사용 풀
+ * Deflater 는 만들 때마다 zlib native 메모리(수백 KB)를 잡고 GC 뒤에야 풀리므로 응답마다 만들지 않고 reset 해서 다시 쓴다.
+ * 풀이 비어 있으면 새로 만들고, 가득 차 있으면 반납된 Deflater 는 바로 end 한다.
+ */
+public class DeflaterPool {
+
+    private final BlockingQueue<Deflater> idle;
+    private final int level;
+
+    public DeflaterPool(int capacity, int level) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다. capacity=" + capacity);
+        }
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.level = level;
+    }
+
+    /**
+     * gzip 헤더, 트레일러는 호출하는 쪽에서 쓰므로 nowrap(raw deflate)
+     */
+    public Deflater borrow() {
+        Deflater deflater = idle.poll();
+        return deflater != null ? deflater : new Deflater(level, true);
+    }
+
+    public void release(Deflater deflater) {
+        deflater.reset();
+        if (!idle.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+}
@@ -0,0 +1,296 @@
+package mvc.ver1.web.filter;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 본문을 minGzipSize 까지 모아 두었다가 넘으면 gzip 으로, 끝날 때까지 넘지 않으면 그대로 Content-Length 와 함께 쓴다.
+ * 어느 쪽으로 쓸지 정할 때 ETag 를 붙인다, 같은 version 이라도 gzip 본문은 바이트가 다르므로 "-gzip" 을 붙여 구분한다.
+ * deflaterPool 이 null 이면(클라이언트가 gzip 을 받지 않음) 압축하지 않는다.
+ */
+class GzipResponseWrapper extends HttpServletResponseWrapper {
+
+    static final String GZIP_SUFFIX = "-gzip";
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+    private static final int DEFLATE_BUFFER_SIZE = 8192;
+
+    private final HttpServletResponse response;
+    private final String etag;
+    private final DeflaterPool deflaterPool;
+    private final int minGzipSize;
+
+    private final BodyOutputStream body = new BodyOutputStream();
+    private PrintWriter writer;
+    private boolean outputStreamUsed;
+
+    //본문을 정하기 전까지 응답에 넘기지 않는다
+    private long contentLength = -1;
+
+    GzipResponseWrapper(HttpServletResponse response, String etag, DeflaterPool deflaterPool, int minGzipSize) {
+        super(response);
+        this.response = response;
+        this.etag = etag;
+        this.deflaterPool = deflaterPool;
+        this.minGzipSize = minGzipSize;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() 가 이미 호출되었습니다.");
+        }
+        outputStreamUsed = true;
+        return body;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            if (outputStreamUsed) {
+                throw new IllegalStateException("getOutputStream() 이 이미 호출되었습니다.");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(body, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        contentLength = len;
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        contentLength = len;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            contentLength = Long.parseLong(value);
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            contentLength = Long.parseLong(value);
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        body.flush();
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return body.mode != Mode.BUFFERING && super.isCommitted();
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (body.mode == Mode.BUFFERING) {
+            body.count = 0;
+        } else {
+            super.resetBuffer();
+        }
+    }
+
+    @Override
+    public void reset() {
+        if (body.mode == Mode.BUFFERING) {
+            body.count = 0;
+            contentLength = -1;
+        }
+        super.reset();
+    }
+
+    /**
+     * 남은 본문을 쓰고 gzip 이면 트레일러를 쓴 뒤 Deflater 를 반납한다, 여러 번 호출해도 된다.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        body.close();
+    }
+
+    /**
+     * 예외로 끝난 요청, 모아 둔 본문은 버리고 Deflater 만 반납한다.
+     */
+    void abort() {
+        body.count = 0;
+        body.releaseDeflater();
+    }
+
+    private boolean compressible() {
+        if (deflaterPool == null || response.getStatus() != HttpServletResponse.SC_OK || response.containsHeader("Content-Encoding")) {
+            return false;
+        }
+        String contentType = getContentType();
+        return contentType != null && (contentType.startsWith("text/") || contentType.contains("json")
+                || contentType.contains("xml") || contentType.contains("javascript"));
+    }
+
+    private void setETag(String suffix) {
+        if (etag != null && response.getStatus() == HttpServletResponse.SC_OK) {
+            response.setHeader("ETag", "\"" + etag + suffix + "\"");
+        }
+    }
+
+    private enum Mode {
+        BUFFERING, IDENTITY, GZIP, FINISHED
+    }
+
+    private class BodyOutputStream extends ServletOutputStream {
+
+        private Mode mode = Mode.BUFFERING;
+        private byte[] buffer = new byte[Math.min(minGzipSize, 1024)];
+        private int count;
+
+        private OutputStream target;
+        private Deflater deflater;
+        private DeflaterOutputStream deflaterOut;
+        private final CRC32 crc = new CRC32();
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            switch (mode) {
+                case BUFFERING:
+                    if (count + length <= minGzipSize) {
+                        append(bytes, offset, length);
+                        return;
+                    }
+                    start(compressible());
+                    write(bytes, offset, length);
+                    return;
+                case IDENTITY:
+                    target.write(bytes, offset, length);
+                    return;
+                case GZIP:
+                    crc.update(bytes, offset, length);
+                    deflaterOut.write(bytes, offset, length);
+                    return;
+                default:
+                    throw new IOException("이미 완료된 응답입니다.");
+            }
+        }
+
+        /**
+         * 모으는 중에는 flush 해도 응답에 쓰지 않는다(JSP 가 중간에 flush 해도 압축 여부를 정할 수 있도록)
+         */
+        @Override
+        public void flush() throws IOException {
+            if (mode == Mode.IDENTITY || mode == Mode.GZIP) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (mode == Mode.FINISHED) {
+                return;
+            }
+            try {
+                if (mode == Mode.BUFFERING) {
+                    //minGzipSize 이하는 압축하지 않는다
+                    contentLength = count;
+                    start(false);
+                }
+                if (mode == Mode.GZIP) {
+                    deflaterOut.finish();
+                    writeIntLE(target, (int) crc.getValue());
+                    writeIntLE(target, (int) deflater.getBytesRead());
+                }
+            } finally {
+                mode = Mode.FINISHED;
+                releaseDeflater();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("비동기 쓰기는 지원하지 않습니다.");
+        }
+
+        private void start(boolean gzip) throws IOException {
+            if (gzip) {
+                response.setHeader("Content-Encoding", "gzip");
+                setETag(GZIP_SUFFIX);
+                target = response.getOutputStream();
+                target.write(GZIP_HEADER);
+                deflater = deflaterPool.borrow();
+                deflaterOut = new DeflaterOutputStream(target, deflater, DEFLATE_BUFFER_SIZE);
+                mode = Mode.GZIP;
+            } else {
+                if (contentLength >= 0) {
+                    response.setContentLengthLong(contentLength);
+                }
+                setETag("");
+                target = response.getOutputStream();
+                mode = Mode.IDENTITY;
+            }
+            if (count > 0) {
+                byte[] buffered = buffer;
+                int length = count;
+                count = 0;
+                write(buffered, 0, length);
+            }
+        }
+
+        private void append(byte[] bytes, int offset, int length) {
+            if (count + length > buffer.length) {
+                byte[] grown = new byte[Math.min(Math.max(buffer.length << 1, count + length), minGzipSize)];
+                System.arraycopy(buffer, 0, grown, 0, count);
+                buffer = grown;
+            }
+            System.arraycopy(bytes, offset, buffer, count, length);
+            count += length;
+        }
+
+        private void releaseDeflater() {
+            if (deflater != null) {
+                deflaterPool.release(deflater);
+                deflater = null;
+            }
+        }
+
+    }
+
+    private static void writeIntLE(OutputStream out, int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+        out.write((value >>> 16) & 0xff);
+        out.write((value >>> 24) & 0xff);
+    }
+
+}
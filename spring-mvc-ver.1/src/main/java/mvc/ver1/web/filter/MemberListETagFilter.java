@@ -0,0 +1,23 @@
+package mvc.ver1.web.filter;
+
+import mvc.ver1.domain.member.MemberRepository;
+
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.annotation.WebInitParam;
+
+/**
+ * 회원 목록 페이지, MemberRepository.version() 으로 ETag 를 만든다.
+ */
+@WebFilter(filterName = "memberListETagFilter", urlPatterns = "/servlet-mvc/members",
+        initParams = {
+                @WebInitParam(name = "minGzipSize", value = "1024"),
+                @WebInitParam(name = "gzipLevel", value = "6"),
+                @WebInitParam(name = "deflaterPoolSize", value = "16")
+        })
+public class MemberListETagFilter extends VersionETagFilter {
+
+    public MemberListETagFilter() {
+        super(() -> MemberRepository.getInstance().version());
+    }
+
+}
@@ -0,0 +1,119 @@
+package mvc.ver1.web.filter;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.function.LongSupplier;
+import java.util.zip.Deflater;
+
+/**
+ * 저장소 version 으로 strong ETag 를 만들고 If-None-Match 가 맞으면 servlet 을 호출하지 않고 304 로 응답한다.
+ * 본문을 만들어 hash 하는 방식(ShallowEtagHeaderFilter)과 달리 304 일 때는 렌더링 자체를 하지 않는다.
+ * ETag 는 JVM 시작 시각 + version 이라 재시작 뒤에는 다시 받는다, 같은 URL 안에서만 비교하므로 query 는 넣지 않는다.
+ * 304 가 아니면 minGzipSize 보다 큰 본문을 Deflater 풀로 gzip 압축한다(GzipResponseWrapper).
+ *
+ * version 은 렌더링 전에 읽는다, 렌더링 중에 저장이 일어나면 새 데이터에 이전 ETag 가 붙을 수 있지만 다음 요청에서 다시 받으므로 오래된 본문이 남지는 않는다.
+ *
+ * init-param
+ * minGzipSize     : 이 크기(byte)를 넘는 본문만 압축, 기본 1024
+ * gzipLevel       : Deflater 압축 레벨, 기본 6
+ * deflaterPoolSize: 보관할 Deflater 수, 기본 16
+ */
+public class VersionETagFilter implements Filter {
+
+    //재시작 뒤 version 이 같은 값으로 다시 시작해도 ETag 가 겹치지 않도록
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private final LongSupplier version;
+
+    private int minGzipSize = 1024;
+    private DeflaterPool deflaterPool = new DeflaterPool(16, Deflater.DEFAULT_COMPRESSION);
+
+    public VersionETagFilter(LongSupplier version) {
+        this.version = version;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        minGzipSize = Integer.parseInt(getInitParameter(filterConfig, "minGzipSize", "1024"));
+        deflaterPool = new DeflaterPool(Integer.parseInt(getInitParameter(filterConfig, "deflaterPoolSize", "16")),
+                Integer.parseInt(getInitParameter(filterConfig, "gzipLevel", "6")));
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        if (!request.getMethod().equals("GET") && !request.getMethod().equals("HEAD")) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String etag = EPOCH + "-" + version.getAsLong();
+        boolean gzip = acceptsGzip(request.getHeader("Accept-Encoding"));
+        response.addHeader("Vary", "Accept-Encoding");
+
+        String matched = match(request.getHeader("If-None-Match"), etag, gzip);
+        if (matched != null) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader("ETag", matched);
+            return;
+        }
+
+        GzipResponseWrapper wrapper = new GzipResponseWrapper(response, etag, gzip ? deflaterPool : null, minGzipSize);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            wrapper.abort();
+            throw e;
+        }
+        wrapper.finish();
+    }
+
+    /**
+     * If-None-Match 는 weak 비교(W/ 무시), identity, gzip 어느 쪽 ETag 든 version 이 같으면 304
+     * 304 에는 이번 요청이 받았을 본문의 ETag 를 돌려준다.
+     */
+    static String match(String ifNoneMatch, String etag, boolean gzip) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        String current = "\"" + etag + (gzip ? GzipResponseWrapper.GZIP_SUFFIX : "") + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals("\"" + etag + "\"") || tag.equals("\"" + etag + GzipResponseWrapper.GZIP_SUFFIX + "\"")) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            int semicolon = coding.indexOf(';');
+            String name = (semicolon < 0 ? coding : coding.substring(0, semicolon)).trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                return semicolon < 0 || !coding.substring(semicolon + 1).replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static String getInitParameter(FilterConfig filterConfig, String name, String defaultValue) {
+        String value = filterConfig.getInitParameter(name);
+        return value != null ? value : defaultValue;
+    }
+
+}
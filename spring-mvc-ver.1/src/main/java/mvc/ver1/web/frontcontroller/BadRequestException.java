@@ -0,0 +1,29 @@
+package mvc.ver1.web.frontcontroller;
+
+/**
+ * 요청 값이 잘못된 경우, 프론트 컨트롤러가 400 으로 응답한다.
+ * controller 안에서 난 다른 예외(NumberFormatException 포함)는 서버 오류로 남긴다.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(name + " 는 숫자여야 합니다.");
+        }
+    }
+
+    public static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(name + " 는 숫자여야 합니다.");
+        }
+    }
+
+}
@@ -0,0 +1,313 @@
+package mvc.ver1.web.frontcontroller;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * 요청 하나 동안 쓰는 ModelView, model map 을 스레드별로 재사용 (recycleModel init-param 을 켠 프론트 컨트롤러만)
+ * 프론트 컨트롤러가 begin 한 스레드에서 ModelView.create, ModelRecycler.model 로 받은 객체는 render 가 끝난 뒤 end 에서 비워서 풀로 돌려놓는다.
+ * begin 하지 않은 스레드(recycleModel 이 꺼져 있거나 비동기 executor 스레드)에서는 매번 새로 만든다.
+ *
+ * controller 가 반환 뒤에도 model, ModelView 를 들고 있으면 같은 스레드의 다음 요청과 섞인다, 반환된 객체를 쓰면 IllegalStateException
+ * leakDetection(-Dfront-controller.recycle.leak-detection=true, 테스트용)이면 반환한 객체를 재사용하지 않고, assertNoLeaks 가 GC 뒤에도 참조가 남은 객체를 찾는다.
+ */
+public final class ModelRecycler {
+
+    //스레드당 보관 수, 보통 요청당 ModelView 1개, model 1개
+    private static final int POOL_LIMIT = 16;
+
+    private static final ThreadLocal<ModelRecycler> recyclers = ThreadLocal.withInitial(ModelRecycler::new);
+
+    private static volatile boolean leakDetection = Boolean.parseBoolean(System.getProperty("front-controller.recycle.leak-detection", "false"));
+    private static final Queue<Released> released = new ConcurrentLinkedQueue<>(); //leakDetection 일 때만
+
+    private final ArrayDeque<RecycledModelView> freeViews = new ArrayDeque<>();
+    private final ArrayDeque<RecycledModel> freeModels = new ArrayDeque<>();
+    private final List<RecycledModelView> usedViews = new ArrayList<>();
+    private final List<RecycledModel> usedModels = new ArrayList<>();
+
+    //forward, include 로 같은 스레드에서 다시 들어오면 바깥 요청이 끝날 때 한 번에 반환
+    private int depth;
+
+    private ModelRecycler() {
+    }
+
+    public static ModelRecycler begin() {
+        ModelRecycler recycler = recyclers.get();
+        recycler.depth++;
+        return recycler;
+    }
+
+    /**
+     * begin 한 스레드에서 render 까지 끝난 뒤 호출
+     */
+    public void end() {
+        if (--depth > 0) {
+            return;
+        }
+        for (RecycledModelView view : usedViews) {
+            view.released = true;
+            if (leakDetection) {
+                released.add(new Released(view, view.acquiredAt));
+            } else if (freeViews.size() < POOL_LIMIT) {
+                freeViews.push(view);
+            }
+        }
+        for (RecycledModel model : usedModels) {
+            model.release();
+            if (leakDetection) {
+                released.add(new Released(model, model.acquiredAt));
+            } else if (freeModels.size() < POOL_LIMIT) {
+                freeModels.push(model);
+            }
+        }
+        usedViews.clear();
+        usedModels.clear();
+    }
+
+    static ModelView modelView(String viewName) {
+        ModelRecycler recycler = recyclers.get();
+        if (recycler.depth == 0) {
+            return new ModelView(viewName);
+        }
+        RecycledModelView view = recycler.freeViews.poll();
+        if (view == null) {
+            view = new RecycledModelView(new RecycledModel());
+        }
+        view.reuse(viewName);
+        recycler.usedViews.add(view);
+        recycler.usedModels.add(view.ownModel);
+        return view;
+    }
+
+    public static Map<String, Object> model() {
+        ModelRecycler recycler = recyclers.get();
+        if (recycler.depth == 0) {
+            return new HashMap<>();
+        }
+        RecycledModel model = recycler.freeModels.poll();
+        if (model == null) {
+            model = new RecycledModel();
+        }
+        model.reuse();
+        recycler.usedModels.add(model);
+        return model;
+    }
+
+    public static void setLeakDetection(boolean enabled) {
+        leakDetection = enabled;
+        released.clear();
+    }
+
+    /**
+     * leakDetection 에서 반환한 객체 중 GC 뒤에도 누군가 참조하고 있는 것이 있으면 IllegalStateException, 확인한 기록은 비운다.
+     */
+    public static void assertNoLeaks() {
+        List<Released> leaks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            leaks.clear();
+            System.gc();
+            for (Released candidate : released) {
+                if (candidate.reference.get() != null) {
+                    leaks.add(candidate);
+                }
+            }
+            if (leaks.isEmpty()) {
+                break;
+            }
+        }
+        released.clear();
+        if (!leaks.isEmpty()) {
+            IllegalStateException e = new IllegalStateException("반환한 뒤에도 참조가 남아 있는 model/ModelView 가 " + leaks.size() + "개 있습니다.");
+            leaks.forEach(leak -> e.addSuppressed(leak.acquiredAt));
+            throw e;
+        }
+    }
+
+    private static Throwable acquiredAt() {
+        return leakDetection ? new Throwable("여기서 받은 model/ModelView") : null;
+    }
+
+    private static final class Released {
+        private final WeakReference<Object> reference;
+        private final Throwable acquiredAt;
+
+        Released(Object released, Throwable acquiredAt) {
+            this.reference = new WeakReference<>(released);
+            this.acquiredAt = acquiredAt != null ? acquiredAt : new Throwable("받은 위치 없음");
+        }
+    }
+
+    private static final class RecycledModelView extends ModelView {
+
+        private final RecycledModel ownModel;
+        private boolean released;
+        private Throwable acquiredAt;
+
+        RecycledModelView(RecycledModel ownModel) {
+            super(null, ownModel);
+            this.ownModel = ownModel;
+        }
+
+        void reuse(String viewName) {
+            released = false;
+            acquiredAt = acquiredAt();
+            ownModel.reuse();
+            super.setViewName(viewName);
+            super.setModel(ownModel);
+            super.setView(null);
+        }
+
+        private void check() {
+            if (released) {
+                throw new IllegalStateException("이미 반환된 ModelView 입니다, 요청이 끝난 뒤에는 사용할 수 없습니다.");
+            }
+        }
+
+        @Override
+        public String getViewName() {
+            check();
+            return super.getViewName();
+        }
+
+        @Override
+        public void setViewName(String viewName) {
+            check();
+            super.setViewName(viewName);
+        }
+
+        @Override
+        public MyView getView() {
+            check();
+            return super.getView();
+        }
+
+        @Override
+        public void setView(MyView view) {
+            check();
+            super.setView(view);
+        }
+
+        @Override
+        public Map<String, Object> getModel() {
+            check();
+            return super.getModel();
+        }
+
+        @Override
+        public void setModel(Map<String, Object> model) {
+            check();
+            super.setModel(model);
+        }
+
+    }
+
+    /**
+     * 반환되면 비우고 이후 접근은 IllegalStateException, 비운 HashMap 의 table 은 그대로 다시 쓴다.
+     */
+    private static final class RecycledModel extends AbstractMap<String, Object> {
+
+        private final HashMap<String, Object> map = new HashMap<>();
+        private boolean released;
+        private Throwable acquiredAt;
+
+        void reuse() {
+            released = false;
+            acquiredAt = acquiredAt();
+        }
+
+        void release() {
+            map.clear();
+            released = true;
+        }
+
+        private HashMap<String, Object> map() {
+            if (released) {
+                throw new IllegalStateException("이미 반환된 model 입니다, 요청이 끝난 뒤에는 사용할 수 없습니다.");
+            }
+            return map;
+        }
+
+        @Override
+        public int size() {
+            return map().size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map().isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return map().containsKey(key);
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            return map().containsValue(value);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return map().get(key);
+        }
+
+        @Override
+        public Object getOrDefault(Object key, Object defaultValue) {
+            return map().getOrDefault(key, defaultValue);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return map().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return map().remove(key);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ?> m) {
+            map().putAll(m);
+        }
+
+        @Override
+        public void clear() {
+            map().clear();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return map().keySet();
+        }
+
+        @Override
+        public Collection<Object> values() {
+            return map().values();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return map().entrySet();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super String, ? super Object> action) {
+            map().forEach(action);
+        }
+
+    }
+
+}
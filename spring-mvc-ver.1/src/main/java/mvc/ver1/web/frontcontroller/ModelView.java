@@ -6,10 +6,26 @@ import java.util.Map;
 public class ModelView {
 
     private String viewName;
-    private Map<String, Object> model = new HashMap<>();
+    private Map<String, Object> model;
+
+    //있으면 viewName 을 resolve 하지 않고 이 view 로 렌더링
+    private MyView view;
 
     public ModelView(String viewName) {
         this.viewName = viewName;
+        this.model = new HashMap<>();
+    }
+
+    ModelView(String viewName, Map<String, Object> model) {
+        this.viewName = viewName;
+        this.model = model;
+    }
+
+    /**
+     * 프론트 컨트롤러가 recycleModel 로 요청을 처리 중이면 스레드별 풀에서 꺼낸다(ModelRecycler 참고), 아니면 new ModelView 와 같다.
+     */
+    public static ModelView create(String viewName) {
+        return ModelRecycler.modelView(viewName);
     }
 
     public String getViewName() {
@@ -20,6 +36,14 @@ public class ModelView {
         this.viewName = viewName;
     }
 
+    public MyView getView() {
+        return view;
+    }
+
+    public void setView(MyView view) {
+        this.view = view;
+    }
+
     public Map<String, Object> getModel() {
         return model;
     }
@@ -1,5 +1,6 @@
 package mvc.ver1.web.frontcontroller;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.RequestDispatcher;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -8,22 +9,49 @@ import java.io.IOException;
 import java.util.Map;
 
 public class MyView {
-    private String viewPath;
+    private final String viewPath;
+
+    //viewPath 는 절대 경로라 ServletContext 에서 한 번 얻은 dispatcher 를 재사용할 수 있다.
+    private volatile RequestDispatcher dispatcher;
 
     public MyView(String viewPath) {
         this.viewPath = viewPath;
     }
 
+    public String getViewPath() {
+        return viewPath;
+    }
+
     public void render(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        RequestDispatcher dispatcher = request.getRequestDispatcher(viewPath);
-        dispatcher.forward(request, response);
+        getDispatcher(request).forward(request, response);
     }
 
     public void render(Map<String, Object> model, HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 
         modelToRequestAttribute(model, request);
-        RequestDispatcher dispatcher = request.getRequestDispatcher(viewPath);
-        dispatcher.forward(request, response);
+        getDispatcher(request).forward(request, response);
+    }
+
+    /**
+     * 비동기 요청은 forward 대신 AsyncContext.dispatch 로 컨테이너 스레드에서 렌더링한다.
+     */
+    public void render(Map<String, Object> model, AsyncContext asyncContext) {
+
+        modelToRequestAttribute(model, (HttpServletRequest) asyncContext.getRequest());
+        asyncContext.dispatch(viewPath);
+    }
+
+    private RequestDispatcher getDispatcher(HttpServletRequest request) {
+        RequestDispatcher cached = dispatcher;
+        if (cached != null) {
+            return cached;
+        }
+        RequestDispatcher created = request.getServletContext().getRequestDispatcher(viewPath);
+        if (created == null) {
+            return request.getRequestDispatcher(viewPath);
+        }
+        dispatcher = created;
+        return created;
     }
 
     private void modelToRequestAttribute(Map<String, Object> model, HttpServletRequest request) {
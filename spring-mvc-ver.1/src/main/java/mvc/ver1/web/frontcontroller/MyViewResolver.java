@@ -0,0 +1,95 @@
+package mvc.ver1.web.frontcontroller;
+
+import mvc.ver1.web.frontcontroller.template.HtmlTemplate;
+import mvc.ver1.web.frontcontroller.template.TemplateView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 논리 view 이름 -> MyView 캐시
+ * 한 번 만든 MyView 를 재사용하므로 정상 상태에서는 view 경로 문자열, MyView 를 새로 만들지 않는다.
+ * devMode 에서는 캐시하지 않고 매번 새로 만든다.
+ * templateEnabled 이면 classpath 의 templates/{view 이름}.html 이 있는 view 는 TemplateView, 없으면 JSP 로 forward 하는 MyView
+ */
+public class MyViewResolver {
+
+    private static final String PREFIX = "/WEB-INF/views/";
+    private static final String SUFFIX = ".jsp";
+    private static final String TEMPLATE_PREFIX = "templates/";
+    private static final String TEMPLATE_SUFFIX = ".html";
+
+    private final ConcurrentMap<String, MyView> viewCache = new ConcurrentHashMap<>();
+    private final int cacheLimit;
+    private final boolean devMode;
+    private final boolean templateEnabled;
+
+    public MyViewResolver(int cacheLimit, boolean devMode) {
+        this(cacheLimit, devMode, false);
+    }
+
+    public MyViewResolver(int cacheLimit, boolean devMode, boolean templateEnabled) {
+        if (cacheLimit < 0) {
+            throw new IllegalArgumentException("cacheLimit은 0 이상이어야 합니다. cacheLimit=" + cacheLimit);
+        }
+        this.cacheLimit = cacheLimit;
+        this.devMode = devMode;
+        this.templateEnabled = templateEnabled;
+    }
+
+    public MyView resolve(String viewName) {
+        if (devMode) {
+            return createView(viewName);
+        }
+
+        MyView view = viewCache.get(viewName);
+        if (view != null) {
+            return view;
+        }
+
+        view = createView(viewName);
+        //상한을 넘으면 캐시하지 않는다, view 이름은 코드에 고정된 값이라 보통 상한에 닿지 않음
+        if (viewCache.size() < cacheLimit) {
+            MyView cached = viewCache.putIfAbsent(viewName, view);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return view;
+    }
+
+    public void invalidate() {
+        viewCache.clear();
+    }
+
+    public int cacheSize() {
+        return viewCache.size();
+    }
+
+    private MyView createView(String viewName) {
+        if (templateEnabled) {
+            String templatePath = TEMPLATE_PREFIX + viewName + TEMPLATE_SUFFIX;
+            HtmlTemplate template = loadTemplate(templatePath);
+            if (template != null) {
+                return new TemplateView(templatePath, template);
+            }
+        }
+        return new MyView(PREFIX + viewName + SUFFIX);
+    }
+
+    private HtmlTemplate loadTemplate(String templatePath) {
+        try (InputStream in = MyViewResolver.class.getClassLoader().getResourceAsStream(templatePath)) {
+            if (in == null) {
+                return null;
+            }
+            return HtmlTemplate.compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("템플릿을 읽을 수 없습니다. templatePath=" + templatePath, e);
+        }
+    }
+
+}
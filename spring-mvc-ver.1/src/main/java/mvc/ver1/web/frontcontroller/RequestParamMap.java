@@ -0,0 +1,59 @@
+package mvc.ver1.web.frontcontroller;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HttpServletRequest 파라미터를 Map<String, String> 으로 보여주는 읽기 전용 뷰
+ * get 은 request.getParameter 로 바로 위임하고, 전체 순회가 필요할 때만 entrySet 을 만든다.
+ * pathVariables 가 있으면 같은 이름의 요청 파라미터보다 우선한다.
+ */
+public class RequestParamMap extends AbstractMap<String, String> {
+
+    private final HttpServletRequest request;
+    private final Map<String, String> pathVariables;
+
+    private Set<Entry<String, String>> entrySet;
+
+    public RequestParamMap(HttpServletRequest request) {
+        this(request, null);
+    }
+
+    public RequestParamMap(HttpServletRequest request, Map<String, String> pathVariables) {
+        this.request = request;
+        this.pathVariables = pathVariables == null ? Collections.emptyMap() : pathVariables;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String value = pathVariables.get(key);
+        if (value != null) {
+            return value;
+        }
+        return request.getParameter((String) key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (entrySet == null) {
+            Map<String, String> params = new LinkedHashMap<>();
+            request.getParameterMap().forEach((name, values) -> params.put(name, values.length == 0 ? "" : values[0]));
+            params.putAll(pathVariables);
+            entrySet = Collections.unmodifiableMap(params).entrySet();
+        }
+        return entrySet;
+    }
+
+}
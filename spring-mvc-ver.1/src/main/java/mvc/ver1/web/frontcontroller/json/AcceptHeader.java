@@ -0,0 +1,46 @@
+package mvc.ver1.web.frontcontroller.json;
+
+/**
+ * Accept 헤더로 JSON 응답을 원하는지 판단
+ * application/json, application/*+json 의 q 가 0 보다 크고 HTML(text/html, text/*, 전체 와일드카드)의 q 이상이면 JSON
+ * 브라우저는 text/html 을 명시하고 전체 와일드카드는 낮은 q 로 보내므로 HTML 로 남는다.
+ */
+public class AcceptHeader {
+
+    private AcceptHeader() {
+    }
+
+    public static boolean prefersJson(String accept) {
+        if (accept == null || accept.isEmpty()) {
+            return false;
+        }
+        float json = 0f;
+        float html = 0f;
+        for (String range : accept.split(",")) {
+            int semicolon = range.indexOf(';');
+            String type = (semicolon < 0 ? range : range.substring(0, semicolon)).trim().toLowerCase();
+            float quality = semicolon < 0 ? 1f : quality(range.substring(semicolon + 1));
+            if (type.equals("application/json") || type.startsWith("application/") && type.endsWith("+json")) {
+                json = Math.max(json, quality);
+            } else if (type.equals("text/html") || type.equals("text/*") || type.equals("*/*")) {
+                html = Math.max(html, quality);
+            }
+        }
+        return json > 0f && json >= html;
+    }
+
+    private static float quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0 && parameter.substring(0, equals).trim().equalsIgnoreCase("q")) {
+                try {
+                    return Float.parseFloat(parameter.substring(equals + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0f;
+                }
+            }
+        }
+        return 1f;
+    }
+
+}
@@ -0,0 +1,71 @@
+package mvc.ver1.web.frontcontroller.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import mvc.ver1.web.frontcontroller.MyView;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * model 을 JSON 객체 하나로 응답에 바로 쓰는 view
+ * JsonGenerator 가 response 출력 스트림에 직접 쓰므로 중간 String, byte[] 를 만들지 않는다.
+ * JSP 와 같이 model 의 key 가 그대로 JSON 필드 이름이 된다.
+ */
+public class JsonView extends MyView {
+
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            //출력 스트림은 컨테이너가 닫는다
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final ObjectWriter WRITER = MAPPER.writer();
+
+    private static final JsonView INSTANCE = new JsonView();
+
+    private JsonView() {
+        super("json");
+    }
+
+    public static JsonView getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void render(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        render(Collections.emptyMap(), request, response);
+    }
+
+    @Override
+    public void render(Map<String, Object> model, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        write(model, response);
+    }
+
+    /**
+     * 컨테이너로 dispatch 하지 않고 handler 가 끝난 스레드에서 바로 쓰고 완료한다.
+     */
+    @Override
+    public void render(Map<String, Object> model, AsyncContext asyncContext) {
+        try {
+            write(model, (HttpServletResponse) asyncContext.getResponse());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            asyncContext.complete();
+        }
+    }
+
+    private void write(Map<String, Object> model, HttpServletResponse response) throws IOException {
+        response.setContentType(CONTENT_TYPE);
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(response.getOutputStream())) {
+            WRITER.writeValue(generator, model);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package mvc.ver1.web.frontcontroller.stats;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 프론트 컨트롤러 하나(V1~V5)의 route 별 통계와 404, adapter miss 건수, 시작 비용
+ * route 는 서블릿 생성 시점에 등록해 두고, 요청 처리 중에는 조회만 한다.
+ */
+public class ControllerStats {
+
+    private final String name;
+    private final ConcurrentMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final AtomicLong notFound = new AtomicLong();
+    private final AtomicLong adapterMisses = new AtomicLong();
+    private final StartupStats startup;
+
+    ControllerStats(String name) {
+        this.name = name;
+        this.startup = new StartupStats(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 같은 route 는 같은 RouteStats 를 반환한다.
+     */
+    public RouteStats route(String route) {
+        return routes.computeIfAbsent(route, RouteStats::new);
+    }
+
+    public Collection<RouteStats> getRoutes() {
+        return routes.values();
+    }
+
+    public void recordNotFound() {
+        if (FrontControllerStats.ENABLED) {
+            notFound.incrementAndGet();
+        }
+    }
+
+    public void recordAdapterMiss() {
+        if (FrontControllerStats.ENABLED) {
+            adapterMisses.incrementAndGet();
+        }
+    }
+
+    public long getNotFound() {
+        return notFound.get();
+    }
+
+    public long getAdapterMisses() {
+        return adapterMisses.get();
+    }
+
+    public StartupStats getStartup() {
+        return startup;
+    }
+
+}
@@ -0,0 +1,18 @@
+package mvc.ver1.web.frontcontroller.stats;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+/**
+ * 서블릿 컨텍스트 초기화가 끝난 시점(JVM 기동 후 ms)을 컨테이너 시작 시간으로 기록
+ */
+@WebListener
+public class FrontControllerStartupListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        FrontControllerStats.getInstance().recordContainerStarted(StartupStats.uptimeMillis());
+    }
+
+}
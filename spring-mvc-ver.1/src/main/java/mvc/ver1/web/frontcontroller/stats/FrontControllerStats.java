@@ -0,0 +1,57 @@
+package mvc.ver1.web.frontcontroller.stats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 프론트 컨트롤러별 통계 저장소, 싱글톤
+ * -Dfront-controller.stats.enabled=false 로 기록을 끌 수 있다(시간 측정도 하지 않는다).
+ */
+public class FrontControllerStats {
+
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("front-controller.stats.enabled", "true"));
+
+    private static final FrontControllerStats instance = new FrontControllerStats();
+
+    //이름 순으로 출력
+    private final Map<String, ControllerStats> controllers = new ConcurrentSkipListMap<>();
+
+    private volatile long containerStartedAtMillis = -1;
+
+    private FrontControllerStats() {
+    }
+
+    public static FrontControllerStats getInstance() {
+        return instance;
+    }
+
+    /**
+     * 같은 이름은 같은 ControllerStats 를 반환한다.
+     */
+    public ControllerStats controller(String name) {
+        return controllers.computeIfAbsent(name, ControllerStats::new);
+    }
+
+    public Map<String, ControllerStats> getControllers() {
+        return controllers;
+    }
+
+    void recordContainerStarted(long uptimeMillis) {
+        containerStartedAtMillis = uptimeMillis;
+    }
+
+    /**
+     * @return 서블릿 컨텍스트 초기화가 끝난 시점(JVM 기동 후 ms), 기록 전이면 -1
+     */
+    public long getContainerStartedAtMillis() {
+        return containerStartedAtMillis;
+    }
+
+    /**
+     * 기록이 꺼져 있으면 0, 켜져 있으면 System.nanoTime()
+     */
+    public static long now() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+}
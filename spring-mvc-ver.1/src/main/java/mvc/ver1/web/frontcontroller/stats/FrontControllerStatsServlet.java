@@ -0,0 +1,150 @@
+package mvc.ver1.web.frontcontroller.stats;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 프론트 컨트롤러 통계 조회, 기본은 text, ?format=json 이면 JSON
+ * 시간 단위는 ns(ms 표시가 붙은 값은 JVM 기동 후 ms), 백분위 수는 bucket 상한 값이다.
+ * 시작 비용(startup)은 StartupStats 참고
+ */
+@WebServlet(name = "frontControllerStatsServlet", urlPatterns = "/front-controller/stats")
+public class FrontControllerStatsServlet extends HttpServlet {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+    private final FrontControllerStats stats = FrontControllerStats.getInstance();
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setCharacterEncoding("utf-8");
+        if ("json".equals(request.getParameter("format"))) {
+            response.setContentType("application/json");
+            response.getWriter().write(toJson());
+        } else {
+            response.setContentType("text/plain");
+            response.getWriter().write(toText());
+        }
+    }
+
+    String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append("container startedAt=").append(stats.getContainerStartedAtMillis()).append("ms\n");
+        for (ControllerStats controller : stats.getControllers().values()) {
+            text.append(controller.getName())
+                    .append(" notFound=").append(controller.getNotFound())
+                    .append(" adapterMisses=").append(controller.getAdapterMisses())
+                    .append('\n');
+            appendText(text, controller.getStartup());
+            for (RouteStats route : controller.getRoutes()) {
+                text.append("  ").append(route.getRoute()).append('\n');
+                appendText(text, "mapping", route.getMapping().snapshot());
+                appendText(text, "process", route.getProcess().snapshot());
+                appendText(text, "render", route.getRender().snapshot());
+            }
+        }
+        return text.toString();
+    }
+
+    String toJson() {
+        StringBuilder json = new StringBuilder("{\"container\":{\"startedAtMillis\":")
+                .append(stats.getContainerStartedAtMillis()).append('}');
+        for (ControllerStats controller : stats.getControllers().values()) {
+            json.append(',');
+            appendString(json, controller.getName());
+            json.append(":{\"notFound\":").append(controller.getNotFound())
+                    .append(",\"adapterMisses\":").append(controller.getAdapterMisses())
+                    .append(",\"startup\":");
+            appendJson(json, controller.getStartup());
+            json.append(",\"routes\":{");
+            boolean firstRoute = true;
+            for (RouteStats route : controller.getRoutes()) {
+                if (!firstRoute) {
+                    json.append(',');
+                }
+                firstRoute = false;
+                appendString(json, route.getRoute());
+                json.append(":{");
+                appendJson(json, "mapping", route.getMapping().snapshot());
+                json.append(',');
+                appendJson(json, "process", route.getProcess().snapshot());
+                json.append(',');
+                appendJson(json, "render", route.getRender().snapshot());
+                json.append('}');
+            }
+            json.append("}}");
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendText(StringBuilder text, StartupStats startup) {
+        text.append("  startup createdAt=").append(startup.getCreatedAtMillis()).append("ms")
+                .append(" registration=").append(startup.getRegistrationNanos())
+                .append(" handlers=").append(startup.getHandlerCount())
+                .append(" init=").append(startup.getInitNanos())
+                .append(" warmedUp=").append(startup.getWarmedUp())
+                .append(" lazyCreated=").append(startup.getLazyCreated())
+                .append(" lazyCreation=").append(startup.getLazyCreationNanos())
+                .append(" firstRequest=").append(startup.getFirstRequestNanos())
+                .append(" firstRequestAt=").append(startup.getFirstRequestAtMillis()).append("ms");
+        if (startup.getFirstRequestRoute() != null) {
+            text.append(" firstRequestRoute=").append(startup.getFirstRequestRoute());
+        }
+        text.append('\n');
+    }
+
+    private static void appendJson(StringBuilder json, StartupStats startup) {
+        json.append("{\"createdAtMillis\":").append(startup.getCreatedAtMillis())
+                .append(",\"registration\":").append(startup.getRegistrationNanos())
+                .append(",\"handlers\":").append(startup.getHandlerCount())
+                .append(",\"init\":").append(startup.getInitNanos())
+                .append(",\"warmedUp\":").append(startup.getWarmedUp())
+                .append(",\"lazyCreated\":").append(startup.getLazyCreated())
+                .append(",\"lazyCreation\":").append(startup.getLazyCreationNanos())
+                .append(",\"firstRequest\":").append(startup.getFirstRequestNanos())
+                .append(",\"firstRequestAtMillis\":").append(startup.getFirstRequestAtMillis())
+                .append(",\"firstRequestRoute\":");
+        if (startup.getFirstRequestRoute() == null) {
+            json.append("null");
+        } else {
+            appendString(json, startup.getFirstRequestRoute());
+        }
+        json.append('}');
+    }
+
+    private static void appendText(StringBuilder text, String phase, LatencyHistogram.Snapshot snapshot) {
+        text.append("    ").append(phase)
+                .append(" count=").append(snapshot.getCount())
+                .append(" mean=").append(snapshot.getMeanNanos());
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            text.append(' ').append(PERCENTILE_NAMES[i]).append('=').append(snapshot.getPercentileNanos(PERCENTILES[i]));
+        }
+        text.append(" max=").append(snapshot.getMaxNanos()).append('\n');
+    }
+
+    private static void appendJson(StringBuilder json, String phase, LatencyHistogram.Snapshot snapshot) {
+        json.append('"').append(phase).append("\":{\"count\":").append(snapshot.getCount())
+                .append(",\"mean\":").append(snapshot.getMeanNanos());
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            json.append(",\"").append(PERCENTILE_NAMES[i]).append("\":").append(snapshot.getPercentileNanos(PERCENTILES[i]));
+        }
+        json.append(",\"max\":").append(snapshot.getMaxNanos()).append('}');
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\');
+            }
+            json.append(c);
+        }
+        json.append('"');
+    }
+
+}
@@ -0,0 +1,53 @@
+package mvc.ver1.web.frontcontroller.stats;
+
+/**
+ * route 하나의 단계별 지연 시간
+ * mapping: 요청 -> handler 찾기, process: controller(handler) 실행, render: view 렌더링
+ * V1 처럼 controller 안에서 forward 하는 경우 render 는 기록되지 않고 process 에 포함된다.
+ */
+public class RouteStats {
+
+    private final String route;
+    private final LatencyHistogram mapping = new LatencyHistogram();
+    private final LatencyHistogram process = new LatencyHistogram();
+    private final LatencyHistogram render = new LatencyHistogram();
+
+    RouteStats(String route) {
+        this.route = route;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public void recordMapping(long nanos) {
+        if (FrontControllerStats.ENABLED) {
+            mapping.record(nanos);
+        }
+    }
+
+    public void recordProcess(long nanos) {
+        if (FrontControllerStats.ENABLED) {
+            process.record(nanos);
+        }
+    }
+
+    public void recordRender(long nanos) {
+        if (FrontControllerStats.ENABLED) {
+            render.record(nanos);
+        }
+    }
+
+    public LatencyHistogram getMapping() {
+        return mapping;
+    }
+
+    public LatencyHistogram getProcess() {
+        return process;
+    }
+
+    public LatencyHistogram getRender() {
+        return render;
+    }
+
+}
@@ -0,0 +1,121 @@
+package mvc.ver1.web.frontcontroller.stats;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 프론트 컨트롤러 하나의 시작 비용
+ * 서블릿 생성 시점(JVM 기동 후 ms), handler 등록(생성자), init, 지연 생성된 handler, 첫 요청 처리 시간
+ * 컨테이너가 서블릿을 첫 요청 때 생성하면(loadOnStartup 없음) 생성, 등록, init 도 첫 요청 응답 시간에 포함된다.
+ *
+ * 요청마다 기록하는 값이 아니므로 FrontControllerStats.ENABLED 와 관계없이 기록한다, 첫 요청 시간만 ENABLED 일 때 잰다.
+ */
+@Slf4j
+public class StartupStats {
+
+    private final String name;
+
+    private volatile long createdAtMillis = -1;
+    private volatile long registrationNanos;
+    private volatile int handlerCount;
+    private volatile long initNanos;
+    private volatile int warmedUp;
+
+    private final AtomicLong lazyCreated = new AtomicLong();
+    private final AtomicLong lazyCreationNanos = new AtomicLong();
+
+    private final AtomicBoolean firstRequestRecorded = new AtomicBoolean();
+    private volatile long firstRequestNanos = -1;
+    private volatile long firstRequestAtMillis = -1;
+    private volatile String firstRequestRoute;
+
+    StartupStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 생성자에서 handler 등록을 마친 뒤 호출
+     */
+    public void recordRegistration(long nanos, int handlerCount) {
+        this.createdAtMillis = uptimeMillis();
+        this.registrationNanos = nanos;
+        this.handlerCount = handlerCount;
+    }
+
+    public void recordInit(long nanos, int warmedUp) {
+        this.initNanos = nanos;
+        this.warmedUp = warmedUp;
+    }
+
+    public void recordHandlerCreated(long nanos) {
+        lazyCreated.incrementAndGet();
+        lazyCreationNanos.addAndGet(nanos);
+    }
+
+    /**
+     * 첫 요청 한 건만 기록하고 로그로 남긴다, 이후 호출은 volatile 읽기 한 번
+     */
+    public void recordFirstRequest(String route, long nanos) {
+        if (!FrontControllerStats.ENABLED || firstRequestRecorded.get() || !firstRequestRecorded.compareAndSet(false, true)) {
+            return;
+        }
+        firstRequestNanos = nanos;
+        firstRequestAtMillis = uptimeMillis();
+        firstRequestRoute = route;
+        log.info("front controller {} startup: createdAt={}ms registration={}ns handlers={} init={}ns warmedUp={} lazyCreated={}({}ns) "
+                        + "firstRequest={}ns at {}ms [{}]",
+                name, createdAtMillis, registrationNanos, handlerCount, initNanos, warmedUp, lazyCreated.get(), lazyCreationNanos.get(),
+                nanos, firstRequestAtMillis, route);
+    }
+
+    static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public long getRegistrationNanos() {
+        return registrationNanos;
+    }
+
+    public int getHandlerCount() {
+        return handlerCount;
+    }
+
+    public long getInitNanos() {
+        return initNanos;
+    }
+
+    public int getWarmedUp() {
+        return warmedUp;
+    }
+
+    public long getLazyCreated() {
+        return lazyCreated.get();
+    }
+
+    public long getLazyCreationNanos() {
+        return lazyCreationNanos.get();
+    }
+
+    /**
+     * @return 아직 첫 요청이 없으면 -1
+     */
+    public long getFirstRequestNanos() {
+        return firstRequestNanos;
+    }
+
+    public long getFirstRequestAtMillis() {
+        return firstRequestAtMillis;
+    }
+
+    public String getFirstRequestRoute() {
+        return firstRequestRoute;
+    }
+
+}
@@ -0,0 +1,344 @@
+package mvc.ver1.web.frontcontroller.template;
+
+import mvc.ver1.web.servlet.Utf8HtmlWriter;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시작 시 한 번 컴파일해 두고 model 을 바로 응답에 쓰는 HTML 템플릿
+ * 고정 HTML 은 UTF-8 바이트 배열 조각으로 미리 인코딩하고, 변수 위치와 반복 변수는 컴파일 시점에 정해 둔다.
+ *
+ * 지원 문법
+ * ${name}, ${name.property}           : model 값 또는 반복 변수, HTML escape 해서 출력하고 null 이면 출력하지 않는다.
+ * {{#each item in items}} ... {{/each}} : Iterable 반복
+ * {{#if name}} ... {{/if}}             : null, 빈 문자열, 빈 컬렉션이 아니면 출력 (JSP 의 not empty)
+ */
+public class HtmlTemplate {
+
+    private final Node[] nodes;
+    private final int localCount;
+
+    private HtmlTemplate(Node[] nodes, int localCount) {
+        this.nodes = nodes;
+        this.localCount = localCount;
+    }
+
+    public static HtmlTemplate compile(String source) {
+        return new Compiler(source).compile();
+    }
+
+    public void render(Map<String, Object> model, Utf8HtmlWriter out) throws IOException {
+        Object[] locals = localCount == 0 ? null : new Object[localCount];
+        renderNodes(nodes, model, locals, out);
+    }
+
+    private static void renderNodes(Node[] nodes, Map<String, Object> model, Object[] locals, Utf8HtmlWriter out) throws IOException {
+        for (Node node : nodes) {
+            node.render(model, locals, out);
+        }
+    }
+
+    private interface Node {
+        void render(Map<String, Object> model, Object[] locals, Utf8HtmlWriter out) throws IOException;
+    }
+
+    private static final class Text implements Node {
+
+        private final byte[] bytes;
+
+        Text(String text) {
+            this.bytes = Utf8HtmlWriter.encode(text);
+        }
+
+        @Override
+        public void render(Map<String, Object> model, Object[] locals, Utf8HtmlWriter out) throws IOException {
+            out.write(bytes);
+        }
+    }
+
+    private static final class Value implements Node {
+
+        private final Expression expression;
+
+        Value(Expression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public void render(Map<String, Object> model, Object[] locals, Utf8HtmlWriter out) throws IOException {
+            Object value = expression.evaluate(model, locals);
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                out.writeLong(((Number) value).longValue());
+            } else {
+                out.writeText(value.toString());
+            }
+        }
+    }
+
+    private static final class Each implements Node {
+
+        private final Expression items;
+        private final int local;
+        private Node[] body;
+
+        Each(Expression items, int local) {
+            this.items = items;
+            this.local = local;
+        }
+
+        @Override
+        public void render(Map<String, Object> model, Object[] locals, Utf8HtmlWriter out) throws IOException {
+            Object value = items.evaluate(model, locals);
+            if (value == null) {
+                return;
+            }
+            if (!(value instanceof Iterable)) {
+                throw new IllegalStateException("반복할 수 없는 값입니다. " + items + "=" + value.getClass().getName());
+            }
+            for (Object item : (Iterable<?>) value) {
+                locals[local] = item;
+                renderNodes(body, model, locals, out);
+            }
+            locals[local] = null;
+        }
+    }
+
+    private static final class If implements Node {
+
+        private final Expression condition;
+        private Node[] body;
+
+        If(Expression condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public void render(Map<String, Object> model, Object[] locals, Utf8HtmlWriter out) throws IOException {
+            Object value = condition.evaluate(model, locals);
+            boolean empty = value == null
+                    || value instanceof CharSequence && ((CharSequence) value).length() == 0
+                    || value instanceof Collection && ((Collection<?>) value).isEmpty()
+                    || value instanceof Map && ((Map<?, ?>) value).isEmpty();
+            if (!empty) {
+                renderNodes(body, model, locals, out);
+            }
+        }
+    }
+
+    /**
+     * root 는 반복 변수면 locals 위치(local >= 0), 아니면 model 키
+     */
+    private static final class Expression {
+
+        private final String source;
+        private final String root;
+        private final int local;
+        private final Property[] properties;
+
+        Expression(String source, String root, int local, Property[] properties) {
+            this.source = source;
+            this.root = root;
+            this.local = local;
+            this.properties = properties;
+        }
+
+        Object evaluate(Map<String, Object> model, Object[] locals) {
+            Object value = local >= 0 ? locals[local] : model.get(root);
+            for (int i = 0; i < properties.length && value != null; i++) {
+                value = properties[i].get(value);
+            }
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return source;
+        }
+    }
+
+    /**
+     * getter 를 처음 만난 클래스 기준으로 찾아 두고(단형 캐시) 클래스가 바뀔 때만 다시 찾는다.
+     */
+    private static final class Property {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+        private final String name;
+        private volatile Getter cached;
+
+        Property(String name) {
+            this.name = name;
+        }
+
+        Object get(Object target) {
+            if (target instanceof Map) {
+                return ((Map<?, ?>) target).get(name);
+            }
+            Getter getter = cached;
+            if (getter == null || getter.type != target.getClass()) {
+                getter = new Getter(target.getClass(), findGetter(target.getClass()));
+                cached = getter;
+            }
+            try {
+                return getter.handle.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("property 를 읽을 수 없습니다. " + target.getClass().getName() + "." + name, e);
+            }
+        }
+
+        private MethodHandle findGetter(Class<?> type) {
+            try {
+                for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                    if (descriptor.getName().equals(name) && descriptor.getReadMethod() != null) {
+                        return MethodHandles.publicLookup().unreflect(descriptor.getReadMethod()).asType(GETTER_TYPE);
+                    }
+                }
+            } catch (IntrospectionException | IllegalAccessException e) {
+                throw new IllegalStateException("property 를 읽을 수 없습니다. " + type.getName() + "." + name, e);
+            }
+            throw new IllegalStateException("property 가 없습니다. " + type.getName() + "." + name);
+        }
+
+        private static final class Getter {
+            private final Class<?> type;
+            private final MethodHandle handle;
+
+            Getter(Class<?> type, MethodHandle handle) {
+                this.type = type;
+                this.handle = handle;
+            }
+        }
+    }
+
+    private static final class Compiler {
+
+        private final String source;
+        private final Deque<Block> blocks = new ArrayDeque<>();
+        private final List<String> localNames = new ArrayList<>();
+        private int localCount;
+
+        Compiler(String source) {
+            this.source = source;
+        }
+
+        HtmlTemplate compile() {
+            blocks.push(new Block(null, null));
+            int pos = 0;
+            while (pos < source.length()) {
+                int value = source.indexOf("${", pos);
+                int tag = source.indexOf("{{", pos);
+                int next = value < 0 ? tag : tag < 0 ? value : Math.min(value, tag);
+                if (next < 0) {
+                    addText(source.substring(pos));
+                    break;
+                }
+                addText(source.substring(pos, next));
+                if (next == value) {
+                    int end = closing(next, "}");
+                    blocks.peek().nodes.add(new Value(expression(source.substring(next + 2, end).trim())));
+                    pos = end + 1;
+                } else {
+                    int end = closing(next, "}}");
+                    tag(source.substring(next + 2, end).trim(), next);
+                    pos = end + 2;
+                }
+            }
+            if (blocks.size() != 1) {
+                throw new IllegalArgumentException("닫히지 않은 블록이 있습니다. {{#" + blocks.peek().type + "}}");
+            }
+            return new HtmlTemplate(blocks.pop().nodes.toArray(new Node[0]), localCount);
+        }
+
+        private void tag(String tag, int position) {
+            if (tag.startsWith("#each ")) {
+                String[] parts = tag.substring(6).trim().split("\\s+");
+                if (parts.length != 3 || !parts[1].equals("in")) {
+                    throw new IllegalArgumentException("{{#each 변수 in 목록}} 형식이어야 합니다. position=" + position);
+                }
+                Each each = new Each(expression(parts[2]), localNames.size());
+                blocks.peek().nodes.add(each);
+                localNames.add(parts[0]);
+                localCount = Math.max(localCount, localNames.size());
+                blocks.push(new Block("each", each));
+            } else if (tag.startsWith("#if ")) {
+                If condition = new If(expression(tag.substring(4).trim()));
+                blocks.peek().nodes.add(condition);
+                blocks.push(new Block("if", condition));
+            } else if (tag.equals("/each") || tag.equals("/if")) {
+                Block block = blocks.peek();
+                if (block.type == null || !tag.substring(1).equals(block.type)) {
+                    throw new IllegalArgumentException("짝이 맞지 않는 {{" + tag + "}} 입니다. position=" + position);
+                }
+                blocks.pop();
+                Node[] body = block.nodes.toArray(new Node[0]);
+                if (block.owner instanceof Each) {
+                    ((Each) block.owner).body = body;
+                    localNames.remove(localNames.size() - 1);
+                } else {
+                    ((If) block.owner).body = body;
+                }
+            } else {
+                throw new IllegalArgumentException("알 수 없는 태그입니다. {{" + tag + "}} position=" + position);
+            }
+        }
+
+        private Expression expression(String source) {
+            String[] path = source.split("\\.");
+            for (String segment : path) {
+                if (segment.isEmpty()) {
+                    throw new IllegalArgumentException("잘못된 표현식입니다. ${" + source + "}");
+                }
+            }
+            Property[] properties = new Property[path.length - 1];
+            for (int i = 1; i < path.length; i++) {
+                properties[i - 1] = new Property(path[i]);
+            }
+            //안쪽 반복 변수가 우선
+            int local = localNames.lastIndexOf(path[0]);
+            return new Expression(source, path[0], local, properties);
+        }
+
+        private void addText(String text) {
+            if (!text.isEmpty()) {
+                blocks.peek().nodes.add(new Text(text));
+            }
+        }
+
+        private int closing(int start, String close) {
+            int end = source.indexOf(close, start + 2);
+            if (end < 0) {
+                throw new IllegalArgumentException("닫히지 않은 표현식입니다. position=" + start);
+            }
+            return end;
+        }
+
+        private static final class Block {
+            private final String type;
+            private final Node owner;
+            private final List<Node> nodes = new ArrayList<>();
+
+            Block(String type, Node owner) {
+                this.type = type;
+                this.owner = owner;
+            }
+        }
+    }
+
+}
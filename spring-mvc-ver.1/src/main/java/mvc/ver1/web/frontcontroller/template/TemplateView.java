@@ -0,0 +1,60 @@
+package mvc.ver1.web.frontcontroller.template;
+
+import mvc.ver1.web.frontcontroller.MyView;
+import mvc.ver1.web.servlet.Utf8HtmlWriter;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * JSP forward 대신 컴파일해 둔 HtmlTemplate 으로 model 을 바로 응답에 쓰는 view
+ * request attribute 를 쓰지 않으므로 JSP 와 달리 model 에 없는 request attribute 는 템플릿에서 볼 수 없다.
+ */
+public class TemplateView extends MyView {
+
+    private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
+
+    private final HtmlTemplate template;
+
+    public TemplateView(String viewPath, HtmlTemplate template) {
+        super(viewPath);
+        this.template = template;
+    }
+
+    @Override
+    public void render(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        render(Collections.emptyMap(), request, response);
+    }
+
+    @Override
+    public void render(Map<String, Object> model, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        write(model, response);
+    }
+
+    /**
+     * 컨테이너로 dispatch 하지 않고 handler 가 끝난 스레드에서 바로 쓰고 완료한다.
+     */
+    @Override
+    public void render(Map<String, Object> model, AsyncContext asyncContext) {
+        try {
+            write(model, (HttpServletResponse) asyncContext.getResponse());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            asyncContext.complete();
+        }
+    }
+
+    private void write(Map<String, Object> model, HttpServletResponse response) throws IOException {
+        response.setContentType(CONTENT_TYPE);
+        Utf8HtmlWriter out = new Utf8HtmlWriter(response.getOutputStream());
+        template.render(model, out);
+        out.flush();
+    }
+
+}
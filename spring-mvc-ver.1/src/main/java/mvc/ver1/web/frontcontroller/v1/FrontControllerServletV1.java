@@ -1,5 +1,8 @@
 package mvc.ver1.web.frontcontroller.v1;
 
+import mvc.ver1.web.frontcontroller.stats.ControllerStats;
+import mvc.ver1.web.frontcontroller.stats.FrontControllerStats;
+import mvc.ver1.web.frontcontroller.stats.RouteStats;
 import mvc.ver1.web.frontcontroller.v1.controller.MemberFormControllerV1;
 import mvc.ver1.web.frontcontroller.v1.controller.MemberListControllerV1;
 import mvc.ver1.web.frontcontroller.v1.controller.MemberSaveControllerV1;
@@ -17,10 +20,16 @@ import java.util.Map;
 public class FrontControllerServletV1 extends HttpServlet {
     private Map<String, ControllerV1> controllerMap = new HashMap<>();
 
+    private final ControllerStats stats = FrontControllerStats.getInstance().controller("v1");
+    private final Map<String, RouteStats> routeStats = new HashMap<>();
+
     public FrontControllerServletV1() {
+        long start = System.nanoTime();
         controllerMap.put("/front-controller/v1/members/new-form", new MemberFormControllerV1());
         controllerMap.put("/front-controller/v1/members/save", new MemberSaveControllerV1());
         controllerMap.put("/front-controller/v1/members", new MemberListControllerV1());
+        controllerMap.keySet().forEach(uri -> routeStats.put(uri, stats.route(uri)));
+        stats.getStartup().recordRegistration(System.nanoTime() - start, controllerMap.size());
     }
 
     @Override
@@ -28,15 +37,24 @@ public class FrontControllerServletV1 extends HttpServlet {
 
         System.out.println("FrontControllerServletV1.service");
 
+        long start = FrontControllerStats.now();
         String requestURI = request.getRequestURI();
         ControllerV1 controller = controllerMap.get(requestURI);
 
         if (controller == null) {
+            stats.recordNotFound();
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return;
         }
+        RouteStats route = routeStats.get(requestURI);
+        long mapped = FrontControllerStats.now();
+        route.recordMapping(mapped - start);
 
+        //V1 은 controller 안에서 forward 하므로 렌더링까지 process 에 포함
         controller.process(request, response);
+        long processed = FrontControllerStats.now();
+        route.recordProcess(processed - mapped);
+        stats.getStartup().recordFirstRequest(requestURI, processed - start);
     }
 
 }
@@ -1,7 +1,8 @@
 package mvc.ver1.web.frontcontroller.v1.controller;
 
-import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberPage;
 import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.PagingParams;
 import mvc.ver1.web.frontcontroller.v1.ControllerV1;
 
 import javax.servlet.RequestDispatcher;
@@ -9,7 +10,6 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
 
 public class MemberListControllerV1 implements ControllerV1 {
     private MemberRepository memberRepository = MemberRepository.getInstance();
@@ -17,9 +17,12 @@ public class MemberListControllerV1 implements ControllerV1 {
     @Override
     public void process(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 
-        List<Member> members = memberRepository.findAll();
+        int size = PagingParams.size(request.getParameter(PagingParams.SIZE));
+        MemberPage page = memberRepository.findPage(PagingParams.cursor(request.getParameter(PagingParams.CURSOR)), size);
 
-        request.setAttribute("members", members);
+        request.setAttribute("members", page.getMembers());
+        request.setAttribute("nextCursor", page.getNextCursor());
+        request.setAttribute("size", size);
 
         String viewPath = "/WEB-INF/views/members.jsp";
         RequestDispatcher dispatcher = request.getRequestDispatcher(viewPath);
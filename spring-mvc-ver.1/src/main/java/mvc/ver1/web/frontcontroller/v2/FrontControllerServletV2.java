@@ -1,6 +1,9 @@
 package mvc.ver1.web.frontcontroller.v2;
 
 import mvc.ver1.web.frontcontroller.MyView;
+import mvc.ver1.web.frontcontroller.stats.ControllerStats;
+import mvc.ver1.web.frontcontroller.stats.FrontControllerStats;
+import mvc.ver1.web.frontcontroller.stats.RouteStats;
 import mvc.ver1.web.frontcontroller.v2.controller.MemberFormControllerV2;
 import mvc.ver1.web.frontcontroller.v2.controller.MemberListControllerV2;
 import mvc.ver1.web.frontcontroller.v2.controller.MemberSaveControllerV2;
@@ -18,25 +21,42 @@ import java.util.Map;
 public class FrontControllerServletV2 extends HttpServlet {
     private Map<String, ControllerV2> controllerMap = new HashMap<>();
 
+    private final ControllerStats stats = FrontControllerStats.getInstance().controller("v2");
+    private final Map<String, RouteStats> routeStats = new HashMap<>();
+
     public FrontControllerServletV2() {
+        long start = System.nanoTime();
         controllerMap.put("/front-controller/v2/members/new-form", new MemberFormControllerV2());
         controllerMap.put("/front-controller/v2/members/save", new MemberSaveControllerV2());
         controllerMap.put("/front-controller/v2/members", new MemberListControllerV2());
+        controllerMap.keySet().forEach(uri -> routeStats.put(uri, stats.route(uri)));
+        stats.getStartup().recordRegistration(System.nanoTime() - start, controllerMap.size());
     }
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 
+        long start = FrontControllerStats.now();
         String requestURI = request.getRequestURI();
 
         ControllerV2 controller = controllerMap.get(requestURI);
         if (controller == null) {
+            stats.recordNotFound();
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return;
         }
+        RouteStats route = routeStats.get(requestURI);
+        long mapped = FrontControllerStats.now();
+        route.recordMapping(mapped - start);
 
         MyView view = controller.process(request, response);
+        long processed = FrontControllerStats.now();
+        route.recordProcess(processed - mapped);
+
         view.render(request, response);
+        long rendered = FrontControllerStats.now();
+        route.recordRender(rendered - processed);
+        stats.getStartup().recordFirstRequest(requestURI, rendered - start);
     }
 
 }
@@ -1,7 +1,8 @@
 package mvc.ver1.web.frontcontroller.v2.controller;
 
-import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberPage;
 import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.PagingParams;
 import mvc.ver1.web.frontcontroller.MyView;
 import mvc.ver1.web.frontcontroller.v2.ControllerV2;
 
@@ -9,7 +10,6 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
 
 public class MemberListControllerV2 implements ControllerV2 {
 
@@ -17,8 +17,12 @@ public class MemberListControllerV2 implements ControllerV2 {
 
     @Override
     public MyView process(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        List<Member> members = memberRepository.findAll();
-        request.setAttribute("members", members);
+        int size = PagingParams.size(request.getParameter(PagingParams.SIZE));
+        MemberPage page = memberRepository.findPage(PagingParams.cursor(request.getParameter(PagingParams.CURSOR)), size);
+
+        request.setAttribute("members", page.getMembers());
+        request.setAttribute("nextCursor", page.getNextCursor());
+        request.setAttribute("size", size);
 
         return new MyView("/WEB-INF/views/members.jsp");
     }
@@ -1,12 +1,20 @@
 package mvc.ver1.web.frontcontroller.v3;
 
+import mvc.ver1.web.frontcontroller.BadRequestException;
+import mvc.ver1.web.frontcontroller.ModelRecycler;
 import mvc.ver1.web.frontcontroller.ModelView;
 import mvc.ver1.web.frontcontroller.MyView;
+import mvc.ver1.web.frontcontroller.MyViewResolver;
+import mvc.ver1.web.frontcontroller.RequestParamMap;
+import mvc.ver1.web.frontcontroller.stats.ControllerStats;
+import mvc.ver1.web.frontcontroller.stats.FrontControllerStats;
+import mvc.ver1.web.frontcontroller.stats.RouteStats;
 import mvc.ver1.web.frontcontroller.v3.controller.MemberFormControllerV3;
 import mvc.ver1.web.frontcontroller.v3.controller.MemberListControllerV3;
 import mvc.ver1.web.frontcontroller.v3.controller.MemberSaveControllerV3;
 
 import javax.servlet.ServletException;
+import javax.servlet.annotation.WebInitParam;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -15,49 +23,98 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
-@WebServlet(name = "frontControllerServletV3", urlPatterns = "/front-controller/v3/*")
+@WebServlet(name = "frontControllerServletV3", urlPatterns = "/front-controller/v3/*",
+        initParams = {
+                @WebInitParam(name = "recycleModel", value = "false")
+        })
 public class FrontControllerServletV3 extends HttpServlet {
 
     private Map<String, ControllerV3> controllerMap = new HashMap<>();
 
+    private final ControllerStats stats = FrontControllerStats.getInstance().controller("v3");
+    private final Map<String, RouteStats> routeStats = new HashMap<>();
+
+    //ModelView 를 스레드별로 재사용하고 MyView 도 캐시(ModelRecycler)
+    private boolean recycleModel;
+    private MyViewResolver viewResolver;
+
     public FrontControllerServletV3() {
+        long start = System.nanoTime();
         controllerMap.put("/front-controller/v3/members/new-form", new MemberFormControllerV3());
         controllerMap.put("/front-controller/v3/members/save", new MemberSaveControllerV3());
         controllerMap.put("/front-controller/v3/members", new MemberListControllerV3());
+        controllerMap.keySet().forEach(uri -> routeStats.put(uri, stats.route(uri)));
+        stats.getStartup().recordRegistration(System.nanoTime() - start, controllerMap.size());
+    }
+
+    @Override
+    public void init() throws ServletException {
+        long start = System.nanoTime();
+        recycleModel = Boolean.parseBoolean(getInitParameter("recycleModel", "false"));
+        if (recycleModel) {
+            viewResolver = new MyViewResolver(256, false);
+        }
+        stats.getStartup().recordInit(System.nanoTime() - start, 0);
+    }
+
+    private String getInitParameter(String name, String defaultValue) {
+        String value = getInitParameter(name);
+        return value == null ? defaultValue : value;
     }
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 
+        long start = FrontControllerStats.now();
         String requestURI = request.getRequestURI();
 
         ControllerV3 controller = controllerMap.get(requestURI);
         if (controller == null) {
+            stats.recordNotFound();
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return;
         }
-
-        Map<String, String> paramMap = createParamMap(request);
-        ModelView mv = controller.process(paramMap);
-
-        String viewName = mv.getViewName();
-        MyView view = viewResolver(viewName);
-        view.render(mv.getModel(), request, response);
+        RouteStats route = routeStats.get(requestURI);
+        long mapped = FrontControllerStats.now();
+        route.recordMapping(mapped - start);
+
+        ModelRecycler recycler = recycleModel ? ModelRecycler.begin() : null;
+        long processed;
+        try {
+            Map<String, String> paramMap = createParamMap(request);
+            ModelView mv;
+            try {
+                mv = controller.process(paramMap);
+            } catch (BadRequestException e) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+                return;
+            }
+            processed = FrontControllerStats.now();
+            route.recordProcess(processed - mapped);
+
+            String viewName = mv.getViewName();
+            MyView view = viewResolver(viewName);
+            view.render(mv.getModel(), request, response);
+        } finally {
+            if (recycler != null) {
+                recycler.end();
+            }
+        }
+        long rendered = FrontControllerStats.now();
+        route.recordRender(rendered - processed);
+        stats.getStartup().recordFirstRequest(requestURI, rendered - start);
     }
 
     private Map<String, String> createParamMap(HttpServletRequest request) {
 
-        Map<String, String> paramMap = new HashMap<>();
-
-        request.getParameterNames().asIterator()
-                .forEachRemaining(paramName -> paramMap.put(paramName,
-                        request.getParameter(paramName)));
-
-        return paramMap;
+        return new RequestParamMap(request);
     }
 
     private MyView viewResolver(String viewName) {
 
+        if (viewResolver != null) {
+            return viewResolver.resolve(viewName);
+        }
         return new MyView("/WEB-INF/views/" + viewName + ".jsp");
     }
 
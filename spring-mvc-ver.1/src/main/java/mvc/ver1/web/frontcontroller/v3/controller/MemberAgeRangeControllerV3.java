@@ -0,0 +1,34 @@
+package mvc.ver1.web.frontcontroller.v3.controller;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.PagingParams;
+import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.v3.ControllerV3;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 나이 범위로 회원 조회, ?minAge=&maxAge=&size=
+ */
+public class MemberAgeRangeControllerV3 implements ControllerV3 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    public ModelView process(Map<String, String> paramMap) {
+
+        int minAge = PagingParams.intValue(paramMap.get("minAge"), 0);
+        int maxAge = PagingParams.intValue(paramMap.get("maxAge"), Integer.MAX_VALUE);
+        int size = PagingParams.size(paramMap.get(PagingParams.SIZE));
+
+        List<Member> members = memberRepository.findByAgeBetween(minAge, maxAge, size);
+
+        ModelView mv = ModelView.create("members");
+        mv.getModel().put("members", members);
+
+        return mv;
+    }
+
+}
@@ -0,0 +1,27 @@
+package mvc.ver1.web.frontcontroller.v3.controller;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.BadRequestException;
+import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.v3.ControllerV3;
+
+import java.util.Map;
+
+public class MemberDetailControllerV3 implements ControllerV3 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    public ModelView process(Map<String, String> paramMap) {
+
+        long id = BadRequestException.parseLong("id", paramMap.get("id"));
+        Member member = memberRepository.findById(id);
+
+        ModelView mv = ModelView.create("member");
+        mv.getModel().put("member", member);
+
+        return mv;
+    }
+
+}
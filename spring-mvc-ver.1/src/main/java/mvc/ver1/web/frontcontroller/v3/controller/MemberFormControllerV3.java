@@ -10,7 +10,7 @@ public class MemberFormControllerV3 implements ControllerV3 {
     @Override
     public ModelView process(Map<String, String> paramMap) {
 
-        return new ModelView("new-form");
+        return ModelView.create("new-form");
     }
 
 }
@@ -1,11 +1,11 @@
 package mvc.ver1.web.frontcontroller.v3.controller;
 
-import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberPage;
 import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.PagingParams;
 import mvc.ver1.web.frontcontroller.ModelView;
 import mvc.ver1.web.frontcontroller.v3.ControllerV3;
 
-import java.util.List;
 import java.util.Map;
 
 public class MemberListControllerV3 implements ControllerV3 {
@@ -14,10 +14,13 @@ public class MemberListControllerV3 implements ControllerV3 {
     @Override
     public ModelView process(Map<String, String> paramMap) {
 
-        List<Member> members = memberRepository.findAll();
+        int size = PagingParams.size(paramMap.get(PagingParams.SIZE));
+        MemberPage page = memberRepository.findPage(PagingParams.cursor(paramMap.get(PagingParams.CURSOR)), size);
 
-        ModelView mv = new ModelView("members");
-        mv.getModel().put("members", members);
+        ModelView mv = ModelView.create("members");
+        mv.getModel().put("members", page.getMembers());
+        mv.getModel().put("nextCursor", page.getNextCursor());
+        mv.getModel().put("size", size);
 
         return mv;
     }
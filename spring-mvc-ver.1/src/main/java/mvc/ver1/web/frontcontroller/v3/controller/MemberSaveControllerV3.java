@@ -2,6 +2,7 @@ package mvc.ver1.web.frontcontroller.v3.controller;
 
 import mvc.ver1.domain.member.Member;
 import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.BadRequestException;
 import mvc.ver1.web.frontcontroller.ModelView;
 import mvc.ver1.web.frontcontroller.v3.ControllerV3;
 
@@ -17,12 +18,12 @@ public class MemberSaveControllerV3 implements ControllerV3 {
     public ModelView process(Map<String, String> paramMap) {
 
         String username = paramMap.get("username");
-        int age = Integer.parseInt(paramMap.get("age"));
+        int age = BadRequestException.parseInt("age", paramMap.get("age"));
 
         Member member = new Member(username, age);
         memberRepository.save(member);
 
-        ModelView mv = new ModelView("save-result");
+        ModelView mv = ModelView.create("save-result");
         mv.getModel().put("member", member);
 
         return mv;
@@ -0,0 +1,30 @@
+package mvc.ver1.web.frontcontroller.v3.controller;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.PagingParams;
+import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.v3.ControllerV3;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * username 으로 회원 조회, ?username=&size=
+ */
+public class MemberSearchControllerV3 implements ControllerV3 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    public ModelView process(Map<String, String> paramMap) {
+
+        List<Member> members = memberRepository.findByUsername(paramMap.get("username"), PagingParams.size(paramMap.get(PagingParams.SIZE)));
+
+        ModelView mv = ModelView.create("members");
+        mv.getModel().put("members", members);
+
+        return mv;
+    }
+
+}
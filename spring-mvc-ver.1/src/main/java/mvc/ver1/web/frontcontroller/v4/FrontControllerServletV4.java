@@ -1,11 +1,19 @@
 package mvc.ver1.web.frontcontroller.v4;
 
+import mvc.ver1.web.frontcontroller.BadRequestException;
+import mvc.ver1.web.frontcontroller.ModelRecycler;
 import mvc.ver1.web.frontcontroller.MyView;
+import mvc.ver1.web.frontcontroller.RequestParamMap;
+import mvc.ver1.web.frontcontroller.MyViewResolver;
+import mvc.ver1.web.frontcontroller.stats.ControllerStats;
+import mvc.ver1.web.frontcontroller.stats.FrontControllerStats;
+import mvc.ver1.web.frontcontroller.stats.RouteStats;
 import mvc.ver1.web.frontcontroller.v4.controller.MemberFormControllerV4;
 import mvc.ver1.web.frontcontroller.v4.controller.MemberListControllerV4;
 import mvc.ver1.web.frontcontroller.v4.controller.MemberSaveControllerV4;
 
 import javax.servlet.ServletException;
+import javax.servlet.annotation.WebInitParam;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -14,50 +22,97 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
-@WebServlet(name = "frontControllerServletV4", urlPatterns = "/front-controller/v4/*")
+@WebServlet(name = "frontControllerServletV4", urlPatterns = "/front-controller/v4/*",
+        initParams = {
+                @WebInitParam(name = "viewCacheLimit", value = "256"),
+                @WebInitParam(name = "devMode", value = "false"),
+                @WebInitParam(name = "viewEngine", value = "jsp"),
+                @WebInitParam(name = "recycleModel", value = "false")
+        })
 public class FrontControllerServletV4 extends HttpServlet {
 
     private Map<String, ControllerV4> controllerMap = new HashMap<>();
 
+    private final ControllerStats stats = FrontControllerStats.getInstance().controller("v4");
+    private final Map<String, RouteStats> routeStats = new HashMap<>();
+
+    private MyViewResolver viewResolver;
+
+    //model map 을 스레드별로 재사용(ModelRecycler)
+    private boolean recycleModel;
+
     public FrontControllerServletV4() {
+        long start = System.nanoTime();
         controllerMap.put("/front-controller/v4/members/new-form", new MemberFormControllerV4());
         controllerMap.put("/front-controller/v4/members/save", new MemberSaveControllerV4());
         controllerMap.put("/front-controller/v4/members", new MemberListControllerV4());
+        controllerMap.keySet().forEach(uri -> routeStats.put(uri, stats.route(uri)));
+        stats.getStartup().recordRegistration(System.nanoTime() - start, controllerMap.size());
+    }
+
+    @Override
+    public void init() throws ServletException {
+        long start = System.nanoTime();
+        viewResolver = new MyViewResolver(Integer.parseInt(getInitParameter("viewCacheLimit", "256")),
+                Boolean.parseBoolean(getInitParameter("devMode", "false")),
+                "template".equals(getInitParameter("viewEngine", "jsp")));
+        recycleModel = Boolean.parseBoolean(getInitParameter("recycleModel", "false"));
+        stats.getStartup().recordInit(System.nanoTime() - start, 0);
+    }
+
+    private String getInitParameter(String name, String defaultValue) {
+        String value = getInitParameter(name);
+        return value == null ? defaultValue : value;
     }
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 
+        long start = FrontControllerStats.now();
         String requestURI = request.getRequestURI();
 
         ControllerV4 controller = controllerMap.get(requestURI);
 
         if (controller == null) {
+            stats.recordNotFound();
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return;
         }
-
-        Map<String, String> paramMap = createParamMap(request);
-        Map<String, Object> model = new HashMap<>(); // 추가
-
-        String viewName = controller.process(paramMap, model);
-
-        MyView view = viewResolver(viewName);
-        view.render(model, request, response);
+        RouteStats route = routeStats.get(requestURI);
+        long mapped = FrontControllerStats.now();
+        route.recordMapping(mapped - start);
+
+        ModelRecycler recycler = recycleModel ? ModelRecycler.begin() : null;
+        long processed;
+        try {
+            Map<String, String> paramMap = createParamMap(request);
+            Map<String, Object> model = ModelRecycler.model(); // 추가
+
+            String viewName;
+            try {
+                viewName = controller.process(paramMap, model);
+            } catch (BadRequestException e) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+                return;
+            }
+            processed = FrontControllerStats.now();
+            route.recordProcess(processed - mapped);
+
+            MyView view = viewResolver.resolve(viewName);
+            view.render(model, request, response);
+        } finally {
+            if (recycler != null) {
+                recycler.end();
+            }
+        }
+        long rendered = FrontControllerStats.now();
+        route.recordRender(rendered - processed);
+        stats.getStartup().recordFirstRequest(requestURI, rendered - start);
     }
 
     private Map<String, String> createParamMap(HttpServletRequest request) {
 
-        Map<String, String> paramMap = new HashMap<>();
-
-        request.getParameterNames().asIterator()
-                .forEachRemaining(paramName -> paramMap.put(paramName, request.getParameter(paramName)));
-
-        return paramMap;
-    }
-
-    private MyView viewResolver(String viewName) {
-        return new MyView("/WEB-INF/views/" + viewName + ".jsp");
+        return new RequestParamMap(request);
     }
 
 }
@@ -0,0 +1,31 @@
+package mvc.ver1.web.frontcontroller.v4.controller;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.PagingParams;
+import mvc.ver1.web.frontcontroller.v4.ControllerV4;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 나이 범위로 회원 조회, ?minAge=&maxAge=&size=
+ */
+public class MemberAgeRangeControllerV4 implements ControllerV4 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    public String process(Map<String, String> paramMap, Map<String, Object> model) {
+
+        int minAge = PagingParams.intValue(paramMap.get("minAge"), 0);
+        int maxAge = PagingParams.intValue(paramMap.get("maxAge"), Integer.MAX_VALUE);
+        int size = PagingParams.size(paramMap.get(PagingParams.SIZE));
+
+        List<Member> members = memberRepository.findByAgeBetween(minAge, maxAge, size);
+        model.put("members", members);
+
+        return "members";
+    }
+
+}
@@ -0,0 +1,24 @@
+package mvc.ver1.web.frontcontroller.v4.controller;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.BadRequestException;
+import mvc.ver1.web.frontcontroller.v4.ControllerV4;
+
+import java.util.Map;
+
+public class MemberDetailControllerV4 implements ControllerV4 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    public String process(Map<String, String> paramMap, Map<String, Object> model) {
+
+        long id = BadRequestException.parseLong("id", paramMap.get("id"));
+        Member member = memberRepository.findById(id);
+        model.put("member", member);
+
+        return "member";
+    }
+
+}
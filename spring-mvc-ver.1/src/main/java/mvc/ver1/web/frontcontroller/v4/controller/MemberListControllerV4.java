@@ -1,10 +1,10 @@
 package mvc.ver1.web.frontcontroller.v4.controller;
 
-import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberPage;
 import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.PagingParams;
 import mvc.ver1.web.frontcontroller.v4.ControllerV4;
 
-import java.util.List;
 import java.util.Map;
 
 public class MemberListControllerV4 implements ControllerV4 {
@@ -14,8 +14,12 @@ public class MemberListControllerV4 implements ControllerV4 {
     @Override
     public String process(Map<String, String> paramMap, Map<String, Object> model) {
 
-        List<Member> members = memberRepository.findAll();
-        model.put("members", members);
+        int size = PagingParams.size(paramMap.get(PagingParams.SIZE));
+        MemberPage page = memberRepository.findPage(PagingParams.cursor(paramMap.get(PagingParams.CURSOR)), size);
+
+        model.put("members", page.getMembers());
+        model.put("nextCursor", page.getNextCursor());
+        model.put("size", size);
 
         return "members";
     }
@@ -2,6 +2,7 @@ package mvc.ver1.web.frontcontroller.v4.controller;
 
 import mvc.ver1.domain.member.Member;
 import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.BadRequestException;
 import mvc.ver1.web.frontcontroller.v4.ControllerV4;
 
 import java.util.Map;
@@ -14,7 +15,7 @@ public class MemberSaveControllerV4 implements ControllerV4 {
     public String process(Map<String, String> paramMap, Map<String, Object> model) {
 
         String username = paramMap.get("username");
-        int age = Integer.parseInt(paramMap.get("age"));
+        int age = BadRequestException.parseInt("age", paramMap.get("age"));
 
         Member member = new Member(username, age);
         memberRepository.save(member);
@@ -0,0 +1,27 @@
+package mvc.ver1.web.frontcontroller.v4.controller;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.PagingParams;
+import mvc.ver1.web.frontcontroller.v4.ControllerV4;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * username 으로 회원 조회, ?username=&size=
+ */
+public class MemberSearchControllerV4 implements ControllerV4 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    public String process(Map<String, String> paramMap, Map<String, Object> model) {
+
+        List<Member> members = memberRepository.findByUsername(paramMap.get("username"), PagingParams.size(paramMap.get(PagingParams.SIZE)));
+        model.put("members", members);
+
+        return "members";
+    }
+
+}
@@ -0,0 +1,85 @@
+package mvc.ver1.web.frontcontroller.v5;
+
+/**
+ * 요청 한 건의 단계별 소요 시간(mapping, adapter, handle, render)
+ * traceDispatch 가 켜져 있을 때만 시간을 기록한다.
+ */
+public class DispatchTrace {
+
+    public static final String ATTRIBUTE = "frontControllerV5.dispatchTrace";
+
+    //꺼져 있으면 아무것도 기록하지 않으므로 요청마다 만들지 않고 공유한다
+    private static final DispatchTrace DISABLED = new DispatchTrace(false);
+
+    private final boolean enabled;
+
+    private long start;
+    private long mappingEnd;
+    private long adapterEnd;
+    private long handleEnd;
+    private long renderEnd;
+
+    public DispatchTrace(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) {
+            start = System.nanoTime();
+        }
+    }
+
+    public static DispatchTrace start(boolean enabled) {
+        return enabled ? new DispatchTrace(true) : DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void mappingDone() {
+        if (enabled) {
+            mappingEnd = System.nanoTime();
+        }
+    }
+
+    public void adapterDone() {
+        if (enabled) {
+            adapterEnd = System.nanoTime();
+        }
+    }
+
+    public void handleDone() {
+        if (enabled) {
+            handleEnd = System.nanoTime();
+        }
+    }
+
+    public void renderDone() {
+        if (enabled) {
+            renderEnd = System.nanoTime();
+        }
+    }
+
+    public long getMappingNanos() {
+        return mappingEnd - start;
+    }
+
+    public long getAdapterNanos() {
+        return adapterEnd - mappingEnd;
+    }
+
+    public long getHandleNanos() {
+        return handleEnd - adapterEnd;
+    }
+
+    public long getRenderNanos() {
+        return renderEnd - handleEnd;
+    }
+
+    @Override
+    public String toString() {
+        return "mapping=" + getMappingNanos() + "ns"
+                + ", adapter=" + getAdapterNanos() + "ns"
+                + ", handle=" + getHandleNanos() + "ns"
+                + ", render=" + getRenderNanos() + "ns";
+    }
+
+}
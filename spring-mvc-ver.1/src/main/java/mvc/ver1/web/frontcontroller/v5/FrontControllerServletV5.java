@@ -1,17 +1,42 @@
 package mvc.ver1.web.frontcontroller.v5;
 
+import lombok.extern.slf4j.Slf4j;
+import mvc.ver1.web.frontcontroller.ModelRecycler;
 import mvc.ver1.web.frontcontroller.ModelView;
 import mvc.ver1.web.frontcontroller.MyView;
+import mvc.ver1.web.frontcontroller.MyViewResolver;
+import mvc.ver1.web.frontcontroller.stats.ControllerStats;
+import mvc.ver1.web.frontcontroller.stats.FrontControllerStats;
+import mvc.ver1.web.frontcontroller.stats.RouteStats;
+import mvc.ver1.web.frontcontroller.stats.StartupStats;
+import mvc.ver1.web.frontcontroller.v3.controller.MemberAgeRangeControllerV3;
+import mvc.ver1.web.frontcontroller.v3.controller.MemberDetailControllerV3;
 import mvc.ver1.web.frontcontroller.v3.controller.MemberFormControllerV3;
 import mvc.ver1.web.frontcontroller.v3.controller.MemberListControllerV3;
 import mvc.ver1.web.frontcontroller.v3.controller.MemberSaveControllerV3;
+import mvc.ver1.web.frontcontroller.v3.controller.MemberSearchControllerV3;
+import mvc.ver1.web.frontcontroller.v4.controller.MemberAgeRangeControllerV4;
+import mvc.ver1.web.frontcontroller.v4.controller.MemberDetailControllerV4;
 import mvc.ver1.web.frontcontroller.v4.controller.MemberFormControllerV4;
 import mvc.ver1.web.frontcontroller.v4.controller.MemberListControllerV4;
 import mvc.ver1.web.frontcontroller.v4.controller.MemberSaveControllerV4;
+import mvc.ver1.web.frontcontroller.v4.controller.MemberSearchControllerV4;
+import mvc.ver1.web.frontcontroller.v5.adapter.AnnotationHandlerAdapter;
 import mvc.ver1.web.frontcontroller.v5.adapter.ControllerV3HandlerAdapter;
 import mvc.ver1.web.frontcontroller.v5.adapter.ControllerV4HandlerAdapter;
+import mvc.ver1.web.frontcontroller.v5.adapter.JsonNegotiatingHandlerAdapter;
+import mvc.ver1.web.frontcontroller.v5.adapter.StreamingControllerHandlerAdapter;
+import mvc.ver1.web.frontcontroller.v5.annotation.AnnotatedHandler;
+import mvc.ver1.web.frontcontroller.v5.annotation.AnnotationHandlerScanner;
+import mvc.ver1.web.frontcontroller.v5.controller.MemberImportController;
+import mvc.ver1.web.frontcontroller.v5.route.RouteTrie;
+import mvc.ver1.web.springmvc.v1.SpringMemberControllerV1;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
+import javax.servlet.annotation.WebInitParam;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -19,67 +44,386 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
-@WebServlet(name = "frontControllerServletV5", urlPatterns = "/front-controller/v5/*")
+@Slf4j
+@WebServlet(name = "frontControllerServletV5", urlPatterns = "/front-controller/v5/*", asyncSupported = true,
+        initParams = {
+                @WebInitParam(name = "traceDispatch", value = "false"),
+                @WebInitParam(name = "viewCacheLimit", value = "256"),
+                @WebInitParam(name = "devMode", value = "false"),
+                @WebInitParam(name = "viewEngine", value = "jsp"),
+                @WebInitParam(name = "asyncDispatch", value = "false"),
+                @WebInitParam(name = "asyncPoolSize", value = "16"),
+                @WebInitParam(name = "asyncQueueCapacity", value = "1000"),
+                @WebInitParam(name = "asyncTimeout", value = "30000"),
+                @WebInitParam(name = "warmUpHandlers", value = ""),
+                @WebInitParam(name = "recycleModel", value = "false")
+        })
 public class FrontControllerServletV5 extends HttpServlet {
 
-    private final Map<String, Object> handlerMappingMap = new HashMap<>();
+    private static final ThreadLocal<Map<String, String>> PATH_VARIABLES = ThreadLocal.withInitial(HashMap::new);
+
+    private final RouteTrie handlerMapping = new RouteTrie();
 
     private final List<MyHandlerAdapter> handlerAdapters = new ArrayList<>();
 
+    private final ControllerStats stats = FrontControllerStats.getInstance().controller("v5");
+    private final StartupStats startup = stats.getStartup();
+
+    //warm-up 용, 패턴 -> handler
+    private final Map<String, MappedHandler> registeredHandlers = new LinkedHashMap<>();
+
+    private boolean traceDispatch;
+
+    private MyViewResolver viewResolver;
+
+    //ModelView, model map 을 스레드별로 재사용(ModelRecycler), 동기 처리에서만 사용
+    private boolean recycleModel;
+
+    //asyncDispatch 가 켜져 있을 때만 사용
+    private boolean asyncDispatch;
+    private long asyncTimeout;
+    private ExecutorService asyncExecutor;
+
     public FrontControllerServletV5() {
-        initHandlerMappingMap();
+        long start = System.nanoTime();
         initHandlerAdapters();
+        initHandlerMappingMap();
+        handlerMapping.compile();
+        startup.recordRegistration(System.nanoTime() - start, registeredHandlers.size());
     }
 
-    private void initHandlerMappingMap() {
-        handlerMappingMap.put("/front-controller/v5/v3/members/new-form", new MemberFormControllerV3());
-        handlerMappingMap.put("/front-controller/v5/v3/members/save", new MemberSaveControllerV3());
-        handlerMappingMap.put("/front-controller/v5/v3/members", new MemberListControllerV3());
+    @Override
+    public void init() throws ServletException {
+        long start = System.nanoTime();
+        traceDispatch = Boolean.parseBoolean(getInitParameter("traceDispatch", "false"));
+        viewResolver = new MyViewResolver(Integer.parseInt(getInitParameter("viewCacheLimit", "256")),
+                Boolean.parseBoolean(getInitParameter("devMode", "false")),
+                "template".equals(getInitParameter("viewEngine", "jsp")));
 
-        handlerMappingMap.put("/front-controller/v5/v4/members/new-form", new MemberFormControllerV4());
-        handlerMappingMap.put("/front-controller/v5/v4/members/save", new MemberSaveControllerV4());
-        handlerMappingMap.put("/front-controller/v5/v4/members", new MemberListControllerV4());
+        asyncDispatch = Boolean.parseBoolean(getInitParameter("asyncDispatch", "false"));
+        recycleModel = !asyncDispatch && Boolean.parseBoolean(getInitParameter("recycleModel", "false"));
+        if (asyncDispatch) {
+            int poolSize = Integer.parseInt(getInitParameter("asyncPoolSize", "16"));
+            int queueCapacity = Integer.parseInt(getInitParameter("asyncQueueCapacity", "1000"));
+            asyncTimeout = Long.parseLong(getInitParameter("asyncTimeout", "30000"));
+            asyncExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), new AsyncThreadFactory());
+        }
+
+        int warmedUp = warmUp(getInitParameter("warmUpHandlers", ""));
+        startup.recordInit(System.nanoTime() - start, warmedUp);
+    }
+
+    /**
+     * warmUpHandlers 에 적은 패턴(쉼표 구분, * 이면 전체)의 handler 를 init 에서 미리 만든다.
+     * 나머지 handler 는 첫 요청 때 만든다.
+     */
+    private int warmUp(String warmUpHandlers) throws ServletException {
+        List<MappedHandler> targets = new ArrayList<>();
+        if (warmUpHandlers.trim().equals("*")) {
+            targets.addAll(registeredHandlers.values());
+        } else {
+            for (String pattern : warmUpHandlers.split(",")) {
+                if (pattern.isBlank()) {
+                    continue;
+                }
+                MappedHandler mappedHandler = registeredHandlers.get(pattern.trim());
+                if (mappedHandler == null) {
+                    throw new ServletException("warmUpHandlers 에 등록되지 않은 패턴이 있습니다. pattern=" + pattern.trim());
+                }
+                targets.add(mappedHandler);
+            }
+        }
+        targets.forEach(MappedHandler::warmUp);
+        return targets.size();
+    }
+
+    @Override
+    public void destroy() {
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+        }
+    }
+
+    private String getInitParameter(String name, String defaultValue) {
+        String value = getInitParameter(name);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * 생성자에서 호출, 재정의해서 handler 를 추가로 등록할 수 있다.
+     * handler 는 타입으로 등록해서 첫 요청 때 만든다(MemberRepository 초기화 등도 그때 일어난다), 미리 만들려면 warmUpHandlers 사용
+     */
+    protected void initHandlerMappingMap() {
+        registerHandler("/front-controller/v5/v3/members/new-form", MemberFormControllerV3.class);
+        registerHandler("/front-controller/v5/v3/members/save", MemberSaveControllerV3.class);
+        registerHandler("/front-controller/v5/v3/members", MemberListControllerV3.class);
+        registerHandler("/front-controller/v5/v3/members/{id}", MemberDetailControllerV3.class);
+        registerHandler("/front-controller/v5/v3/members/search", MemberSearchControllerV3.class);
+        registerHandler("/front-controller/v5/v3/members/age-range", MemberAgeRangeControllerV3.class);
+
+        registerHandler("/front-controller/v5/v4/members/new-form", MemberFormControllerV4.class);
+        registerHandler("/front-controller/v5/v4/members/save", MemberSaveControllerV4.class);
+        registerHandler("/front-controller/v5/v4/members", MemberListControllerV4.class);
+        registerHandler("/front-controller/v5/v4/members/{id}", MemberDetailControllerV4.class);
+        registerHandler("/front-controller/v5/v4/members/search", MemberSearchControllerV4.class);
+        registerHandler("/front-controller/v5/v4/members/age-range", MemberAgeRangeControllerV4.class);
+
+        registerHandler("/front-controller/v5/members/import", MemberImportController.class);
+
+        registerController("/front-controller/v5/springmvc", SpringMemberControllerV1.class);
+    }
+
+    /**
+     * 등록 시점에 adapter 를 찾아 handler 와 함께 저장, adapter 가 없으면 adapter miss 로 기록하고 서블릿 생성이 실패한다.
+     * 통계는 요청 URI 가 아닌 패턴 단위로 모은다.
+     */
+    protected void registerHandler(String pattern, Object handler) {
+        register(pattern, handler.getClass(), LazyInstance.created(handler));
+    }
+
+    /**
+     * 기본 생성자로 첫 요청(또는 warm-up) 때 만든다, 여러 요청이 동시에 와도 한 번만 만든다.
+     */
+    protected void registerHandler(String pattern, Class<?> handlerType) {
+        register(pattern, handlerType, LazyInstance.of(timed(LazyInstance.constructor(handlerType))));
+    }
+
+    /**
+     * @MyController 의 @MyRequestMapping 메서드를 URL 패턴별로 묶어 등록한다.
+     */
+    protected void registerController(String prefix, Object controller) {
+        for (AnnotatedHandler handler : AnnotationHandlerScanner.scan(prefix, controller)) {
+            registerHandler(handler.getPattern(), handler);
+        }
+    }
+
+    /**
+     * 매핑은 바로 스캔하고, controller 는 handler 메서드가 처음 호출될 때(또는 warm-up) 만든다.
+     */
+    protected void registerController(String prefix, Class<?> controllerType) {
+        LazyInstance<?> controller = LazyInstance.of(timed(LazyInstance.constructor(controllerType)));
+        for (AnnotatedHandler handler : AnnotationHandlerScanner.scan(prefix, controllerType, controller)) {
+            registerHandler(handler.getPattern(), handler);
+        }
+    }
+
+    private void register(String pattern, Class<?> handlerType, LazyInstance<?> handler) {
+        MyHandlerAdapter adapter = handlerAdapters.stream()
+                .filter(candidate -> candidate.supportsType(handlerType))
+                .findFirst()
+                .orElse(null);
+        if (adapter == null) {
+            stats.recordAdapterMiss();
+            throw new IllegalStateException("handler adapter를 찾을 수 없습니다. pattern=" + pattern + ", handler=" + handlerType.getName());
+        }
+        MappedHandler mappedHandler = new MappedHandler(pattern, handler, adapter, stats.route(pattern));
+        handlerMapping.add(pattern, mappedHandler);
+        registeredHandlers.put(pattern, mappedHandler);
+    }
+
+    private <T> Supplier<T> timed(Supplier<T> factory) {
+        return () -> {
+            long start = System.nanoTime();
+            T handler = factory.get();
+            startup.recordHandlerCreated(System.nanoTime() - start);
+            return handler;
+        };
     }
 
     private void initHandlerAdapters() {
         handlerAdapters.add(new ControllerV3HandlerAdapter());
-        handlerAdapters.add(new ControllerV4HandlerAdapter()); // V4 추가
+        handlerAdapters.add(new JsonNegotiatingHandlerAdapter(new ControllerV4HandlerAdapter())); // V4 추가, Accept 가 JSON 이면 JsonView
+        handlerAdapters.add(new StreamingControllerHandlerAdapter());
+        handlerAdapters.add(new AnnotationHandlerAdapter());
     }
 
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        Object handler = getHandler(request);
-        if (handler == null) {
+        DispatchTrace trace = DispatchTrace.start(traceDispatch);
+        long start = FrontControllerStats.now();
+
+        MappedHandler mappedHandler = getHandler(request);
+        if (mappedHandler == null) {
+            stats.recordNotFound();
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return;
         }
+        long mapped = FrontControllerStats.now();
+        mappedHandler.getStats().recordMapping(mapped - start);
+        trace.mappingDone();
 
-        MyHandlerAdapter adapter = getHandlerAdapter(handler);
-        ModelView mv = adapter.handle(request, response, handler);
+        if (asyncDispatch) {
+            dispatchAsync(request, response, mappedHandler, trace, start, mapped);
+            return;
+        }
 
-        MyView view = viewResolver(mv.getViewName());
-        view.render(mv.getModel(), request, response);
-    }
+        MyHandlerAdapter adapter = mappedHandler.getAdapter();
+        trace.adapterDone();
+
+        ModelRecycler recycler = recycleModel ? ModelRecycler.begin() : null;
+        try {
+            ModelView mv = adapter.handle(request, response, mappedHandler.getHandler());
+            long processed = FrontControllerStats.now();
+            mappedHandler.getStats().recordProcess(processed - mapped);
+            trace.handleDone();
+
+            //mv 가 null 이면 handler 가 응답을 직접 쓴 경우
+            if (mv != null) {
+                MyView view = resolveView(mv);
+                view.render(mv.getModel(), request, response);
+                mappedHandler.getStats().recordRender(FrontControllerStats.now() - processed);
+            }
+        } finally {
+            if (recycler != null) {
+                recycler.end();
+            }
+        }
+        trace.renderDone();
+        startup.recordFirstRequest(mappedHandler.getPattern(), FrontControllerStats.now() - start);
 
-    private Object getHandler(HttpServletRequest request) {
-        String requestURI = request.getRequestURI();
-        return handlerMappingMap.get(requestURI);
+        if (trace.isEnabled()) {
+            request.setAttribute(DispatchTrace.ATTRIBUTE, trace);
+            log.info("dispatch [{}] {}", request.getRequestURI(), trace);
+        }
     }
 
-    private MyHandlerAdapter getHandlerAdapter(Object handler) {
-        for (MyHandlerAdapter adapter : handlerAdapters) {
-            if (adapter.supports(handler)) {
-                return adapter;
+    /**
+     * 요청 스레드는 handler 실행을 맡기고 바로 반환된다.
+     * handler 가 끝나면 AsyncContext.dispatch 로 view 를 렌더링한다.
+     * process 통계에는 executor 대기 시간이 포함되고, render 는 dispatch 요청까지만 잰다.
+     */
+    private void dispatchAsync(HttpServletRequest request, HttpServletResponse response, MappedHandler mappedHandler, DispatchTrace trace,
+                               long start, long mapped) {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(asyncTimeout);
+        asyncContext.addListener(new AsyncTimeoutListener());
+
+        MyHandlerAdapter adapter = mappedHandler.getAdapter();
+        trace.adapterDone();
+
+        CompletionStage<ModelView> stage;
+        try {
+            stage = adapter.handleAsync(request, response, mappedHandler.getHandler(), asyncExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("async queue full [{}]", request.getRequestURI());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            asyncContext.complete();
+            return;
+        }
+
+        RouteStats route = mappedHandler.getStats();
+        stage.whenComplete((mv, ex) -> {
+            long processed = FrontControllerStats.now();
+            route.recordProcess(processed - mapped);
+            trace.handleDone();
+            try {
+                if (ex != null) {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("async handler error [{}]", request.getRequestURI(), cause);
+                    response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                    asyncContext.complete();
+                    return;
+                }
+                if (mv == null) {
+                    asyncContext.complete();
+                } else {
+                    MyView view = resolveView(mv);
+                    view.render(mv.getModel(), asyncContext);
+                    route.recordRender(FrontControllerStats.now() - processed);
+                }
+                trace.renderDone();
+                startup.recordFirstRequest(mappedHandler.getPattern(), FrontControllerStats.now() - start);
+                if (trace.isEnabled()) {
+                    request.setAttribute(DispatchTrace.ATTRIBUTE, trace);
+                    log.info("async dispatch [{}] {}", request.getRequestURI(), trace);
+                }
+            } catch (RuntimeException e) {
+                //view 조회, 렌더링 실패도 여기서 처리하지 않으면 아무도 보지 않는 stage 로 사라지고 timeout 까지 응답이 없다
+                failAsync(request, response, asyncContext, e);
             }
+        });
+    }
+
+    private static void failAsync(HttpServletRequest request, HttpServletResponse response, AsyncContext asyncContext, RuntimeException e) {
+        if (!request.isAsyncStarted()) {
+            //timeout 등으로 이미 완료된 요청
+            log.warn("async request already completed [{}]", request.getRequestURI());
+            return;
+        }
+        log.error("async render error [{}]", request.getRequestURI(), e);
+        try {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            asyncContext.complete();
+        } catch (IllegalStateException alreadyCompleted) {
+            log.warn("async request already completed [{}]", request.getRequestURI());
         }
-        throw new IllegalArgumentException("handler adapter를 찾을 수 없습니다. handler=" + handler);
     }
 
-    private MyView viewResolver(String viewName) {
-        return new MyView("/WEB-INF/views/" + viewName + ".jsp");
+    private MyView resolveView(ModelView mv) {
+        return mv.getView() != null ? mv.getView() : viewResolver.resolve(mv.getViewName());
+    }
+
+    /**
+     * 경로 변수는 스레드별로 재사용하는 맵에 받고, 변수가 있는 요청에서만 복사해 요청 속성으로 넘긴다.
+     */
+    private MappedHandler getHandler(HttpServletRequest request) {
+        Map<String, String> pathVariables = PATH_VARIABLES.get();
+        pathVariables.clear();
+        MappedHandler mappedHandler = (MappedHandler) handlerMapping.match(request.getRequestURI(), pathVariables);
+        if (mappedHandler != null && !pathVariables.isEmpty()) {
+            request.setAttribute(HandlerMappingConst.PATH_VARIABLES, new HashMap<>(pathVariables));
+        }
+        return mappedHandler;
+    }
+
+    private static class AsyncTimeoutListener implements AsyncListener {
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            ((HttpServletResponse) event.getSuppliedResponse()).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            event.getAsyncContext().complete();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+    }
+
+    private static class AsyncThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "front-controller-v5-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,5 @@
+package mvc.ver1.web.frontcontroller.v5;
+
+public interface HandlerMappingConst {
+    String PATH_VARIABLES = "frontControllerV5.pathVariables";
+}
@@ -0,0 +1,64 @@
+package mvc.ver1.web.frontcontroller.v5;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.Supplier;
+
+/**
+ * 처음 get 할 때 한 번만 만드는 인스턴스, 여러 스레드가 동시에 get 해도 factory 는 한 번만 호출된다(double-checked locking).
+ * 만든 뒤의 get 은 volatile 읽기 한 번
+ */
+public final class LazyInstance<T> implements Supplier<T> {
+
+    private Supplier<? extends T> factory; //만든 뒤에는 null, synchronized(this)
+    private volatile T instance;
+
+    private LazyInstance(Supplier<? extends T> factory, T instance) {
+        this.factory = factory;
+        this.instance = instance;
+    }
+
+    public static <T> LazyInstance<T> of(Supplier<? extends T> factory) {
+        return new LazyInstance<>(factory, null);
+    }
+
+    public static <T> LazyInstance<T> created(T instance) {
+        return new LazyInstance<>(null, instance);
+    }
+
+    /**
+     * 기본 생성자로 만든다.
+     */
+    public static <T> Supplier<T> constructor(Class<T> type) {
+        return () -> {
+            try {
+                return type.getDeclaredConstructor().newInstance();
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("handler 생성에 실패했습니다. " + type.getName(), e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("기본 생성자로 handler 를 만들 수 없습니다. " + type.getName(), e);
+            }
+        };
+    }
+
+    @Override
+    public T get() {
+        T value = instance;
+        return value != null ? value : create();
+    }
+
+    public boolean isCreated() {
+        return instance != null;
+    }
+
+    private synchronized T create() {
+        T value = instance;
+        if (value == null) {
+            //factory 가 실패하면 다음 get 에서 다시 시도
+            value = factory.get();
+            instance = value;
+            factory = null;
+        }
+        return value;
+    }
+
+}
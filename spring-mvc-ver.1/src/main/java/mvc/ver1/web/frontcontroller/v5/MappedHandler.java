@@ -0,0 +1,57 @@
+package mvc.ver1.web.frontcontroller.v5;
+
+import mvc.ver1.web.frontcontroller.stats.RouteStats;
+
+/**
+ * handler 와 handler 를 처리할 adapter 를 등록 시점에 묶어둔다.
+ * 요청마다 handlerAdapters 를 순회하며 supports 를 호출하지 않아도 된다.
+ * 통계를 기록할 RouteStats 도 함께 찾아 둔다.
+ *
+ * handler 는 타입으로 등록하면 첫 요청(또는 warm-up) 때 만든다, adapter 는 타입으로 미리 정한다.
+ */
+public class MappedHandler {
+
+    private final String pattern;
+    private final LazyInstance<?> handler;
+    private final MyHandlerAdapter adapter;
+    private final RouteStats stats;
+
+    public MappedHandler(Object handler, MyHandlerAdapter adapter, RouteStats stats) {
+        this(null, LazyInstance.created(handler), adapter, stats);
+    }
+
+    public MappedHandler(String pattern, LazyInstance<?> handler, MyHandlerAdapter adapter, RouteStats stats) {
+        this.pattern = pattern;
+        this.handler = handler;
+        this.adapter = adapter;
+        this.stats = stats;
+    }
+
+    public Object getHandler() {
+        return handler.get();
+    }
+
+    public boolean isHandlerCreated() {
+        return handler.isCreated();
+    }
+
+    /**
+     * handler 와 adapter 가 지연시킨 준비 작업을 미리 한다.
+     */
+    public void warmUp() {
+        adapter.warmUp(getHandler());
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public MyHandlerAdapter getAdapter() {
+        return adapter;
+    }
+
+    public RouteStats getStats() {
+        return stats;
+    }
+
+}
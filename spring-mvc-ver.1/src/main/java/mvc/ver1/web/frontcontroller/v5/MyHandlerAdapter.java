@@ -6,11 +6,42 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 public interface MyHandlerAdapter {
 
-    boolean supports(Object handler);
+    default boolean supports(Object handler) {
+        return supportsType(handler.getClass());
+    }
+
+    /**
+     * handler 를 만들기 전에 타입만으로 adapter 를 정할 때 사용
+     */
+    boolean supportsType(Class<?> handlerType);
 
     ModelView handle(HttpServletRequest request, HttpServletResponse response, Object handler) throws ServletException, IOException;
 
+    /**
+     * 첫 요청 전에 미리 해 둘 준비 작업, 기본은 없음
+     */
+    default void warmUp(Object handler) {
+    }
+
+    /**
+     * 비동기 모드에서 호출, 기본 구현은 handle 을 executor 스레드에서 실행한다.
+     * 스스로 CompletionStage 를 만들 수 있는 adapter 는 재정의해서 executor 스레드도 점유하지 않을 수 있다.
+     */
+    default CompletionStage<ModelView> handleAsync(HttpServletRequest request, HttpServletResponse response, Object handler, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return handle(request, response, handler);
+            } catch (ServletException | IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
 }
@@ -0,0 +1,15 @@
+package mvc.ver1.web.frontcontroller.v5;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청 본문을 직접 읽고 응답을 직접 쓰는 handler, view 렌더링을 거치지 않는다.
+ * 본문 전체를 paramMap/model 에 담을 수 없는 대용량 요청/응답에 사용
+ */
+public interface StreamingController {
+
+    void process(HttpServletRequest request, HttpServletResponse response) throws IOException;
+
+}
@@ -0,0 +1,43 @@
+package mvc.ver1.web.frontcontroller.v5.adapter;
+
+import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.v5.MyHandlerAdapter;
+import mvc.ver1.web.frontcontroller.v5.annotation.AnnotatedHandler;
+import mvc.ver1.web.frontcontroller.v5.annotation.HandlerMethod;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public class AnnotationHandlerAdapter implements MyHandlerAdapter {
+
+    @Override
+    public boolean supportsType(Class<?> handlerType) {
+        return AnnotatedHandler.class.isAssignableFrom(handlerType);
+    }
+
+    /**
+     * controller 생성과 handler 메서드 호출부 생성을 미리 한다.
+     */
+    @Override
+    public void warmUp(Object handler) {
+        ((AnnotatedHandler) handler).warmUp();
+    }
+
+    @Override
+    public ModelView handle(HttpServletRequest request, HttpServletResponse response, Object handler) throws ServletException, IOException {
+
+        AnnotatedHandler annotatedHandler = (AnnotatedHandler) handler;
+
+        HandlerMethod handlerMethod = annotatedHandler.getHandlerMethod(request.getMethod());
+        if (handlerMethod == null) {
+            response.setHeader("Allow", annotatedHandler.getAllowedMethods());
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return null;
+        }
+
+        return handlerMethod.handle(request, response);
+    }
+
+}
@@ -1,21 +1,23 @@
 package mvc.ver1.web.frontcontroller.v5.adapter;
 
+import mvc.ver1.web.frontcontroller.BadRequestException;
 import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.RequestParamMap;
 import mvc.ver1.web.frontcontroller.v3.ControllerV3;
+import mvc.ver1.web.frontcontroller.v5.HandlerMappingConst;
 import mvc.ver1.web.frontcontroller.v5.MyHandlerAdapter;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 
 public class ControllerV3HandlerAdapter implements MyHandlerAdapter {
 
     @Override
-    public boolean supports(Object handler) {
-        return (handler instanceof ControllerV3);
+    public boolean supportsType(Class<?> handlerType) {
+        return ControllerV3.class.isAssignableFrom(handlerType);
     }
 
     @Override
@@ -24,18 +26,25 @@ public class ControllerV3HandlerAdapter implements MyHandlerAdapter {
         ControllerV3 controller = (ControllerV3) handler;
         Map<String, String> paramMap = createParamMap(request);
 
-        ModelView mv = controller.process(paramMap);
+        ModelView mv;
+        try {
+            mv = controller.process(paramMap);
+        } catch (BadRequestException e) {
+            //숫자가 아닌 경로 변수, 파라미터(/members/abc 등)
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return null;
+        }
 
         return mv;
     }
 
     private Map<String, String> createParamMap(HttpServletRequest request) {
 
-        Map<String, String> paramMap = new HashMap<>();
+        //URL 경로 변수(/members/{id})도 paramMap 으로 전달
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMappingConst.PATH_VARIABLES);
 
-        request.getParameterNames().asIterator().forEachRemaining(paramName -> paramMap.put(paramName, request.getParameter(paramName)));
-
-        return paramMap;
+        return new RequestParamMap(request, pathVariables);
     }
 
 }
\ No newline at end of file
@@ -1,21 +1,23 @@
 package mvc.ver1.web.frontcontroller.v5.adapter;
 
+import mvc.ver1.web.frontcontroller.BadRequestException;
 import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.RequestParamMap;
 import mvc.ver1.web.frontcontroller.v4.ControllerV4;
+import mvc.ver1.web.frontcontroller.v5.HandlerMappingConst;
 import mvc.ver1.web.frontcontroller.v5.MyHandlerAdapter;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 
 public class ControllerV4HandlerAdapter implements MyHandlerAdapter {
 
     @Override
-    public boolean supports(Object handler) {
-        return (handler instanceof ControllerV4);
+    public boolean supportsType(Class<?> handlerType) {
+        return ControllerV4.class.isAssignableFrom(handlerType);
     }
 
     @Override
@@ -24,23 +26,29 @@ public class ControllerV4HandlerAdapter implements MyHandlerAdapter {
         ControllerV4 controller = (ControllerV4) handler;
 
         Map<String, String> paramMap = createParamMap(request);
-        Map<String, Object> model = new HashMap<>();
-
-        String viewName = controller.process(paramMap, model);
-
-        ModelView mv = new ModelView(viewName);
-        mv.setModel(model);
+        //view 이름은 process 뒤에 정해지므로 ModelView 의 model 을 그대로 넘긴다
+        ModelView mv = ModelView.create(null);
+
+        String viewName;
+        try {
+            viewName = controller.process(paramMap, mv.getModel());
+        } catch (BadRequestException e) {
+            //숫자가 아닌 경로 변수, 파라미터(/members/abc 등)
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return null;
+        }
+        mv.setViewName(viewName);
 
         return mv;
     }
 
     private Map<String, String> createParamMap(HttpServletRequest request) {
 
-        Map<String, String> paramMap = new HashMap<>();
-
-        request.getParameterNames().asIterator().forEachRemaining(paramName -> paramMap.put(paramName, request.getParameter(paramName)));
+        //URL 경로 변수(/members/{id})도 paramMap 으로 전달
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMappingConst.PATH_VARIABLES);
 
-        return paramMap;
+        return new RequestParamMap(request, pathVariables);
     }
 
 }
\ No newline at end of file
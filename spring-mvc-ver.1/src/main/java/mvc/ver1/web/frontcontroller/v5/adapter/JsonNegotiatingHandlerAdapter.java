@@ -0,0 +1,61 @@
+package mvc.ver1.web.frontcontroller.v5.adapter;
+
+import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.json.AcceptHeader;
+import mvc.ver1.web.frontcontroller.json.JsonView;
+import mvc.ver1.web.frontcontroller.v5.MyHandlerAdapter;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * 다른 adapter 를 감싸서 Accept 헤더가 JSON 을 원하면 view 이름 대신 JsonView 로 렌더링하게 한다.
+ * handler 는 그대로 실행하고 model 만 JSON 으로 쓴다, 같은 URL 이 Accept 에 따라 달라지므로 Vary: Accept 를 붙인다.
+ */
+public class JsonNegotiatingHandlerAdapter implements MyHandlerAdapter {
+
+    private final MyHandlerAdapter delegate;
+
+    public JsonNegotiatingHandlerAdapter(MyHandlerAdapter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supports(Object handler) {
+        return delegate.supports(handler);
+    }
+
+    @Override
+    public boolean supportsType(Class<?> handlerType) {
+        return delegate.supportsType(handlerType);
+    }
+
+    @Override
+    public ModelView handle(HttpServletRequest request, HttpServletResponse response, Object handler) throws ServletException, IOException {
+        return negotiate(request, response, delegate.handle(request, response, handler));
+    }
+
+    @Override
+    public CompletionStage<ModelView> handleAsync(HttpServletRequest request, HttpServletResponse response, Object handler, Executor executor) {
+        return delegate.handleAsync(request, response, handler, executor)
+                .thenApply(mv -> negotiate(request, response, mv));
+    }
+
+    @Override
+    public void warmUp(Object handler) {
+        delegate.warmUp(handler);
+    }
+
+    private ModelView negotiate(HttpServletRequest request, HttpServletResponse response, ModelView mv) {
+        response.addHeader("Vary", "Accept");
+        if (mv != null && AcceptHeader.prefersJson(request.getHeader("Accept"))) {
+            mv.setView(JsonView.getInstance());
+        }
+        return mv;
+    }
+
+}
@@ -0,0 +1,31 @@
+package mvc.ver1.web.frontcontroller.v5.adapter;
+
+import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.v5.MyHandlerAdapter;
+import mvc.ver1.web.frontcontroller.v5.StreamingController;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public class StreamingControllerHandlerAdapter implements MyHandlerAdapter {
+
+    @Override
+    public boolean supportsType(Class<?> handlerType) {
+        return StreamingController.class.isAssignableFrom(handlerType);
+    }
+
+    /**
+     * 응답은 controller 가 이미 썼으므로 렌더링할 view 가 없다(null).
+     */
+    @Override
+    public ModelView handle(HttpServletRequest request, HttpServletResponse response, Object handler) throws ServletException, IOException {
+
+        StreamingController controller = (StreamingController) handler;
+        controller.process(request, response);
+
+        return null;
+    }
+
+}
@@ -0,0 +1,67 @@
+package mvc.ver1.web.frontcontroller.v5.annotation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * URL 패턴 하나에 매핑된 handler 메서드들, HTTP method 별로 고른다.
+ * method 를 지정하지 않은 handler 메서드는 나머지 모든 method 를 받는다.
+ */
+public class AnnotatedHandler {
+
+    private final String pattern;
+    private final Map<String, HandlerMethod> handlerMethods = new LinkedHashMap<>();
+    private HandlerMethod anyMethod;
+
+    public AnnotatedHandler(String pattern) {
+        this.pattern = pattern;
+    }
+
+    void add(String[] httpMethods, HandlerMethod handlerMethod) {
+        if (httpMethods.length == 0) {
+            if (anyMethod != null) {
+                throw duplicate("*", handlerMethod);
+            }
+            anyMethod = handlerMethod;
+            return;
+        }
+        for (String httpMethod : httpMethods) {
+            if (handlerMethods.putIfAbsent(httpMethod.toUpperCase(), handlerMethod) != null) {
+                throw duplicate(httpMethod, handlerMethod);
+            }
+        }
+    }
+
+    /**
+     * @return 처리할 handler 메서드가 없으면 null
+     */
+    public HandlerMethod getHandlerMethod(String httpMethod) {
+        HandlerMethod handlerMethod = handlerMethods.get(httpMethod);
+        return handlerMethod == null ? anyMethod : handlerMethod;
+    }
+
+    public void warmUp() {
+        handlerMethods.values().forEach(HandlerMethod::prepare);
+        if (anyMethod != null) {
+            anyMethod.prepare();
+        }
+    }
+
+    public String getAllowedMethods() {
+        return String.join(", ", handlerMethods.keySet());
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    private IllegalStateException duplicate(String httpMethod, HandlerMethod handlerMethod) {
+        return new IllegalStateException("중복된 매핑입니다. " + httpMethod + " " + pattern + " " + handlerMethod);
+    }
+
+    @Override
+    public String toString() {
+        return pattern + " " + handlerMethods.keySet() + (anyMethod == null ? "" : " *");
+    }
+
+}
@@ -0,0 +1,170 @@
+package mvc.ver1.web.frontcontroller.v5.annotation;
+
+import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.v5.HandlerMappingConst;
+import mvc.ver1.web.frontcontroller.v5.LazyInstance;
+import mvc.ver1.web.springmvc.annotation.MyController;
+import mvc.ver1.web.springmvc.annotation.MyPathVariable;
+import mvc.ver1.web.springmvc.annotation.MyRequestMapping;
+import mvc.ver1.web.springmvc.annotation.MyRequestParam;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * @MyController 객체를 시작 시 한 번 스캔해서 URL 패턴별 AnnotatedHandler 를 만든다.
+ * 리플렉션은 여기서만 사용하고, 요청 처리 시에는 미리 만든 resolver 와 HandlerInvoker 만 호출한다.
+ *
+ * 지원 파라미터 : HttpServletRequest, HttpServletResponse, Map(model), @MyRequestParam, @MyPathVariable
+ * 지원 반환 타입 : String(view 이름), ModelView, void(응답 직접 작성)
+ */
+public class AnnotationHandlerScanner {
+
+    private AnnotationHandlerScanner() {
+    }
+
+    public static List<AnnotatedHandler> scan(String prefix, Object controller) {
+        return scan(prefix, controller.getClass(), LazyInstance.created(controller));
+    }
+
+    /**
+     * 매핑과 파라미터 검증은 바로 하고, controller 생성과 호출부(HandlerInvoker) 생성은 각 handler 메서드의 첫 호출까지 미룬다.
+     */
+    public static List<AnnotatedHandler> scan(String prefix, Class<?> type, LazyInstance<?> controller) {
+        if (!type.isAnnotationPresent(MyController.class)) {
+            throw new IllegalArgumentException("@MyController 가 없습니다. " + type.getName());
+        }
+        MyRequestMapping typeMapping = type.getAnnotation(MyRequestMapping.class);
+        String basePath = prefix + (typeMapping == null ? "" : typeMapping.value());
+
+        //getDeclaredMethods 순서는 정해져 있지 않으므로 이름순으로 등록
+        Method[] methods = type.getDeclaredMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+
+        Map<String, AnnotatedHandler> handlers = new LinkedHashMap<>();
+        for (Method method : methods) {
+            MyRequestMapping mapping = method.getAnnotation(MyRequestMapping.class);
+            if (mapping == null || method.isSynthetic()) {
+                continue;
+            }
+            checkReturnType(method);
+            HandlerMethod handlerMethod = controller.isCreated()
+                    ? new HandlerMethod(method, resolvers(method), HandlerInvokers.create(controller.get(), method))
+                    : new HandlerMethod(method, resolvers(method), () -> HandlerInvokers.create(controller.get(), method));
+            String pattern = basePath + mapping.value();
+            handlers.computeIfAbsent(pattern, AnnotatedHandler::new).add(mapping.method(), handlerMethod);
+        }
+        if (handlers.isEmpty()) {
+            throw new IllegalArgumentException("@MyRequestMapping 메서드가 없습니다. " + type.getName());
+        }
+        return new ArrayList<>(handlers.values());
+    }
+
+    private static void checkReturnType(Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType != String.class && returnType != ModelView.class && returnType != void.class) {
+            throw new IllegalArgumentException("지원하지 않는 반환 타입입니다. " + method);
+        }
+    }
+
+    static HandlerMethod.ArgumentResolver[] resolvers(Method method) {
+        Parameter[] parameters = method.getParameters();
+        HandlerMethod.ArgumentResolver[] resolvers = new HandlerMethod.ArgumentResolver[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            resolvers[i] = resolver(method, parameters[i]);
+        }
+        return resolvers;
+    }
+
+    private static HandlerMethod.ArgumentResolver resolver(Method method, Parameter parameter) {
+        Class<?> type = parameter.getType();
+        MyRequestParam requestParam = parameter.getAnnotation(MyRequestParam.class);
+        if (requestParam != null) {
+            String name = name(method, parameter, requestParam.value());
+            boolean required = requestParam.required();
+            if (!required && type.isPrimitive()) {
+                throw new IllegalArgumentException("기본형 파라미터는 required=false 를 쓸 수 없습니다. " + name + " " + method);
+            }
+            Function<String, Object> converter = converter(method, type, name);
+            return (request, response, model) -> {
+                String value = request.getParameter(name);
+                if (value == null || value.isEmpty()) {
+                    if (required) {
+                        throw new IllegalArgumentException("필수 파라미터가 없습니다. " + name);
+                    }
+                    return null;
+                }
+                return converter.apply(value);
+            };
+        }
+        MyPathVariable pathVariable = parameter.getAnnotation(MyPathVariable.class);
+        if (pathVariable != null) {
+            String name = name(method, parameter, pathVariable.value());
+            Function<String, Object> converter = converter(method, type, name);
+            return (request, response, model) -> {
+                @SuppressWarnings("unchecked")
+                Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMappingConst.PATH_VARIABLES);
+                String value = pathVariables == null ? null : pathVariables.get(name);
+                if (value == null) {
+                    throw new IllegalArgumentException("경로 변수가 없습니다. " + name);
+                }
+                return converter.apply(value);
+            };
+        }
+        if (type == HttpServletRequest.class) {
+            return (request, response, model) -> request;
+        }
+        if (type == HttpServletResponse.class) {
+            return (request, response, model) -> response;
+        }
+        if (type == Map.class) {
+            return (request, response, model) -> model;
+        }
+        throw new IllegalArgumentException("지원하지 않는 파라미터입니다. " + parameter + " " + method);
+    }
+
+    private static String name(Method method, Parameter parameter, String value) {
+        if (!value.isEmpty()) {
+            return value;
+        }
+        if (!parameter.isNamePresent()) {
+            throw new IllegalArgumentException("파라미터 이름을 알 수 없습니다, value 를 지정하거나 -parameters 로 컴파일하세요. " + method);
+        }
+        return parameter.getName();
+    }
+
+    private static Function<String, Object> converter(Method method, Class<?> type, String name) {
+        if (type == String.class) {
+            return value -> value;
+        }
+        if (type == int.class || type == Integer.class) {
+            return value -> {
+                try {
+                    return Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(name + " 는 숫자여야 합니다.");
+                }
+            };
+        }
+        if (type == long.class || type == Long.class) {
+            return value -> {
+                try {
+                    return Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(name + " 는 숫자여야 합니다.");
+                }
+            };
+        }
+        throw new IllegalArgumentException("지원하지 않는 파라미터 타입입니다. " + type.getName() + " " + name + " " + method);
+    }
+
+}
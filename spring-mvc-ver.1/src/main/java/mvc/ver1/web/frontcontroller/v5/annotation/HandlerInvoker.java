@@ -0,0 +1,11 @@
+package mvc.ver1.web.frontcontroller.v5.annotation;
+
+/**
+ * handler 메서드 호출, 인자는 메서드 파라미터 순서대로 담긴다.
+ */
+@FunctionalInterface
+public interface HandlerInvoker {
+
+    Object invoke(Object[] args) throws Exception;
+
+}
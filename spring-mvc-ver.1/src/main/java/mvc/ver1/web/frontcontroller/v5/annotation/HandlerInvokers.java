@@ -0,0 +1,118 @@
+package mvc.ver1.web.frontcontroller.v5.annotation;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * handler 메서드를 Method.invoke 없이 호출하는 HandlerInvoker 생성
+ *
+ * 파라미터 4개 이하이고 값을 반환하는 메서드는 LambdaMetafactory 로 controller 를 캡처한 ArityN 구현을 만든다.
+ * 생성된 클래스가 메서드를 직접 호출하므로 JIT 가 handler 까지 인라인할 수 있다(기본형 파라미터는 wrapper 에서 unboxing).
+ * 그 외(void, 파라미터 5개 이상)는 bindTo + asSpreader 한 MethodHandle 의 invokeExact 로 호출한다.
+ */
+public final class HandlerInvokers {
+
+    private static final Class<?>[] ARITIES = {Arity0.class, Arity1.class, Arity2.class, Arity3.class, Arity4.class};
+
+    private HandlerInvokers() {
+    }
+
+    public static HandlerInvoker create(Object bean, Method method) {
+        MethodHandles.Lookup lookup;
+        MethodHandle handle;
+        try {
+            //controller 패키지 권한으로 찾아서 public 이 아닌 메서드도 호출할 수 있게 한다
+            lookup = MethodHandles.privateLookupIn(bean.getClass(), MethodHandles.lookup());
+            handle = lookup.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("handler 메서드에 접근할 수 없습니다. " + method, e);
+        }
+        int arity = method.getParameterCount();
+        if (arity < ARITIES.length && method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) {
+            return lambda(lookup, handle, bean, method, arity);
+        }
+        return methodHandle(handle, bean, method);
+    }
+
+    static HandlerInvoker methodHandle(MethodHandle handle, Object bean, Method method) {
+        MethodHandle bound = Modifier.isStatic(method.getModifiers()) ? handle : handle.bindTo(bean);
+        MethodHandle spread = bound.asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return args -> {
+            try {
+                return (Object) spread.invokeExact(args);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static HandlerInvoker lambda(MethodHandles.Lookup lookup, MethodHandle handle, Object bean, Method method, int arity) {
+        Class<?> arityType = ARITIES[arity];
+        MethodType samType = MethodType.genericMethodType(arity);
+        //인터페이스의 Object 인자를 실제 파라미터 타입으로 cast, 기본형은 wrapper 로 받아 unboxing
+        MethodType instantiatedType = handle.type().dropParameterTypes(0, 1).wrap();
+        Object function;
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "invoke",
+                    MethodType.methodType(arityType, bean.getClass()), samType, handle, instantiatedType);
+            function = callSite.getTarget().invoke(bean);
+        } catch (LambdaConversionException e) {
+            return methodHandle(handle, bean, method);
+        } catch (Throwable e) {
+            throw new IllegalStateException("handler 호출부를 만들 수 없습니다. " + method, e);
+        }
+        switch (arity) {
+            case 0: {
+                Arity0 f = (Arity0) function;
+                return args -> f.invoke();
+            }
+            case 1: {
+                Arity1 f = (Arity1) function;
+                return args -> f.invoke(args[0]);
+            }
+            case 2: {
+                Arity2 f = (Arity2) function;
+                return args -> f.invoke(args[0], args[1]);
+            }
+            case 3: {
+                Arity3 f = (Arity3) function;
+                return args -> f.invoke(args[0], args[1], args[2]);
+            }
+            default: {
+                Arity4 f = (Arity4) function;
+                return args -> f.invoke(args[0], args[1], args[2], args[3]);
+            }
+        }
+    }
+
+    //LambdaMetafactory 가 controller 패키지에 구현 클래스를 만들므로 public
+    public interface Arity0 {
+        Object invoke() throws Exception;
+    }
+
+    public interface Arity1 {
+        Object invoke(Object a0) throws Exception;
+    }
+
+    public interface Arity2 {
+        Object invoke(Object a0, Object a1) throws Exception;
+    }
+
+    public interface Arity3 {
+        Object invoke(Object a0, Object a1, Object a2) throws Exception;
+    }
+
+    public interface Arity4 {
+        Object invoke(Object a0, Object a1, Object a2, Object a3) throws Exception;
+    }
+
+}
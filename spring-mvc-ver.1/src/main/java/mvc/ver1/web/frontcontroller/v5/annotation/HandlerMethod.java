@@ -0,0 +1,89 @@
+package mvc.ver1.web.frontcontroller.v5.annotation;
+
+import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.v5.LazyInstance;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 시작 시 만들어 둔 인자 resolver 와 HandlerInvoker 로 handler 메서드 하나를 처리한다.
+ * 반환값이 String 이면 view 이름(model 과 함께), ModelView 면 그대로, void 나 null 이면 handler 가 응답을 직접 쓴 것으로 본다.
+ * invoker 를 Supplier 로 받으면 첫 호출(또는 prepare) 때 만든다.
+ */
+public class HandlerMethod {
+
+    private final Method method;
+    private final ArgumentResolver[] resolvers;
+    private final LazyInstance<HandlerInvoker> invoker;
+
+    public HandlerMethod(Method method, ArgumentResolver[] resolvers, HandlerInvoker invoker) {
+        this.method = method;
+        this.resolvers = resolvers;
+        this.invoker = LazyInstance.created(invoker);
+    }
+
+    public HandlerMethod(Method method, ArgumentResolver[] resolvers, Supplier<HandlerInvoker> invokerFactory) {
+        this.method = method;
+        this.resolvers = resolvers;
+        this.invoker = LazyInstance.of(invokerFactory);
+    }
+
+    /**
+     * 지연된 invoker(와 controller)를 미리 만든다.
+     */
+    public void prepare() {
+        invoker.get();
+    }
+
+    public ModelView handle(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        //String 을 반환하면 이 ModelView 를 그대로 쓴다
+        ModelView mv = ModelView.create(null);
+        Map<String, Object> model = mv.getModel();
+        Object[] args = new Object[resolvers.length];
+        try {
+            for (int i = 0; i < resolvers.length; i++) {
+                args[i] = resolvers[i].resolve(request, response, model);
+            }
+        } catch (IllegalArgumentException e) {
+            //파라미터 누락, 변환 실패
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return null;
+        }
+
+        Object result;
+        try {
+            result = invoker.get().invoke(args);
+        } catch (ServletException | IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException("handler 처리 중 예외가 발생했습니다. " + method, e);
+        }
+
+        if (result instanceof String) {
+            mv.setViewName((String) result);
+            return mv;
+        }
+        return (ModelView) result;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public String toString() {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    @FunctionalInterface
+    public interface ArgumentResolver {
+        Object resolve(HttpServletRequest request, HttpServletResponse response, Map<String, Object> model);
+    }
+
+}
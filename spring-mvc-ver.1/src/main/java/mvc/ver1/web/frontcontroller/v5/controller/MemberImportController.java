@@ -0,0 +1,151 @@
+package mvc.ver1.web.frontcontroller.v5.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.v5.StreamingController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 회원 대량 가져오기, POST 본문을 한 줄씩 읽어 batchSize 건씩 MemberRepository.saveAll 로 저장한다.
+ * 형식은 ?format=csv|ndjson, 없으면 Content-Type(text/csv, application/x-ndjson)으로 정한다.
+ * CSV 첫 줄이 username,age 이면(앞뒤 공백, 대소문자 무시) 헤더로 보고 건너뛴다.
+ *
+ * 본문 전체나 오류 목록을 메모리에 모으지 않는다, 잘못된 줄은 건너뛰고 "line N: 사유" 로 바로 응답에 쓰고
+ * 마지막에 "imported=.. failed=.." 요약을 쓴다. 오류 줄은 maxErrors(기본 1000)개까지만 쓰고 개수는 끝까지 센다.
+ * 저장 중 실패하면 이전 batch 까지는 저장된 상태로 "aborted ..." 요약을 쓰고 멈춘다,
+ * 응답이 아직 commit 되지 않았으면 상태 코드도 500 으로 바꾼다(commit 된 뒤에는 요약 줄로만 알 수 있다).
+ */
+@Slf4j
+public class MemberImportController implements StreamingController {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 10_000;
+    public static final int DEFAULT_MAX_ERRORS = 1000;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @Override
+    public void process(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!"POST".equals(request.getMethod())) {
+            response.setHeader("Allow", "POST");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+        Format format = Format.of(request.getParameter("format"), request.getContentType());
+        if (format == null) {
+            response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE, "text/csv 또는 application/x-ndjson 만 지원합니다.");
+            return;
+        }
+        int batchSize;
+        int maxErrors;
+        try {
+            batchSize = intParameter(request, "batchSize", DEFAULT_BATCH_SIZE, 1, MAX_BATCH_SIZE);
+            maxErrors = intParameter(request, "maxErrors", DEFAULT_MAX_ERRORS, 0, Integer.MAX_VALUE);
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "batchSize, maxErrors 는 숫자여야 합니다.");
+            return;
+        }
+
+        Charset charset = request.getCharacterEncoding() == null ? StandardCharsets.UTF_8 : Charset.forName(request.getCharacterEncoding());
+        response.setContentType("text/plain");
+        response.setCharacterEncoding("utf-8");
+        PrintWriter out = response.getWriter();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset), READ_BUFFER_SIZE);
+        List<Member> batch = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+        long imported = 0;
+        long failed = 0;
+        String line;
+        try {
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || format == Format.CSV && lineNumber == 1 && MemberRowParser.isCsvHeader(line)) {
+                    continue;
+                }
+                try {
+                    batch.add(format == Format.CSV ? MemberRowParser.csv(line) : MemberRowParser.json(line));
+                } catch (IllegalArgumentException e) {
+                    if (++failed <= maxErrors) {
+                        out.print("line " + lineNumber + ": " + e.getMessage() + "\n");
+                    } else if (failed == maxErrors + 1L) {
+                        out.print("이후 오류 줄은 생략합니다.\n");
+                    }
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    //saveAll 은 Member 만 저장하므로 목록은 재사용
+                    save(batch);
+                    imported += batch.size();
+                    batch.clear();
+                }
+            }
+            save(batch);
+            imported += batch.size();
+        } catch (RuntimeException e) {
+            log.error("member import aborted at line {}", lineNumber, e);
+            if (!response.isCommitted()) {
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+            out.print("aborted line=" + lineNumber + " imported=" + imported + " failed=" + failed + "\n");
+            return;
+        }
+        out.print("imported=" + imported + " failed=" + failed + "\n");
+    }
+
+    void save(List<Member> batch) {
+        memberRepository.saveAll(batch);
+    }
+
+    private static int intParameter(HttpServletRequest request, String name, int defaultValue, int min, int max) {
+        String value = request.getParameter(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        return Math.max(min, Math.min(Integer.parseInt(value), max));
+    }
+
+    private enum Format {
+        CSV, NDJSON;
+
+        static Format of(String format, String contentType) {
+            if (format != null) {
+                switch (format) {
+                    case "csv":
+                        return CSV;
+                    case "ndjson":
+                        return NDJSON;
+                    default:
+                        return null;
+                }
+            }
+            if (contentType == null) {
+                return null;
+            }
+            String mediaType = contentType.split(";", 2)[0].trim().toLowerCase();
+            switch (mediaType) {
+                case "text/csv":
+                    return CSV;
+                case "application/x-ndjson":
+                case "application/ndjson":
+                    return NDJSON;
+                default:
+                    return null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package mvc.ver1.web.frontcontroller.v5.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import mvc.ver1.domain.member.Member;
+
+import java.io.IOException;
+
+/**
+ * 회원 가져오기 한 줄을 Member 로 변환, 잘못된 줄은 IllegalArgumentException(사유 메시지)
+ * CSV    : username,age (따옴표 필드와 "" escape 지원, 줄바꿈이 들어간 필드는 지원하지 않는다)
+ * NDJSON : {"username":"...","age":20} (다른 필드는 무시)
+ */
+class MemberRowParser {
+
+    //thread-safe, parser 생성 비용만 든다
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final int MAX_ECHO_LENGTH = 40;
+
+    private MemberRowParser() {
+    }
+
+    static boolean isCsvHeader(String line) {
+        return line.trim().equalsIgnoreCase("username,age");
+    }
+
+    static Member csv(String line) {
+        String[] fields = new String[2];
+        int count = 0;
+        int pos = 0;
+        while (true) {
+            if (count == fields.length) {
+                throw new IllegalArgumentException("필드는 username,age 2개여야 합니다.");
+            }
+            StringBuilder field = new StringBuilder();
+            if (pos < line.length() && line.charAt(pos) == '"') {
+                pos++;
+                while (true) {
+                    if (pos >= line.length()) {
+                        throw new IllegalArgumentException("따옴표가 닫히지 않았습니다.");
+                    }
+                    char c = line.charAt(pos++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (pos < line.length() && line.charAt(pos) == '"') {
+                        field.append('"');
+                        pos++;
+                    } else {
+                        break;
+                    }
+                }
+                if (pos < line.length() && line.charAt(pos) != ',') {
+                    throw new IllegalArgumentException("닫는 따옴표 뒤에는 , 가 와야 합니다.");
+                }
+            } else {
+                int comma = line.indexOf(',', pos);
+                int end = comma < 0 ? line.length() : comma;
+                field.append(line, pos, end);
+                pos = end;
+            }
+            fields[count++] = field.toString();
+            if (pos >= line.length()) {
+                break;
+            }
+            pos++; //,
+        }
+        if (count != fields.length) {
+            throw new IllegalArgumentException("필드는 username,age 2개여야 합니다.");
+        }
+        return member(fields[0], parseAge(fields[1]));
+    }
+
+    static Member json(String line) {
+        String username = null;
+        Integer age = null;
+        try (JsonParser parser = JSON.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("username".equals(name)) {
+                    if (value != JsonToken.VALUE_STRING && value != JsonToken.VALUE_NULL) {
+                        throw new IllegalArgumentException("username 은 문자열이어야 합니다.");
+                    }
+                    username = parser.getValueAsString();
+                } else if ("age".equals(name)) {
+                    if (value != JsonToken.VALUE_NUMBER_INT) {
+                        throw new IllegalArgumentException("age 는 정수여야 합니다.");
+                    }
+                    age = parser.getIntValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("JSON 객체 뒤에 다른 값이 있습니다.");
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 형식이 아닙니다. " + e.getOriginalMessage());
+        } catch (IOException e) {
+            //문자열에서 읽으므로 발생하지 않는다
+            throw new IllegalStateException(e);
+        }
+        if (age == null) {
+            throw new IllegalArgumentException("age 가 없습니다.");
+        }
+        return member(username, age);
+    }
+
+    private static int parseAge(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("age 가 숫자가 아닙니다. age=" + echo(value));
+        }
+    }
+
+    private static Member member(String username, int age) {
+        if (username == null || username.isBlank()) {
+            throw new IllegalArgumentException("username 이 없습니다.");
+        }
+        if (age < 0) {
+            throw new IllegalArgumentException("age 는 0 이상이어야 합니다. age=" + age);
+        }
+        return new Member(username, age);
+    }
+
+    private static String echo(String value) {
+        return value.length() <= MAX_ECHO_LENGTH ? value : value.substring(0, MAX_ECHO_LENGTH) + "...";
+    }
+
+}
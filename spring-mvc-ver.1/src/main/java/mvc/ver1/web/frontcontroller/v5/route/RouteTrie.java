@@ -0,0 +1,223 @@
+package mvc.ver1.web.frontcontroller.v5.route;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * URL 패턴 -> handler 매핑 트리
+ * 지원 패턴: 고정 세그먼트(/members), 변수 세그먼트(/{id}), 한 세그먼트 와일드카드(/*), 나머지 전체(/**)
+ * 우선순위: 고정 > 변수 > * > **
+ *
+ * add 로 패턴을 모두 등록한 뒤 compile 을 한 번 호출해야 match 할 수 있다.
+ * match 는 path 를 split 하지 않고 인덱스로 세그먼트를 찾으며, 추출된 변수 값 외에는 객체를 만들지 않는다.
+ */
+public class RouteTrie {
+
+    private final Node root = new Node();
+    private boolean compiled;
+
+    public void add(String pattern, Object handler) {
+        if (compiled) {
+            throw new IllegalStateException("compile 이후에는 패턴을 추가할 수 없습니다. pattern=" + pattern);
+        }
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("패턴은 /로 시작해야 합니다. pattern=" + pattern);
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("handler가 없습니다. pattern=" + pattern);
+        }
+
+        Node node = root;
+        String[] segments = pattern.substring(1).split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("**는 패턴의 마지막에만 사용할 수 있습니다. pattern=" + pattern);
+                }
+                node = node.tailChild();
+            } else if (segment.equals("*")) {
+                node = node.wildcardChild();
+            } else if (segment.startsWith("{") && segment.endsWith("}")) {
+                node = node.variableChild(segment.substring(1, segment.length() - 1), pattern);
+            } else {
+                node = node.staticChild(segment);
+            }
+        }
+
+        if (node.handler != null) {
+            throw new IllegalArgumentException("이미 등록된 패턴입니다. pattern=" + pattern);
+        }
+        node.handler = handler;
+    }
+
+    public void compile() {
+        if (!compiled) {
+            root.compile();
+            compiled = true;
+        }
+    }
+
+    /**
+     * @param path          요청 경로
+     * @param pathVariables 추출한 변수를 담을 맵, 필요 없으면 null
+     * @return handler, 없으면 null
+     */
+    public Object match(String path, Map<String, String> pathVariables) {
+        if (!compiled) {
+            throw new IllegalStateException("compile 되지 않았습니다.");
+        }
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return null;
+        }
+        return match(root, path, 0, pathVariables);
+    }
+
+    private static Object match(Node node, String path, int pos, Map<String, String> pathVariables) {
+        int length = path.length();
+        if (pos == length) {
+            if (node.handler != null) {
+                return node.handler;
+            }
+            return node.tail == null ? null : node.tail.handler;
+        }
+
+        int start = pos + 1;
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+
+        Node next = node.findStatic(path, start, end);
+        if (next != null) {
+            Object handler = match(next, path, end, pathVariables);
+            if (handler != null) {
+                return handler;
+            }
+        }
+
+        if (end > start) {
+            if (node.variable != null) {
+                Object handler = match(node.variable, path, end, pathVariables);
+                if (handler != null) {
+                    if (pathVariables != null) {
+                        pathVariables.put(node.variable.name, path.substring(start, end));
+                    }
+                    return handler;
+                }
+            }
+            if (node.wildcard != null) {
+                Object handler = match(node.wildcard, path, end, pathVariables);
+                if (handler != null) {
+                    return handler;
+                }
+            }
+        }
+
+        return node.tail == null ? null : node.tail.handler;
+    }
+
+    private static final class Node {
+
+        private Object handler;
+        private String name;
+
+        private Map<String, Node> staticChildren = new LinkedHashMap<>();
+        private Node variable;
+        private Node wildcard;
+        private Node tail;
+
+        //compile 결과, 세그먼트 해시 -> 자식 노드 open addressing 테이블
+        private String[] keys;
+        private int[] hashes;
+        private Node[] children;
+        private int mask;
+
+        Node staticChild(String segment) {
+            return staticChildren.computeIfAbsent(segment, key -> new Node());
+        }
+
+        Node variableChild(String variableName, String pattern) {
+            if (variableName.isEmpty()) {
+                throw new IllegalArgumentException("변수 이름이 없습니다. pattern=" + pattern);
+            }
+            if (variable == null) {
+                variable = new Node();
+                variable.name = variableName;
+            } else if (!variable.name.equals(variableName)) {
+                throw new IllegalArgumentException("같은 위치에 다른 변수 이름을 사용할 수 없습니다. "
+                        + variable.name + ", " + variableName + " pattern=" + pattern);
+            }
+            return variable;
+        }
+
+        Node wildcardChild() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+
+        Node tailChild() {
+            if (tail == null) {
+                tail = new Node();
+            }
+            return tail;
+        }
+
+        void compile() {
+            int capacity = Integer.highestOneBit(Math.max(2, staticChildren.size() * 2 - 1)) << 1;
+            keys = new String[capacity];
+            hashes = new int[capacity];
+            children = new Node[capacity];
+            mask = capacity - 1;
+
+            for (Map.Entry<String, Node> entry : staticChildren.entrySet()) {
+                String key = entry.getKey();
+                int hash = key.hashCode();
+                int index = spread(hash) & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                hashes[index] = hash;
+                children[index] = entry.getValue();
+                entry.getValue().compile();
+            }
+            staticChildren = null;
+
+            if (variable != null) {
+                variable.compile();
+            }
+            if (wildcard != null) {
+                wildcard.compile();
+            }
+            if (tail != null) {
+                tail.compile();
+            }
+        }
+
+        Node findStatic(String path, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            int length = end - start;
+            int index = spread(hash) & mask;
+            String key;
+            while ((key = keys[index]) != null) {
+                if (hashes[index] == hash && key.length() == length && key.regionMatches(0, path, start, length)) {
+                    return children[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+    }
+
+}
@@ -6,33 +6,35 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
+
+import static mvc.ver1.web.servlet.Utf8HtmlWriter.encode;
 
 @WebServlet(name = "memberFormServlet", urlPatterns = "/servlet/members/new-form")
 public class MemberFormServlet extends HttpServlet {
 
+    private static final byte[] FORM = encode("<!DOCTYPE html>\n" +
+            "<html>\n" +
+            "<head>\n" +
+            " <meta charset=\"UTF-8\">\n" +
+            " <title>Title</title>\n" +
+            "</head>\n" +
+            "<body>\n" +
+            "<form action=\"/servlet/members/save\" method=\"post\">\n" +
+            " username: <input type=\"text\" name=\"username\" />\n" +
+            " age: <input type=\"text\" name=\"age\" />\n" +
+            " <button type=\"submit\">전송</button>\n" +
+            "</form>\n" +
+            "</body>\n" +
+            "</html>\n");
+
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 
         response.setContentType("text/html");
         response.setCharacterEncoding("utf-8");
+        response.setContentLength(FORM.length);
 
-        PrintWriter w = response.getWriter();
-
-        w.write("<!DOCTYPE html>\n" +
-                "<html>\n" +
-                "<head>\n" +
-                " <meta charset=\"UTF-8\">\n" +
-                " <title>Title</title>\n" +
-                "</head>\n" +
-                "<body>\n" +
-                "<form action=\"/servlet/members/save\" method=\"post\">\n" +
-                " username: <input type=\"text\" name=\"username\" />\n" +
-                " age: <input type=\"text\" name=\"age\" />\n" +
-                " <button type=\"submit\">전송</button>\n" +
-                "</form>\n" +
-                "</body>\n" +
-                "</html>\n");
+        response.getOutputStream().write(FORM);
     }
 
 }
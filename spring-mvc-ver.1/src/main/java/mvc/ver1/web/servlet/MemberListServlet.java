@@ -9,55 +9,66 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.util.List;
+import java.io.UncheckedIOException;
+
+import static mvc.ver1.web.servlet.Utf8HtmlWriter.encode;
 
 @WebServlet(name = "memberListServlet", urlPatterns = "/servlet/members")
 public class MemberListServlet extends HttpServlet {
     private MemberRepository memberRepository = MemberRepository.getInstance();
 
+    private static final byte[] HEADER = encode("<html>" +
+            "<head>" +
+            " <meta charset=\"UTF-8\">" +
+            " <title>Title</title>" +
+            "</head>" +
+            "<body>" +
+            "<a href=\"/index.html\">메인</a>" +
+            "<table>" +
+            " <thead>" +
+            " <th>id</th>" +
+            " <th>username</th>" +
+            " <th>age</th>" +
+            " </thead>" +
+            " <tbody>");
+    private static final byte[] ROW_START = encode(" <tr> <td>");
+    private static final byte[] CELL = encode("</td> <td>");
+    private static final byte[] ROW_END = encode("</td> </tr>");
+    private static final byte[] FOOTER = encode(" </tbody>" +
+            "</table>" +
+            "</body>" +
+            "</html>");
+
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 
         response.setContentType("text/html");
         response.setCharacterEncoding("utf-8");
 
-        List<Member> members = memberRepository.findAll();
-
-        PrintWriter w = response.getWriter();
-        w.write("<html>");
-        w.write("<head>");
-        w.write(" <meta charset=\"UTF-8\">");
-        w.write(" <title>Title</title>");
-        w.write("</head>");
-        w.write("<body>");
-        w.write("<a href=\"/index.html\">메인</a>");
-        w.write("<table>");
-        w.write(" <thead>");
-        w.write(" <th>id</th>");
-        w.write(" <th>username</th>");
-        w.write(" <th>age</th>");
-        w.write(" </thead>");
-        w.write(" <tbody>");
-/*
- w.write(" <tr>");
- w.write(" <td>1</td>");
- w.write(" <td>userA</td>");
- w.write(" <td>10</td>");
- w.write(" </tr>");
-*/
-        for (Member member : members) {
-            w.write(" <tr>");
-            w.write(" <td>" + member.getId() + "</td>");
-            w.write(" <td>" + member.getUsername() + "</td>");
-            w.write(" <td>" + member.getAge() + "</td>");
-            w.write(" </tr>");
+        //회원 목록을 복사하지 않고 한 줄씩 바로 응답에 쓴다, 회원 수와 관계없이 버퍼 크기만큼만 메모리 사용
+        Utf8HtmlWriter w = new Utf8HtmlWriter(response.getOutputStream());
+        w.write(HEADER);
+        try {
+            memberRepository.forEach(member -> writeRow(w, member));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        w.write(FOOTER);
+        w.flush();
+    }
 
-        w.write(" </tbody>");
-        w.write("</table>");
-        w.write("</body>");
-        w.write("</html>");
+    private void writeRow(Utf8HtmlWriter w, Member member) {
+        try {
+            w.write(ROW_START);
+            w.writeLong(member.getId());
+            w.write(CELL);
+            w.writeText(member.getUsername());
+            w.write(CELL);
+            w.writeLong(member.getAge());
+            w.write(ROW_END);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
 }
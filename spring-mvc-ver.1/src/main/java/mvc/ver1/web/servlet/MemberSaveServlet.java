@@ -9,12 +9,31 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
+
+import static mvc.ver1.web.servlet.Utf8HtmlWriter.encode;
 
 @WebServlet(name = "memberSaveServlet", urlPatterns = "/servlet/members/save")
 public class MemberSaveServlet extends HttpServlet {
     private MemberRepository memberRepository = MemberRepository.getInstance();
 
+    private static final byte[] RESULT_START = encode("<html>\n" +
+            "<head>\n" +
+            " <meta charset=\"UTF-8\">\n" +
+            "</head>\n" +
+            "<body>\n" +
+            "성공\n" +
+            "<ul>\n" +
+            " <li>id=");
+    private static final byte[] RESULT_USERNAME = encode("</li>\n" +
+            " <li>username=");
+    private static final byte[] RESULT_AGE = encode("</li>\n" +
+            " <li>age=");
+    private static final byte[] RESULT_END = encode("</li>\n" +
+            "</ul>\n" +
+            "<a href=\"/index.html\">메인</a>\n" +
+            "</body>\n" +
+            "</html>");
+
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
 
@@ -29,22 +48,15 @@ public class MemberSaveServlet extends HttpServlet {
         response.setContentType("text/html");
         response.setCharacterEncoding("utf-8");
 
-        PrintWriter w = response.getWriter();
-
-        w.write("<html>\n" +
-                "<head>\n" +
-                " <meta charset=\"UTF-8\">\n" +
-                "</head>\n" +
-                "<body>\n" +
-                "성공\n" +
-                "<ul>\n" +
-                " <li>id=" + member.getId() + "</li>\n" +
-                " <li>username=" + member.getUsername() + "</li>\n" +
-                " <li>age=" + member.getAge() + "</li>\n" +
-                "</ul>\n" +
-                "<a href=\"/index.html\">메인</a>\n" +
-                "</body>\n" +
-                "</html>");
+        Utf8HtmlWriter w = new Utf8HtmlWriter(response.getOutputStream());
+        w.write(RESULT_START);
+        w.writeLong(member.getId());
+        w.write(RESULT_USERNAME);
+        w.writeText(member.getUsername());
+        w.write(RESULT_AGE);
+        w.writeLong(member.getAge());
+        w.write(RESULT_END);
+        w.flush();
     }
 
 }
@@ -0,0 +1,148 @@
+package mvc.ver1.web.servlet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HTML 을 UTF-8 바이트로 OutputStream 에 직접 쓰는 writer
+ * 고정 HTML 조각은 encode 로 미리 바이트 배열을 만들어 두고, 값(문자열, 숫자)은 스레드별로 재사용하는 버퍼에 바로 인코딩한다.
+ * 한 요청 안에서만 사용하고, 다 쓴 뒤에는 flush 를 호출해야 한다.
+ */
+public class Utf8HtmlWriter {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private static final byte[] LT = encode("&lt;");
+    private static final byte[] GT = encode("&gt;");
+    private static final byte[] AMP = encode("&amp;");
+    private static final byte[] QUOT = encode("&quot;");
+    private static final byte[] APOS = encode("&#39;");
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int count;
+
+    public Utf8HtmlWriter(OutputStream out) {
+        this.out = out;
+        this.buffer = BUFFERS.get();
+    }
+
+    public static byte[] encode(String html) {
+        return html.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 미리 인코딩한 HTML 조각을 그대로 쓴다.
+     */
+    public void write(byte[] fragment) throws IOException {
+        if (fragment.length > BUFFER_SIZE - count) {
+            flushBuffer();
+            if (fragment.length > BUFFER_SIZE) {
+                out.write(fragment);
+                return;
+            }
+        }
+        System.arraycopy(fragment, 0, buffer, count, fragment.length);
+        count += fragment.length;
+    }
+
+    /**
+     * HTML escape 후 UTF-8 로 인코딩해서 쓴다, null 은 "null" 로 쓴다.
+     */
+    public void writeText(String text) throws IOException {
+        if (text == null) {
+            text = "null";
+        }
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    write(LT);
+                    break;
+                case '>':
+                    write(GT);
+                    break;
+                case '&':
+                    write(AMP);
+                    break;
+                case '"':
+                    write(QUOT);
+                    break;
+                case '\'':
+                    write(APOS);
+                    break;
+                default:
+                    if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                        writeCodePoint(Character.toCodePoint(c, text.charAt(++i)));
+                    } else {
+                        writeCodePoint(c);
+                    }
+            }
+        }
+    }
+
+    public void writeLong(long value) throws IOException {
+        if (BUFFER_SIZE - count < 20) {
+            flushBuffer();
+        }
+        if (value == Long.MIN_VALUE) {
+            write(encode(Long.toString(value)));
+            return;
+        }
+        if (value < 0) {
+            buffer[count++] = '-';
+            value = -value;
+        }
+        int start = count;
+        do {
+            buffer[count++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        //뒤집어서 순서를 맞춘다
+        for (int i = start, j = count - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+    }
+
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        if (BUFFER_SIZE - count < 4) {
+            flushBuffer();
+        }
+        if (codePoint < 0x80) {
+            buffer[count++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            buffer[count++] = (byte) (0xC0 | (codePoint >> 6));
+            buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (Character.isSurrogate((char) codePoint) && codePoint <= 0xFFFF) {
+            //짝이 맞지 않는 surrogate 는 String.getBytes 와 같이 '?' 로 바꾼다
+            buffer[count++] = '?';
+        } else if (codePoint < 0x10000) {
+            buffer[count++] = (byte) (0xE0 | (codePoint >> 12));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+            buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+}
@@ -1,7 +1,8 @@
 package mvc.ver1.web.servletmvc;
 
-import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberPage;
 import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.PagingParams;
 
 import javax.servlet.RequestDispatcher;
 import javax.servlet.ServletException;
@@ -10,7 +11,6 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
 
 @WebServlet(name = "mvcMemberListServlet", urlPatterns = "/servlet-mvc/members")
 public class MvcMemberListServlet extends HttpServlet {
@@ -21,8 +21,11 @@ public class MvcMemberListServlet extends HttpServlet {
 
         System.out.println("MvcMemberListServlet.service");
 
-        List<Member> members = memberRepository.findAll();
-        request.setAttribute("members", members);
+        int size = PagingParams.size(request.getParameter(PagingParams.SIZE));
+        MemberPage page = memberRepository.findPage(PagingParams.cursor(request.getParameter(PagingParams.CURSOR)), size);
+        request.setAttribute("members", page.getMembers());
+        request.setAttribute("nextCursor", page.getNextCursor());
+        request.setAttribute("size", size);
 
         String viewPath = "/WEB-INF/views/members.jsp";
         RequestDispatcher dispatcher = request.getRequestDispatcher(viewPath);
@@ -0,0 +1,14 @@
+package mvc.ver1.web.springmvc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @MyRequestMapping 메서드를 handler 로 등록할 컨트롤러
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MyController {
+}
@@ -0,0 +1,17 @@
+package mvc.ver1.web.springmvc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 경로 변수({name}) 바인딩, String, int, long(및 wrapper) 지원
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MyPathVariable {
+
+    String value() default "";
+
+}
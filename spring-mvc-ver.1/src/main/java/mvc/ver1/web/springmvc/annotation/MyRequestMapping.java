@@ -0,0 +1,20 @@
+package mvc.ver1.web.springmvc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 클래스에 붙이면 경로 prefix, 메서드에 붙이면 handler 메서드
+ * 경로에는 {name} 경로 변수를 쓸 수 있다, method 가 비어 있으면 모든 HTTP method 를 받는다.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MyRequestMapping {
+
+    String value() default "";
+
+    String[] method() default {};
+
+}
@@ -0,0 +1,20 @@
+package mvc.ver1.web.springmvc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 요청 파라미터 바인딩, String, int, long(및 wrapper) 지원
+ * value 가 비어 있으면 파라미터 이름(-parameters 로 컴파일한 경우)을 쓴다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MyRequestParam {
+
+    String value() default "";
+
+    boolean required() default true;
+
+}
@@ -0,0 +1,62 @@
+package mvc.ver1.web.springmvc.v1;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberPage;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.PagingParams;
+import mvc.ver1.web.springmvc.annotation.MyController;
+import mvc.ver1.web.springmvc.annotation.MyPathVariable;
+import mvc.ver1.web.springmvc.annotation.MyRequestMapping;
+import mvc.ver1.web.springmvc.annotation.MyRequestParam;
+
+import java.util.Map;
+
+/**
+ * URL 마다 컨트롤러 클래스를 만들고 등록하던 방식을 애노테이션 메서드로 합친 회원 컨트롤러
+ * FrontControllerServletV5 에 /front-controller/v5/springmvc 로 등록된다.
+ */
+@MyController
+@MyRequestMapping("/members")
+public class SpringMemberControllerV1 {
+
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+
+    @MyRequestMapping(value = "/new-form", method = "GET")
+    public String newForm() {
+        return "new-form";
+    }
+
+    @MyRequestMapping(value = "/save", method = "POST")
+    public String save(@MyRequestParam("username") String username,
+                       @MyRequestParam("age") int age,
+                       Map<String, Object> model) {
+
+        Member member = new Member(username, age);
+        memberRepository.save(member);
+
+        model.put("member", member);
+        return "save-result";
+    }
+
+    @MyRequestMapping(method = "GET")
+    public String members(@MyRequestParam(value = PagingParams.CURSOR, required = false) Long cursor,
+                          @MyRequestParam(value = PagingParams.SIZE, required = false) Integer size,
+                          Map<String, Object> model) {
+
+        //숫자가 아니면 변환 단계에서 400
+        int pageSize = size == null ? MemberPage.DEFAULT_SIZE : PagingParams.clampSize(size);
+        MemberPage page = memberRepository.findPage(cursor == null ? 0L : cursor, pageSize);
+
+        model.put("members", page.getMembers());
+        model.put("nextCursor", page.getNextCursor());
+        model.put("size", pageSize);
+        return "members";
+    }
+
+    @MyRequestMapping(value = "/{id}", method = "GET")
+    public String member(@MyPathVariable("id") long id, Map<String, Object> model) {
+        model.put("member", memberRepository.findById(id));
+        return "member";
+    }
+
+}
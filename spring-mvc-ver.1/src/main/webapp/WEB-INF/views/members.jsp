@@ -23,5 +23,8 @@
     </c:forEach>
     </tbody>
 </table>
+<c:if test="${not empty nextCursor}">
+    <a href="?cursor=${nextCursor}&size=${size}">다음</a>
+</c:if>
 </body>
 </html>
\ No newline at end of file
@@ -0,0 +1,336 @@
+package mvc.ver1.domain.member;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemberPersistenceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoverFromLog() throws IOException {
+        //given
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.ALWAYS, 100)) {
+            persistence.recover(member -> { }, () -> { });
+            persistence.appendSave(member(1, "member1", 20));
+            persistence.appendSave(member(2, null, 30));
+        }
+
+        //when
+        List<Member> recovered = new ArrayList<>();
+        long lastId;
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.ALWAYS, 100)) {
+            lastId = persistence.recover(recovered::add, recovered::clear);
+        }
+
+        //then
+        assertThat(lastId).isEqualTo(2);
+        assertThat(recovered).extracting(Member::getId, Member::getUsername, Member::getAge)
+                .containsExactly(
+                        org.assertj.core.groups.Tuple.tuple(1L, "member1", 20),
+                        org.assertj.core.groups.Tuple.tuple(2L, null, 30));
+    }
+
+    @Test
+    void recoverFromSnapshotAndLog() throws IOException {
+        //given
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.INTERVAL, 10)) {
+            persistence.recover(member -> { }, () -> { });
+            List<Member> saved = List.of(member(1, "a", 10), member(2, "b", 20));
+            for (Member member : saved) {
+                persistence.appendSave(member);
+            }
+            long nextGeneration = persistence.rotate();
+            persistence.appendSave(member(3, "c", 30));
+            persistence.writeSnapshot(2, nextGeneration, action -> saved.forEach(action));
+        }
+
+        //when
+        List<Member> recovered = new ArrayList<>();
+        long lastId;
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.NEVER, 0)) {
+            lastId = persistence.recover(recovered::add, recovered::clear);
+        }
+
+        //then
+        assertThat(lastId).isEqualTo(3);
+        assertThat(recovered).extracting(Member::getUsername).containsExactly("a", "b", "c");
+        //스냅샷에 포함된 세대의 로그는 지워진다
+        assertThat(Files.list(dir).map(file -> file.getFileName().toString()).collect(Collectors.toList()))
+                .doesNotContain("members-1.log");
+    }
+
+    @Test
+    void recoverBatch() throws IOException {
+        //given
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.ALWAYS, 100)) {
+            persistence.recover(member -> { }, () -> { });
+            persistence.appendSave(member(1, "a", 10));
+            persistence.appendSaves(List.of(member(2, "b", 20), member(3, null, 30), member(4, "d", 40)));
+        }
+
+        //when
+        List<Member> recovered = new ArrayList<>();
+        long lastId;
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.ALWAYS, 100)) {
+            lastId = persistence.recover(recovered::add, recovered::clear);
+        }
+
+        //then
+        assertThat(lastId).isEqualTo(4);
+        assertThat(recovered).extracting(Member::getUsername).containsExactly("a", "b", null, "d");
+    }
+
+    @Test
+    void clearIsReplayed() throws IOException {
+        //given
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.ALWAYS, 100)) {
+            persistence.recover(member -> { }, () -> { });
+            persistence.appendSave(member(1, "a", 10));
+            persistence.appendClear();
+            persistence.appendSave(member(2, "b", 20));
+        }
+
+        //when
+        List<Member> recovered = new ArrayList<>();
+        long lastId;
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.ALWAYS, 100)) {
+            lastId = persistence.recover(recovered::add, recovered::clear);
+        }
+
+        //then
+        assertThat(lastId).isEqualTo(2);
+        assertThat(recovered).extracting(Member::getUsername).containsExactly("b");
+    }
+
+    @Test
+    void tornTailIsIgnored() throws IOException {
+        //given
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.ALWAYS, 100)) {
+            persistence.recover(member -> { }, () -> { });
+            persistence.appendSave(member(1, "a", 10));
+            persistence.appendSave(member(2, "b", 20));
+        }
+        //마지막 레코드를 쓰다가 죽은 것처럼 꼬리를 자른다
+        Path logFile = dir.resolve("members-1.log");
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        //when
+        List<Member> recovered = new ArrayList<>();
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.ALWAYS, 100)) {
+            persistence.recover(recovered::add, recovered::clear);
+            persistence.appendSave(member(2, "c", 30));
+        }
+        List<Member> recoveredAgain = new ArrayList<>();
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.ALWAYS, 100)) {
+            persistence.recover(recoveredAgain::add, recoveredAgain::clear);
+        }
+
+        //then
+        assertThat(recovered).extracting(Member::getUsername).containsExactly("a");
+        assertThat(recoveredAgain).extracting(Member::getUsername).containsExactly("a", "c");
+    }
+
+    @Test
+    void concurrentAppendWithGroupCommit() throws Exception {
+        //given
+        int threadCount = 8;
+        int savePerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.ALWAYS, 100)) {
+            persistence.recover(member -> { }, () -> { });
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                int threadNo = i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 1; j <= savePerThread; j++) {
+                        persistence.appendSave(member((long) threadNo * savePerThread + j, "m", j));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+
+        //then
+        List<Member> recovered = new ArrayList<>();
+        long lastId;
+        try (MemberPersistence persistence = new MemberPersistence(dir, FsyncPolicy.ALWAYS, 100)) {
+            lastId = persistence.recover(recovered::add, recovered::clear);
+        }
+        assertThat(recovered).hasSize(threadCount * savePerThread);
+        assertThat(lastId).isEqualTo(threadCount * savePerThread);
+    }
+
+    @Test
+    void intervalSyncFailureReportedOnAppend() throws Exception {
+        //given: fsync 만 실패하는 채널
+        FailingForceChannel channel = new FailingForceChannel(
+                FileChannel.open(dir.resolve("members-1.log"), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+        MemberLog log = MemberLog.create(channel, 1, FsyncPolicy.INTERVAL, 10);
+        log.appendSave(member(1, "a", 10));
+        channel.failForce = true;
+
+        //when: 백그라운드 fsync 가 실패한 뒤의 append
+        IOException failure = null;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (failure == null && System.nanoTime() < deadline) {
+            try {
+                log.appendSave(member(2, "b", 20));
+                Thread.sleep(5);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        //then
+        assertThat(failure).isNotNull();
+        assertThat(failure.getCause()).hasMessage("injected");
+        assertThatThrownBy(log::close).isInstanceOf(IOException.class);
+    }
+
+    private static Member member(long id, String username, int age) {
+        Member member = new Member(username, age);
+        member.setId(id);
+        return member;
+    }
+
+    /**
+     * failForce 가 켜지면 force 가 실패하는 채널, 나머지는 위임
+     */
+    static class FailingForceChannel extends FileChannel {
+
+        private final FileChannel delegate;
+        volatile boolean failForce;
+
+        FailingForceChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            if (failForce) {
+                throw new IOException("injected");
+            }
+            delegate.force(metaData);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+
+    }
+
+}
@@ -3,7 +3,15 @@ package mvc.ver1.domain.member;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -40,4 +48,173 @@ class MemberRepositoryTest {
         assertThat(result).contains(member1, member2);
     }
 
-}
\ No newline at end of file
+    @Test
+    void saveAll() {
+        //given
+        Member before = memberRepository.save(new Member("before", 10));
+        List<Member> members = List.of(new Member("kim", 20), new Member("lee", 30), new Member("kim", 40));
+
+        //when
+        memberRepository.saveAll(members);
+
+        //then: 연속된 id 로 저장되고 인덱스에도 반영
+        assertThat(members).extracting(Member::getId)
+                .containsExactly(before.getId() + 1, before.getId() + 2, before.getId() + 3);
+        assertThat(memberRepository.findById(before.getId() + 2)).isSameAs(members.get(1));
+        assertThat(memberRepository.findByUsername("kim", 10)).hasSize(2);
+    }
+
+    @Test
+    void concurrentSave() throws Exception {
+        //given
+        int threadCount = 16;
+        int savePerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            int threadNo = i;
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < savePerThread; j++) {
+                    Member saved = memberRepository.save(new Member("member" + threadNo + "-" + j, j));
+                    assertThat(memberRepository.findById(saved.getId())).isSameAs(saved);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        //작업 스레드에서 실패한 단언을 여기서 다시 던진다
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        //then
+        List<Member> result = memberRepository.findAll();
+        assertThat(result.size()).isEqualTo(threadCount * savePerThread);
+
+        Set<Long> ids = new HashSet<>();
+        result.forEach(member -> ids.add(member.getId()));
+        assertThat(ids.size()).isEqualTo(threadCount * savePerThread);
+    }
+
+    @Test
+    void findByIdNotFound() {
+        assertThat(memberRepository.findById((Long) null)).isNull();
+        assertThat(memberRepository.findById(0L)).isNull();
+        assertThat(memberRepository.findById(Long.MAX_VALUE)).isNull();
+    }
+
+    @Test
+    void findPage() {
+        //given
+        for (int i = 0; i < 2500; i++) {
+            memberRepository.save(new Member("member" + i, i));
+        }
+        long firstId = memberRepository.findPage(0L, 1).getMembers().get(0).getId();
+
+        //when
+        MemberPage first = memberRepository.findPage(0L, 1000);
+        MemberPage second = memberRepository.findPage(first.getNextCursor(), 1000);
+        MemberPage last = memberRepository.findPage(second.getNextCursor(), 1000);
+
+        //then
+        assertThat(first.getMembers()).hasSize(1000);
+        assertThat(first.getMembers().get(0).getId()).isEqualTo(firstId);
+        assertThat(first.getNextCursor()).isEqualTo(firstId + 999);
+        assertThat(second.getMembers().get(0).getId()).isEqualTo(firstId + 1000);
+        assertThat(last.getMembers()).hasSize(500);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findPageExactSize() {
+        //given
+        Member member1 = memberRepository.save(new Member("member1", 20));
+        Member member2 = memberRepository.save(new Member("member2", 30));
+
+        //when
+        MemberPage page = memberRepository.findPage(0L, 2);
+        MemberPage empty = memberRepository.findPage(member2.getId(), 2);
+
+        //then
+        assertThat(page.getMembers()).containsExactly(member1, member2);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(empty.getMembers()).isEmpty();
+    }
+
+    @Test
+    void findByUsername() {
+        //given
+        Member member1 = memberRepository.save(new Member("kim", 20));
+        Member member2 = memberRepository.save(new Member("kim", 30));
+        memberRepository.save(new Member("lee", 20));
+
+        //when
+        List<Member> result = memberRepository.findByUsername("kim", 10);
+        List<Member> limited = memberRepository.findByUsername("kim", 1);
+
+        //then
+        assertThat(result).containsExactlyInAnyOrder(member1, member2);
+        assertThat(limited).containsExactly(member1);
+        assertThat(memberRepository.findByUsername("park", 10)).isEmpty();
+        assertThat(memberRepository.findByUsername(null, 10)).isEmpty();
+    }
+
+    @Test
+    void findByAgeBetween() {
+        //given
+        Member age30 = memberRepository.save(new Member("member1", 30));
+        Member age20 = memberRepository.save(new Member("member2", 20));
+        Member age25 = memberRepository.save(new Member("member3", 25));
+        memberRepository.save(new Member("member4", 40));
+        Member age20Later = memberRepository.save(new Member("member5", 20));
+
+        //when
+        List<Member> result = memberRepository.findByAgeBetween(20, 30, 10);
+        List<Member> limited = memberRepository.findByAgeBetween(20, 30, 2);
+
+        //then
+        assertThat(result).containsExactly(age20, age20Later, age25, age30);
+        assertThat(limited).containsExactly(age20, age20Later);
+        assertThat(memberRepository.findByAgeBetween(31, 30, 10)).isEmpty();
+    }
+
+    @Test
+    void scanByAgeBetween() {
+        //given: 인덱스를 끈 경우(offheap 기본)의 스캔 경로
+        List<Member> members = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            Member member = new Member("member" + i, 100 - i % 100);
+            member.setId((long) i);
+            members.add(member);
+        }
+
+        //when
+        List<Member> result = MemberRepository.scanByAgeBetween(members::forEach, 0, 200, 3);
+
+        //then: 나이 순, 같으면 id 순으로 limit 건
+        assertThat(result).extracting(Member::getAge).containsExactly(1, 1, 1);
+        assertThat(result).extracting(Member::getId).containsExactly(99L, 199L, 299L);
+        assertThat(MemberRepository.scanByAgeBetween(members::forEach, 50, 40, 3)).isEmpty();
+    }
+
+    @Test
+    void clearStoreClearsIndexes() {
+        //given
+        memberRepository.save(new Member("kim", 20));
+
+        //when
+        memberRepository.clearStore();
+
+        //then
+        assertThat(memberRepository.findByUsername("kim", 10)).isEmpty();
+        assertThat(memberRepository.findByAgeBetween(0, 100, 10)).isEmpty();
+    }
+
+}
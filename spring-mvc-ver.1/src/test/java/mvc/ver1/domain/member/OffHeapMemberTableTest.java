@@ -0,0 +1,90 @@
+package mvc.ver1.domain.member;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapMemberTableTest {
+
+    OffHeapMemberTable table = new OffHeapMemberTable();
+
+    @Test
+    void putAndGet() {
+        //given
+        table.put(1, new Member("hello", 20));
+        table.put(2, new Member(null, 30));
+        table.put(3, new Member("회원😀", 40));
+
+        //when
+        Member member1 = table.get(1);
+        Member member2 = table.get(2);
+        Member member3 = table.get(3);
+
+        //then
+        assertThat(member1.getId()).isEqualTo(1L);
+        assertThat(member1.getUsername()).isEqualTo("hello");
+        assertThat(member1.getAge()).isEqualTo(20);
+        assertThat(member2.getUsername()).isNull();
+        assertThat(member3.getUsername()).isEqualTo("회원😀");
+        assertThat(table.get(4)).isNull();
+        assertThat(table.get(100_000)).isNull();
+    }
+
+    @Test
+    void forEachAfterAcrossChunks() {
+        //given
+        for (long id = 1; id <= 3000; id++) {
+            table.put(id, new Member("member" + id, (int) (id % 100)));
+        }
+
+        //when
+        List<Member> result = new ArrayList<>();
+        int visited = table.forEachAfter(1020, 10, result::add);
+
+        //then
+        assertThat(visited).isEqualTo(10);
+        assertThat(result).extracting(Member::getId).containsExactly(1021L, 1022L, 1023L, 1024L, 1025L, 1026L, 1027L, 1028L, 1029L, 1030L);
+        assertThat(result.get(3).getUsername()).isEqualTo("member1024");
+    }
+
+    @Test
+    void concurrentPut() throws InterruptedException {
+        //given
+        int threadCount = 8;
+        int putPerThread = 5_000;
+        AtomicLong sequence = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < putPerThread; j++) {
+                    long id = sequence.incrementAndGet();
+                    //username 버퍼가 여러 번 커지도록 긴 이름 사용
+                    table.put(id, new Member("member-with-long-name-" + id, j));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        //then
+        List<Member> result = new ArrayList<>();
+        table.forEach(result::add);
+        assertThat(result).hasSize(threadCount * putPerThread);
+        assertThat(result).allMatch(member -> member.getUsername().equals("member-with-long-name-" + member.getId()));
+    }
+
+}
@@ -0,0 +1,26 @@
+package mvc.ver1.web;
+
+import mvc.ver1.domain.member.MemberPage;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PagingParamsTest {
+
+    @Test
+    void parse() {
+        assertThat(PagingParams.cursor("42")).isEqualTo(42L);
+        assertThat(PagingParams.size("10")).isEqualTo(10);
+        assertThat(PagingParams.size("0")).isEqualTo(1);
+        assertThat(PagingParams.size(String.valueOf(Integer.MAX_VALUE))).isEqualTo(MemberPage.MAX_SIZE);
+    }
+
+    @Test
+    void malformedFallsBackToDefault() {
+        assertThat(PagingParams.cursor(null)).isZero();
+        assertThat(PagingParams.cursor("x")).isZero();
+        assertThat(PagingParams.size("abc")).isEqualTo(MemberPage.DEFAULT_SIZE);
+        assertThat(PagingParams.size("99999999999")).isEqualTo(MemberPage.DEFAULT_SIZE);
+    }
+
+}
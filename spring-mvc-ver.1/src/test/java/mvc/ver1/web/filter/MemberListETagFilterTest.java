@@ -0,0 +1,115 @@
+package mvc.ver1.web.filter;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberListETagFilterTest {
+
+    MemberRepository memberRepository = MemberRepository.getInstance();
+    MemberListETagFilter filter = new MemberListETagFilter();
+    AtomicInteger rendered = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        filter.init(new MockFilterConfig());
+    }
+
+    @AfterEach
+    void afterEach() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    void gzipLargeBody() throws Exception {
+        //given
+        String body = "<tr><td>member</td></tr>".repeat(200);
+        MockHttpServletRequest request = request();
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+
+        //when
+        MockHttpServletResponse response = doFilter(request, body);
+
+        //then
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("ETag")).endsWith("-gzip\"");
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(response.getContentAsByteArray().length).isLessThan(body.length() / 10);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+        }
+    }
+
+    @Test
+    void smallBodyIsNotCompressed() throws Exception {
+        //given
+        MockHttpServletRequest request = request();
+        request.addHeader("Accept-Encoding", "gzip");
+
+        //when
+        MockHttpServletResponse response = doFilter(request, "<p>회원</p>");
+
+        //then
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentLength()).isEqualTo("<p>회원</p>".getBytes(StandardCharsets.UTF_8).length);
+        assertThat(response.getContentAsString()).isEqualTo("<p>회원</p>");
+        assertThat(response.getHeader("ETag")).doesNotEndWith("-gzip\"");
+    }
+
+    @Test
+    void notModifiedUntilRepositoryChanges() throws Exception {
+        //given
+        String etag = doFilter(request(), "members").getHeader("ETag");
+        MockHttpServletRequest revalidate = request();
+        revalidate.addHeader("If-None-Match", etag);
+
+        //when
+        MockHttpServletResponse notModified = doFilter(revalidate, "members");
+        memberRepository.save(new Member("member1", 20));
+        MockHttpServletResponse changed = doFilter(revalidate, "members");
+
+        //then
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getHeader("ETag")).isEqualTo(etag);
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getHeader("ETag")).isNotEqualTo(etag);
+        //304 일 때는 렌더링하지 않는다
+        assertThat(rendered.get()).isEqualTo(2);
+    }
+
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/servlet-mvc/members");
+    }
+
+    private MockHttpServletResponse doFilter(MockHttpServletRequest request, String body) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                rendered.incrementAndGet();
+                resp.setContentType("text/html;charset=UTF-8");
+                resp.getWriter().write(body);
+            }
+        }));
+        return response;
+    }
+
+}
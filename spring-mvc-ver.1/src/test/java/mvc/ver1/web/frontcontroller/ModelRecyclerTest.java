@@ -0,0 +1,108 @@
+package mvc.ver1.web.frontcontroller;
+
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.v4.ControllerV4;
+import mvc.ver1.web.frontcontroller.v5.FrontControllerServletV5;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModelRecyclerTest {
+
+    @AfterEach
+    void afterEach() {
+        ModelRecycler.setLeakDetection(false);
+        LeakyControllerV4.lastModel = null;
+        MemberRepository.getInstance().clearStore();
+    }
+
+    @Test
+    void reuseOnSameThread() {
+        //given
+        ModelRecycler recycler = ModelRecycler.begin();
+        ModelView first = ModelView.create("members");
+        first.getModel().put("members", "first");
+        recycler.end();
+
+        //when //then: 반환된 뒤에는 사용할 수 없다
+        assertThatThrownBy(first::getModel).isInstanceOf(IllegalStateException.class);
+
+        //when
+        recycler = ModelRecycler.begin();
+        ModelView second = ModelView.create("member");
+        recycler.end();
+
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(ModelView.create("members")).isNotSameAs(first);
+    }
+
+    @Test
+    void recycleThroughFrontController() throws Exception {
+        //given
+        ModelRecycler.setLeakDetection(true);
+        FrontControllerServletV5 servlet = new FrontControllerServletV5();
+        MockServletConfig config = new MockServletConfig();
+        config.addInitParameter("recycleModel", "true");
+        servlet.init(config);
+
+        //when
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/v4/members");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+
+        //then: view 가 쓰는 값은 request attribute 로 옮겨져 있다
+        assertThat(response.getForwardedUrl()).isEqualTo("/WEB-INF/views/members.jsp");
+        assertThat(request.getAttribute("members")).isNotNull();
+        ModelRecycler.assertNoLeaks();
+    }
+
+    @Test
+    void leakDetection() throws Exception {
+        //given
+        ModelRecycler.setLeakDetection(true);
+        LeakyFrontControllerServletV5 servlet = new LeakyFrontControllerServletV5();
+        MockServletConfig config = new MockServletConfig();
+        config.addInitParameter("recycleModel", "true");
+        servlet.init(config);
+
+        //when
+        servlet.service(new MockHttpServletRequest("GET", "/front-controller/v5/leaky"), new MockHttpServletResponse());
+
+        //then
+        assertThatThrownBy(ModelRecycler::assertNoLeaks).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> LeakyControllerV4.lastModel.get("count")).isInstanceOf(IllegalStateException.class);
+    }
+
+    static class LeakyFrontControllerServletV5 extends FrontControllerServletV5 {
+
+        @Override
+        protected void initHandlerMappingMap() {
+            super.initHandlerMappingMap();
+            registerHandler("/front-controller/v5/leaky", new LeakyControllerV4());
+        }
+
+    }
+
+    static class LeakyControllerV4 implements ControllerV4 {
+
+        //요청이 끝난 뒤에도 model 을 들고 있다
+        static Map<String, Object> lastModel;
+
+        @Override
+        public String process(Map<String, String> paramMap, Map<String, Object> model) {
+            model.put("count", 1);
+            lastModel = model;
+            return "new-form";
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+package mvc.ver1.web.frontcontroller;
+
+import mvc.ver1.web.frontcontroller.template.TemplateView;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MyViewResolverTest {
+
+    @Test
+    void resolveCached() {
+        //given
+        MyViewResolver viewResolver = new MyViewResolver(10, false);
+
+        //when
+        MyView first = viewResolver.resolve("members");
+        MyView second = viewResolver.resolve("members");
+
+        //then
+        assertThat(first.getViewPath()).isEqualTo("/WEB-INF/views/members.jsp");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void cacheLimit() {
+        //given
+        MyViewResolver viewResolver = new MyViewResolver(1, false);
+
+        //when
+        MyView members = viewResolver.resolve("members");
+        MyView newForm = viewResolver.resolve("new-form");
+
+        //then
+        assertThat(viewResolver.cacheSize()).isEqualTo(1);
+        assertThat(viewResolver.resolve("members")).isSameAs(members);
+        assertThat(viewResolver.resolve("new-form")).isNotSameAs(newForm);
+    }
+
+    @Test
+    void devModeAndInvalidate() {
+        //given
+        MyViewResolver devResolver = new MyViewResolver(10, true);
+        MyViewResolver viewResolver = new MyViewResolver(10, false);
+        MyView cached = viewResolver.resolve("members");
+
+        //when
+        viewResolver.invalidate();
+
+        //then
+        assertThat(devResolver.resolve("members")).isNotSameAs(devResolver.resolve("members"));
+        assertThat(viewResolver.resolve("members")).isNotSameAs(cached);
+    }
+
+    @Test
+    void templateEngine() {
+        //given
+        MyViewResolver viewResolver = new MyViewResolver(10, false, true);
+
+        //when
+        MyView members = viewResolver.resolve("members");
+        MyView member = viewResolver.resolve("member");
+
+        //then
+        assertThat(members).isInstanceOf(TemplateView.class);
+        assertThat(members.getViewPath()).isEqualTo("templates/members.html");
+        //템플릿이 없는 view 는 JSP 로 forward
+        assertThat(member).isNotInstanceOf(TemplateView.class);
+        assertThat(member.getViewPath()).isEqualTo("/WEB-INF/views/member.jsp");
+    }
+
+}
@@ -0,0 +1,54 @@
+package mvc.ver1.web.frontcontroller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestParamMapTest {
+
+    @Test
+    void get() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("username", "hello");
+        request.addParameter("age", "20", "30");
+
+        //when
+        Map<String, String> paramMap = new RequestParamMap(request);
+
+        //then
+        assertThat(paramMap.get("username")).isEqualTo("hello");
+        assertThat(paramMap.get("age")).isEqualTo("20");
+        assertThat(paramMap.get("none")).isNull();
+        assertThat(paramMap.containsKey("username")).isTrue();
+        assertThat(paramMap).hasSize(2);
+    }
+
+    @Test
+    void pathVariablesFirst() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("id", "1");
+        request.addParameter("username", "hello");
+
+        //when
+        Map<String, String> paramMap = new RequestParamMap(request, Map.of("id", "7"));
+
+        //then
+        assertThat(paramMap.get("id")).isEqualTo("7");
+        assertThat(paramMap).containsEntry("id", "7").containsEntry("username", "hello").hasSize(2);
+    }
+
+    @Test
+    void readOnly() {
+        Map<String, String> paramMap = new RequestParamMap(new MockHttpServletRequest());
+
+        assertThatThrownBy(() -> paramMap.put("username", "hello"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+}
@@ -0,0 +1,79 @@
+package mvc.ver1.web.frontcontroller.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.v5.FrontControllerServletV5;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonViewTest {
+
+    MemberRepository memberRepository = MemberRepository.getInstance();
+    FrontControllerServletV5 servlet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        servlet = new FrontControllerServletV5();
+        servlet.init(new MockServletConfig());
+    }
+
+    @AfterEach
+    void afterEach() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    void prefersJson() {
+        assertThat(AcceptHeader.prefersJson("application/json")).isTrue();
+        assertThat(AcceptHeader.prefersJson("application/problem+json, */*")).isTrue();
+        assertThat(AcceptHeader.prefersJson("text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")).isFalse();
+        assertThat(AcceptHeader.prefersJson("text/html, application/json;q=0.5")).isFalse();
+        assertThat(AcceptHeader.prefersJson("application/json;q=0")).isFalse();
+        assertThat(AcceptHeader.prefersJson(null)).isFalse();
+    }
+
+    @Test
+    void renderJson() throws Exception {
+        //given
+        Member saved = memberRepository.save(new Member("member\"1", 20));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/v4/members");
+        request.addHeader("Accept", "application/json");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        servlet.service(request, response);
+
+        //then
+        assertThat(response.getContentType()).isEqualTo("application/json;charset=UTF-8");
+        assertThat(response.getForwardedUrl()).isNull();
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept");
+        JsonNode body = new ObjectMapper().readTree(response.getContentAsByteArray());
+        assertThat(body.get("members").size()).isEqualTo(1);
+        assertThat(body.get("members").get(0).get("id").asLong()).isEqualTo(saved.getId());
+        assertThat(body.get("members").get(0).get("username").asText()).isEqualTo("member\"1");
+        assertThat(body.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void browserGetsJsp() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/v4/members");
+        request.addHeader("Accept", "text/html,application/xhtml+xml,*/*;q=0.8");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        servlet.service(request, response);
+
+        //then
+        assertThat(response.getForwardedUrl()).isEqualTo("/WEB-INF/views/members.jsp");
+    }
+
+}
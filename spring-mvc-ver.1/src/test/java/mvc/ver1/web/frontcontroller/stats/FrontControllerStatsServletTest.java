@@ -0,0 +1,54 @@
+package mvc.ver1.web.frontcontroller.stats;
+
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.v4.FrontControllerServletV4;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrontControllerStatsServletTest {
+
+    @AfterEach
+    void afterEach() {
+        MemberRepository.getInstance().clearStore();
+    }
+
+    @Test
+    void recordAndExpose() throws Exception {
+        //given
+        FrontControllerServletV4 servlet = new FrontControllerServletV4();
+        servlet.init(new MockServletConfig());
+        ControllerStats stats = FrontControllerStats.getInstance().controller("v4");
+        long listCount = stats.route("/front-controller/v4/members").getProcess().snapshot().getCount();
+        long notFound = stats.getNotFound();
+
+        //when
+        servlet.service(new MockHttpServletRequest("GET", "/front-controller/v4/members"), new MockHttpServletResponse());
+        servlet.service(new MockHttpServletRequest("GET", "/front-controller/v4/none"), new MockHttpServletResponse());
+
+        MockHttpServletRequest jsonRequest = new MockHttpServletRequest("GET", "/front-controller/stats");
+        jsonRequest.addParameter("format", "json");
+        MockHttpServletResponse json = new MockHttpServletResponse();
+        new FrontControllerStatsServlet().service(jsonRequest, json);
+        MockHttpServletResponse text = new MockHttpServletResponse();
+        new FrontControllerStatsServlet().service(new MockHttpServletRequest("GET", "/front-controller/stats"), text);
+
+        //then
+        assertThat(stats.route("/front-controller/v4/members").getProcess().snapshot().getCount()).isEqualTo(listCount + 1);
+        assertThat(stats.route("/front-controller/v4/members").getRender().snapshot().getCount()).isEqualTo(listCount + 1);
+        assertThat(stats.getNotFound()).isEqualTo(notFound + 1);
+        assertThat(json.getContentType()).startsWith("application/json");
+        assertThat(stats.getStartup().getHandlerCount()).isGreaterThan(0);
+        assertThat(stats.getStartup().getFirstRequestRoute()).isNotNull();
+        assertThat(json.getContentAsString()).startsWith("{\"container\":{\"startedAtMillis\":");
+        assertThat(json.getContentAsString()).contains("\"v4\":{\"notFound\":", "\"startup\":{\"createdAtMillis\":",
+                "\"/front-controller/v4/members\":{\"mapping\":{\"count\":");
+        assertThat(text.getContentAsString()).contains("container startedAt=", "v4 notFound=", "  startup createdAt=",
+                "  /front-controller/v4/members", "    render count=");
+    }
+
+}
@@ -0,0 +1,40 @@
+package mvc.ver1.web.frontcontroller.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketBounds() {
+        //bucket 상한은 그 bucket 에 들어가는 값 이상이고 상대 오차는 1/32 이내
+        for (long value = 0; value < 10_000_000; value = value * 3 / 2 + 1) {
+            long upperBound = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(value));
+            assertThat(upperBound).isGreaterThanOrEqualTo(value);
+            assertThat((double) upperBound - value).isLessThanOrEqualTo(value / 32.0);
+        }
+    }
+
+    @Test
+    void percentiles() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            histogram.record(nanos * 1_000);
+        }
+
+        //when
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        //then
+        assertThat(snapshot.getCount()).isEqualTo(10_000);
+        assertThat(snapshot.getMaxNanos()).isEqualTo(10_000_000);
+        assertThat(snapshot.getMeanNanos()).isEqualTo(5_000_500);
+        assertThat((double) snapshot.getPercentileNanos(50)).isCloseTo(5_000_000, within(5_000_000 / 32.0));
+        assertThat((double) snapshot.getPercentileNanos(99)).isCloseTo(9_900_000, within(9_900_000 / 32.0));
+        assertThat(snapshot.getPercentileNanos(100)).isEqualTo(10_000_000);
+    }
+
+}
@@ -0,0 +1,69 @@
+package mvc.ver1.web.frontcontroller.template;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.web.servlet.Utf8HtmlWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HtmlTemplateTest {
+
+    @Test
+    void valueAndProperty() throws IOException {
+        //given
+        HtmlTemplate template = HtmlTemplate.compile("<li>id=${member.id}</li><li>${member.username}</li><p>${missing}</p>");
+        Member member = new Member("<hello>", 20);
+        member.setId(1L);
+
+        //when
+        String html = render(template, Map.of("member", member));
+
+        //then
+        assertThat(html).isEqualTo("<li>id=1</li><li>&lt;hello&gt;</li><p></p>");
+    }
+
+    @Test
+    void eachAndIf() throws IOException {
+        //given
+        HtmlTemplate template = HtmlTemplate.compile(
+                "{{#each item in members}}[${item.username}:${item.age}]{{/each}}{{#if nextCursor}}next=${nextCursor}{{/if}}");
+        Map<String, Object> model = new HashMap<>();
+        model.put("members", List.of(new Member("a", 10), new Member("b", 20)));
+
+        //when
+        String withoutNext = render(template, model);
+        model.put("nextCursor", 2L);
+        String withNext = render(template, model);
+
+        //then
+        assertThat(withoutNext).isEqualTo("[a:10][b:20]");
+        assertThat(withNext).isEqualTo("[a:10][b:20]next=2");
+    }
+
+    @Test
+    void invalidTemplate() {
+        assertThatThrownBy(() -> HtmlTemplate.compile("{{#each item in members}}${item.id}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HtmlTemplate.compile("{{#if a}}{{/each}}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HtmlTemplate.compile("${member.id"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String render(HtmlTemplate template, Map<String, Object> model) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8HtmlWriter writer = new Utf8HtmlWriter(out);
+        template.render(model, writer);
+        writer.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,163 @@
+package mvc.ver1.web.frontcontroller.v5;
+
+import mvc.ver1.web.frontcontroller.ModelView;
+import mvc.ver1.web.frontcontroller.MyView;
+import mvc.ver1.web.frontcontroller.v3.ControllerV3;
+import mvc.ver1.web.frontcontroller.v4.ControllerV4;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+
+import javax.servlet.AsyncContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 느린 handler 가 기다리는 동안 요청(worker) 스레드가 바로 반환되는지 확인하는 부하 테스트
+ */
+class FrontControllerServletV5AsyncTest {
+
+    static final int WORKER_THREADS = 4;
+    static final int REQUESTS = 200;
+
+    static final CountDownLatch release = new CountDownLatch(1);
+    static final AtomicInteger running = new AtomicInteger();
+
+    FrontControllerServletV5 servlet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        servlet = new SlowFrontControllerServletV5();
+        MockServletConfig config = new MockServletConfig();
+        config.addInitParameter("asyncDispatch", "true");
+        config.addInitParameter("asyncPoolSize", "8");
+        config.addInitParameter("asyncQueueCapacity", String.valueOf(REQUESTS));
+        servlet.init(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        servlet.destroy();
+    }
+
+    @Test
+    void workerThreadsStayFree() throws Exception {
+        //given
+        ExecutorService workers = Executors.newFixedThreadPool(WORKER_THREADS);
+        List<MockHttpServletRequest> requests = new CopyOnWriteArrayList<>();
+
+        //when: handler 는 release 전까지 끝나지 않는다
+        for (int i = 0; i < REQUESTS; i++) {
+            workers.submit(() -> {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/slow");
+                request.setAsyncSupported(true);
+                servlet.service(request, new MockHttpServletResponse());
+                requests.add(request);
+                return null;
+            });
+        }
+        workers.shutdown();
+
+        //then: 모든 요청 스레드가 handler 완료를 기다리지 않고 반환
+        assertThat(workers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(requests).hasSize(REQUESTS);
+        assertThat(requests).allMatch(MockHttpServletRequest::isAsyncStarted);
+        assertThat(running.get()).isLessThanOrEqualTo(8);
+
+        //when
+        release.countDown();
+
+        //then
+        for (MockHttpServletRequest request : requests) {
+            MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+            waitForDispatch(asyncContext);
+            assertThat(asyncContext.getDispatchedPath()).isEqualTo("/WEB-INF/views/new-form.jsp");
+            assertThat(request.getAttribute("slow")).isEqualTo(true);
+        }
+    }
+
+    @Test
+    void renderFailureCompletesWithServerError() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/broken-view");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        servlet.service(request, response);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (request.isAsyncStarted() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        //then: timeout(503) 을 기다리지 않고 500 으로 완료
+        assertThat(request.isAsyncStarted()).isFalse();
+        assertThat(response.getStatus()).isEqualTo(500);
+    }
+
+    private void waitForDispatch(MockAsyncContext asyncContext) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (asyncContext.getDispatchedPath() == null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    static class SlowFrontControllerServletV5 extends FrontControllerServletV5 {
+
+        @Override
+        protected void initHandlerMappingMap() {
+            super.initHandlerMappingMap();
+            registerHandler("/front-controller/v5/slow", new SlowControllerV4());
+            registerHandler("/front-controller/v5/broken-view", new BrokenViewControllerV3());
+        }
+
+    }
+
+    static class BrokenViewControllerV3 implements ControllerV3 {
+
+        @Override
+        public ModelView process(Map<String, String> paramMap) {
+            ModelView mv = new ModelView("broken");
+            mv.setView(new MyView("/WEB-INF/views/broken.jsp") {
+                @Override
+                public void render(Map<String, Object> model, AsyncContext asyncContext) {
+                    throw new IllegalArgumentException("render failed");
+                }
+            });
+            return mv;
+        }
+
+    }
+
+    static class SlowControllerV4 implements ControllerV4 {
+
+        @Override
+        public String process(Map<String, String> paramMap, Map<String, Object> model) {
+            running.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            model.put("slow", true);
+            return "new-form";
+        }
+
+    }
+
+}
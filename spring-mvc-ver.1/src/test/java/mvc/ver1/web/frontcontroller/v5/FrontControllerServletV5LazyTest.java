@@ -0,0 +1,126 @@
+package mvc.ver1.web.frontcontroller.v5;
+
+import mvc.ver1.web.frontcontroller.v4.ControllerV4;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+
+import javax.servlet.ServletException;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FrontControllerServletV5LazyTest {
+
+    static final AtomicInteger created = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        created.set(0);
+    }
+
+    @Test
+    void createdOnFirstRequest() throws Exception {
+        //given
+        FrontControllerServletV5 servlet = new CountingFrontControllerServletV5();
+        servlet.init(new MockServletConfig());
+
+        //when
+        int beforeRequest = created.get();
+        for (int i = 0; i < 3; i++) {
+            servlet.service(new MockHttpServletRequest("GET", "/front-controller/v5/counting"), new MockHttpServletResponse());
+        }
+
+        //then
+        assertThat(beforeRequest).isZero();
+        assertThat(created.get()).isEqualTo(1);
+    }
+
+    @Test
+    void warmUpOnInit() throws Exception {
+        //given
+        FrontControllerServletV5 servlet = new CountingFrontControllerServletV5();
+        MockServletConfig config = new MockServletConfig();
+        config.addInitParameter("warmUpHandlers", "/front-controller/v5/counting");
+
+        //when
+        servlet.init(config);
+
+        //then
+        assertThat(created.get()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownWarmUpPattern() {
+        //given
+        FrontControllerServletV5 servlet = new CountingFrontControllerServletV5();
+        MockServletConfig config = new MockServletConfig();
+        config.addInitParameter("warmUpHandlers", "/front-controller/v5/none");
+
+        //when //then
+        assertThatThrownBy(() -> servlet.init(config)).isInstanceOf(ServletException.class);
+    }
+
+    @Test
+    void lazyInstanceCreatedOnce() throws Exception {
+        //given
+        int threadCount = 8;
+        LazyInstance<Object> lazy = LazyInstance.of(() -> {
+            created.incrementAndGet();
+            return new Object();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        Future<?>[] results = new Future<?>[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            results[i] = executor.submit(() -> {
+                start.await();
+                return lazy.get();
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        //then
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> result : results) {
+            assertThat(result.get()).isSameAs(lazy.get());
+        }
+        assertThat(created.get()).isEqualTo(1);
+    }
+
+    static class CountingFrontControllerServletV5 extends FrontControllerServletV5 {
+
+        @Override
+        protected void initHandlerMappingMap() {
+            super.initHandlerMappingMap();
+            registerHandler("/front-controller/v5/counting", CountingControllerV4.class);
+        }
+
+    }
+
+    static class CountingControllerV4 implements ControllerV4 {
+
+        CountingControllerV4() {
+            created.incrementAndGet();
+        }
+
+        @Override
+        public String process(Map<String, String> paramMap, Map<String, Object> model) {
+            return "new-form";
+        }
+
+    }
+
+}
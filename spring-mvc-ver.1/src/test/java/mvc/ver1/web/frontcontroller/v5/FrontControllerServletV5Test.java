@@ -0,0 +1,130 @@
+package mvc.ver1.web.frontcontroller.v5;
+
+import mvc.ver1.web.frontcontroller.v4.ControllerV4;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FrontControllerServletV5Test {
+
+    FrontControllerServletV5 servlet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        servlet = new FrontControllerServletV5();
+        servlet.init(new MockServletConfig());
+    }
+
+    @Test
+    void pathVariable() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/v4/members/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        servlet.service(request, response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(request.getAttribute(HandlerMappingConst.PATH_VARIABLES)).isEqualTo(Map.of("id", "1"));
+    }
+
+    @Test
+    void staticRouteHasNoPathVariables() throws Exception {
+        //given: 앞 요청의 경로 변수가 남지 않아야 한다
+        servlet.service(new MockHttpServletRequest("GET", "/front-controller/v5/v4/members/1"), new MockHttpServletResponse());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/v4/members/new-form");
+
+        //when
+        servlet.service(request, new MockHttpServletResponse());
+
+        //then
+        assertThat(request.getAttribute(HandlerMappingConst.PATH_VARIABLES)).isNull();
+    }
+
+    @Test
+    void nonNumericIdIsBadRequest() throws Exception {
+        //given
+        MockHttpServletResponse v3Response = new MockHttpServletResponse();
+        MockHttpServletResponse v4Response = new MockHttpServletResponse();
+
+        //when
+        servlet.service(new MockHttpServletRequest("GET", "/front-controller/v5/v3/members/abc"), v3Response);
+        servlet.service(new MockHttpServletRequest("GET", "/front-controller/v5/v4/members/abc"), v4Response);
+
+        //then
+        assertThat(v3Response.getStatus()).isEqualTo(400);
+        assertThat(v4Response.getStatus()).isEqualTo(400);
+        assertThat(v4Response.getErrorMessage()).isEqualTo("id 는 숫자여야 합니다.");
+    }
+
+    @Test
+    void numberFormatBugIsNotBadRequest() {
+        //given: 요청 값과 무관한 controller 내부 파싱 오류
+        FrontControllerServletV5 custom = new FrontControllerServletV5() {
+            @Override
+            protected void initHandlerMappingMap() {
+                registerHandler("/front-controller/v5/bug", (ControllerV4) (paramMap, model) -> {
+                    Integer.parseInt("not-a-number");
+                    return "members";
+                });
+            }
+        };
+
+        //when //then: 400 으로 바꾸지 않고 서버 오류로 전파
+        assertThatThrownBy(() -> {
+            custom.init(new MockServletConfig());
+            custom.service(new MockHttpServletRequest("GET", "/front-controller/v5/bug"), new MockHttpServletResponse());
+        }).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void malformedAgeRangeFallsBackToDefault() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/front-controller/v5/v4/members/age-range");
+        request.addParameter("minAge", "x");
+        request.addParameter("maxAge", "");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        servlet.service(request, response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void handlerWithoutAdapter() {
+        //when //then: 등록 시점에 실패한다
+        assertThatThrownBy(UnsupportedFrontControllerServletV5::new)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("/front-controller/v5/unsupported");
+    }
+
+    @Test
+    void disabledTraceIsShared() {
+        assertThat(DispatchTrace.start(false)).isSameAs(DispatchTrace.start(false));
+        assertThat(DispatchTrace.start(true)).isNotSameAs(DispatchTrace.start(true));
+    }
+
+    static class UnsupportedFrontControllerServletV5 extends FrontControllerServletV5 {
+
+        @Override
+        protected void initHandlerMappingMap() {
+            super.initHandlerMappingMap();
+            registerHandler("/front-controller/v5/unsupported", UnsupportedHandler.class);
+        }
+
+    }
+
+    static class UnsupportedHandler {
+    }
+
+}
@@ -0,0 +1,159 @@
+package mvc.ver1.web.frontcontroller.v5.annotation;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.v5.FrontControllerServletV5;
+import mvc.ver1.web.springmvc.annotation.MyController;
+import mvc.ver1.web.springmvc.annotation.MyRequestMapping;
+import mvc.ver1.web.springmvc.annotation.MyRequestParam;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnnotationHandlerTest {
+
+    MemberRepository memberRepository = MemberRepository.getInstance();
+    FrontControllerServletV5 servlet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        servlet = new FrontControllerServletV5();
+        servlet.init(new MockServletConfig());
+    }
+
+    @AfterEach
+    void afterEach() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    void saveAndDetail() throws Exception {
+        //given
+        MockHttpServletRequest save = new MockHttpServletRequest("POST", "/front-controller/v5/springmvc/members/save");
+        save.addParameter("username", "kim");
+        save.addParameter("age", "20");
+
+        //when
+        servlet.service(save, new MockHttpServletResponse());
+        Member saved = (Member) save.getAttribute("member");
+        MockHttpServletRequest detail = new MockHttpServletRequest("GET", "/front-controller/v5/springmvc/members/" + saved.getId());
+        MockHttpServletResponse detailResponse = new MockHttpServletResponse();
+        servlet.service(detail, detailResponse);
+
+        //then
+        assertThat(saved.getUsername()).isEqualTo("kim");
+        assertThat(saved.getAge()).isEqualTo(20);
+        assertThat(detail.getAttribute("member")).isSameAs(memberRepository.findById(saved.getId()));
+        assertThat(detailResponse.getForwardedUrl()).isEqualTo("/WEB-INF/views/member.jsp");
+    }
+
+    @Test
+    void badRequestAndMethodNotAllowed() throws Exception {
+        //given
+        MockHttpServletRequest badAge = new MockHttpServletRequest("POST", "/front-controller/v5/springmvc/members/save");
+        badAge.addParameter("username", "kim");
+        badAge.addParameter("age", "abc");
+        MockHttpServletResponse badAgeResponse = new MockHttpServletResponse();
+        MockHttpServletResponse getSaveResponse = new MockHttpServletResponse();
+
+        //when
+        servlet.service(badAge, badAgeResponse);
+        servlet.service(new MockHttpServletRequest("GET", "/front-controller/v5/springmvc/members/save"), getSaveResponse);
+
+        //then
+        assertThat(badAgeResponse.getStatus()).isEqualTo(HttpServletResponse.SC_BAD_REQUEST);
+        assertThat(badAgeResponse.getErrorMessage()).isEqualTo("age 는 숫자여야 합니다.");
+        assertThat(getSaveResponse.getStatus()).isEqualTo(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+        assertThat(getSaveResponse.getHeader("Allow")).isEqualTo("POST");
+        assertThat(memberRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void badPagingParameter() throws Exception {
+        //given
+        MockHttpServletRequest badCursor = new MockHttpServletRequest("GET", "/front-controller/v5/springmvc/members");
+        badCursor.addParameter("cursor", "x");
+        MockHttpServletRequest badSize = new MockHttpServletRequest("GET", "/front-controller/v5/springmvc/members");
+        badSize.addParameter("size", "abc");
+        MockHttpServletResponse badCursorResponse = new MockHttpServletResponse();
+        MockHttpServletResponse badSizeResponse = new MockHttpServletResponse();
+
+        //when
+        servlet.service(badCursor, badCursorResponse);
+        servlet.service(badSize, badSizeResponse);
+
+        //then
+        assertThat(badCursorResponse.getStatus()).isEqualTo(HttpServletResponse.SC_BAD_REQUEST);
+        assertThat(badSizeResponse.getStatus()).isEqualTo(HttpServletResponse.SC_BAD_REQUEST);
+        assertThat(badSizeResponse.getErrorMessage()).isEqualTo("size 는 숫자여야 합니다.");
+    }
+
+    @Test
+    void voidAndManyParameters() throws Exception {
+        //given: void 이거나 파라미터가 5개면 MethodHandle 로 호출
+        FrontControllerServletV5 custom = new FrontControllerServletV5() {
+            @Override
+            protected void initHandlerMappingMap() {
+                registerController("/test", new TestController());
+            }
+        };
+        custom.init(new MockServletConfig());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test/sum");
+        request.addParameter("a", "1");
+        request.addParameter("b", "2");
+        request.addParameter("c", "3");
+        request.addParameter("d", "4");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        custom.service(request, response);
+
+        //then
+        assertThat(response.getContentAsString()).isEqualTo("15");
+    }
+
+    @Test
+    void invalidController() {
+        assertThatThrownBy(() -> AnnotationHandlerScanner.scan("", new Object()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AnnotationHandlerScanner.scan("", new DuplicateController()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("중복된 매핑");
+    }
+
+    @MyController
+    static class TestController {
+
+        @MyRequestMapping("/sum")
+        void sum(@MyRequestParam("a") int a, @MyRequestParam("b") int b, @MyRequestParam("c") long c,
+                 @MyRequestParam("d") Integer d, HttpServletResponse response) throws IOException {
+            response.getWriter().write(String.valueOf(a + b + c + d + 5));
+        }
+
+    }
+
+    @MyController
+    static class DuplicateController {
+
+        @MyRequestMapping(value = "/a", method = "GET")
+        String first() {
+            return "a";
+        }
+
+        @MyRequestMapping(value = "/a", method = "get")
+        String second() {
+            return "a";
+        }
+
+    }
+
+}
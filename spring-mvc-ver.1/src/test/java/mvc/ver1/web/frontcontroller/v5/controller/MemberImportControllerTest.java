@@ -0,0 +1,141 @@
+package mvc.ver1.web.frontcontroller.v5.controller;
+
+import mvc.ver1.domain.member.Member;
+import mvc.ver1.domain.member.MemberRepository;
+import mvc.ver1.web.frontcontroller.v5.FrontControllerServletV5;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class MemberImportControllerTest {
+
+    MemberRepository memberRepository = MemberRepository.getInstance();
+    FrontControllerServletV5 servlet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        servlet = new FrontControllerServletV5();
+        servlet.init(new MockServletConfig());
+    }
+
+    @AfterEach
+    void afterEach() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    void importCsv() throws Exception {
+        //given
+        String body = "username,age\n"
+                + "kim,20\n"
+                + "\"lee, \"\"jr\"\"\",30\n"
+                + "park,abc\n"
+                + "\n"
+                + "choi,40\n";
+
+        //when: batch 경계를 넘도록 batchSize=2
+        MockHttpServletResponse response = importMembers("text/csv", body, "2");
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString())
+                .isEqualTo("line 4: age 가 숫자가 아닙니다. age=abc\nimported=3 failed=1\n");
+        assertThat(memberRepository.findAll()).extracting(Member::getUsername, Member::getAge)
+                .containsExactly(tuple("kim", 20), tuple("lee, \"jr\"", 30), tuple("choi", 40));
+    }
+
+    @Test
+    void importNdjson() throws Exception {
+        //given
+        String body = "{\"username\":\"kim\",\"age\":20,\"extra\":{\"a\":[1]}}\n"
+                + "{\"username\":\"lee\"}\n"
+                + "{\"username\":\"park\",\"age\":30\n"
+                + "{\"age\":50,\"username\":\"한글\"}\n";
+
+        //when
+        MockHttpServletResponse response = importMembers("application/x-ndjson", body, null);
+
+        //then
+        assertThat(response.getContentAsString())
+                .startsWith("line 2: age 가 없습니다.\nline 3: JSON 형식이 아닙니다.")
+                .endsWith("imported=2 failed=2\n");
+        assertThat(memberRepository.findAll()).extracting(Member::getUsername).containsExactly("kim", "한글");
+    }
+
+    @Test
+    void unsupportedContentType() throws Exception {
+        //when
+        MockHttpServletResponse response = importMembers("application/json", "[]", null);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(415);
+        assertThat(memberRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void firstRowThatLooksLikeHeader() throws Exception {
+        //when: username,age 가 아닌 첫 줄은 데이터로 읽는다
+        MockHttpServletResponse response = importMembers("text/csv", "usernameA,20\nkim,30\n", null);
+
+        //then
+        assertThat(response.getContentAsString()).isEqualTo("imported=2 failed=0\n");
+        assertThat(memberRepository.findAll()).extracting(Member::getUsername).containsExactly("usernameA", "kim");
+    }
+
+    @Test
+    void abortedImportIsServerError() throws Exception {
+        //given: 두 번째 batch 저장이 실패한다
+        FrontControllerServletV5 failing = new FrontControllerServletV5() {
+            @Override
+            protected void initHandlerMappingMap() {
+                registerHandler("/import", new MemberImportController() {
+                    int calls;
+
+                    @Override
+                    void save(List<Member> batch) {
+                        if (++calls == 2) {
+                            throw new IllegalStateException("save failed");
+                        }
+                        super.save(batch);
+                    }
+                });
+            }
+        };
+        failing.init(new MockServletConfig());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/import");
+        request.setContentType("text/csv");
+        request.setContent("kim,20\nlee,30\npark,40\n".getBytes(StandardCharsets.UTF_8));
+        request.addParameter("batchSize", "2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        failing.service(request, response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(500);
+        assertThat(response.getContentAsString()).isEqualTo("aborted line=3 imported=2 failed=0\n");
+        assertThat(memberRepository.findAll()).extracting(Member::getUsername).containsExactly("kim", "lee");
+    }
+
+    private MockHttpServletResponse importMembers(String contentType, String body, String batchSize) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/front-controller/v5/members/import");
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (batchSize != null) {
+            request.addParameter("batchSize", batchSize);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+
+}
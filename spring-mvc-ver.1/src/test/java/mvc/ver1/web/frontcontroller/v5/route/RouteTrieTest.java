@@ -0,0 +1,98 @@
+package mvc.ver1.web.frontcontroller.v5.route;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteTrieTest {
+
+    RouteTrie routeTrie = new RouteTrie();
+
+    @Test
+    void staticRoute() {
+        //given
+        routeTrie.add("/members", "list");
+        routeTrie.add("/members/new-form", "form");
+        routeTrie.compile();
+
+        //when
+        Map<String, String> pathVariables = new HashMap<>();
+
+        //then
+        assertThat(routeTrie.match("/members", pathVariables)).isEqualTo("list");
+        assertThat(routeTrie.match("/members/new-form", pathVariables)).isEqualTo("form");
+        assertThat(routeTrie.match("/members/", pathVariables)).isNull();
+        assertThat(routeTrie.match("/member", pathVariables)).isNull();
+        assertThat(pathVariables).isEmpty();
+    }
+
+    @Test
+    void pathVariable() {
+        //given
+        routeTrie.add("/members/new-form", "form");
+        routeTrie.add("/members/{id}", "detail");
+        routeTrie.add("/members/{id}/orders/{orderId}", "order");
+        routeTrie.compile();
+
+        //when
+        Map<String, String> detail = new HashMap<>();
+        Map<String, String> order = new HashMap<>();
+        Map<String, String> form = new HashMap<>();
+
+        //then
+        assertThat(routeTrie.match("/members/7", detail)).isEqualTo("detail");
+        assertThat(detail).containsEntry("id", "7").hasSize(1);
+        assertThat(routeTrie.match("/members/7/orders/31", order)).isEqualTo("order");
+        assertThat(order).containsEntry("id", "7").containsEntry("orderId", "31");
+        assertThat(routeTrie.match("/members/new-form", form)).isEqualTo("form");
+        assertThat(form).isEmpty();
+    }
+
+    @Test
+    void backtrackFromStaticToVariable() {
+        //given
+        routeTrie.add("/members/new-form", "form");
+        routeTrie.add("/members/{id}/edit", "edit");
+        routeTrie.compile();
+
+        //when
+        Map<String, String> pathVariables = new HashMap<>();
+
+        //then
+        assertThat(routeTrie.match("/members/new-form/edit", pathVariables)).isEqualTo("edit");
+        assertThat(pathVariables).containsEntry("id", "new-form");
+    }
+
+    @Test
+    void wildcard() {
+        //given
+        routeTrie.add("/files/*/meta", "meta");
+        routeTrie.add("/files/**", "files");
+        routeTrie.compile();
+
+        //then
+        assertThat(routeTrie.match("/files/a/meta", null)).isEqualTo("meta");
+        assertThat(routeTrie.match("/files/a/b/c", null)).isEqualTo("files");
+        assertThat(routeTrie.match("/files", null)).isEqualTo("files");
+        assertThat(routeTrie.match("/other", null)).isNull();
+    }
+
+    @Test
+    void invalidPattern() {
+        routeTrie.add("/members/{id}", "detail");
+
+        assertThatThrownBy(() -> routeTrie.add("/members/{id}", "again"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> routeTrie.add("/members/{memberId}/edit", "edit"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> routeTrie.add("/**/members", "tail"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> routeTrie.match("/members/1", null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+}
@@ -0,0 +1,49 @@
+package mvc.ver1.web.servlet;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Utf8HtmlWriterTest {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Utf8HtmlWriter writer = new Utf8HtmlWriter(out);
+
+    @Test
+    void writeTextAndNumbers() throws IOException {
+        //when
+        writer.write(Utf8HtmlWriter.encode("<td>"));
+        writer.writeText("회원 😀 <b>&\"'");
+        writer.writeLong(-1234567890123L);
+        writer.writeLong(0);
+        writer.writeLong(Long.MIN_VALUE);
+        writer.flush();
+
+        //then
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("<td>회원 😀 &lt;b&gt;&amp;&quot;&#39;-12345678901230" + Long.MIN_VALUE);
+    }
+
+    @Test
+    void writeMoreThanBuffer() throws IOException {
+        //given
+        StringBuilder expected = new StringBuilder();
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            writer.write(Utf8HtmlWriter.encode("<tr>"));
+            writer.writeLong(i);
+            writer.writeText("가나다");
+            expected.append("<tr>").append(i).append("가나다");
+        }
+        writer.flush();
+
+        //then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+    }
+
+}